@@ -0,0 +1,315 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of tasks running on another executor, and the number of tasks waiting for them,
+ * so a traffic spike is rejected or slowed down instead of piling up in memory.
+ * Given as the executor of one or several asynchronous repositories, which complete their futures with a
+ * {@link RepositoryOverloadedException} when it rejects their statements.
+ * A permit is released when its task returns, which is right after the future of the statement completes.
+ * A queued task which the executor rejects once a permit is free completes its future with the rejection,
+ * tasks not submitted by a repository being run on the thread which released the permit instead.
+ */
+public final class AdmissionController implements AsyncExecutionStrategy {
+
+    private final Executor executor;
+
+    private final int maxInFlight;
+
+    private final int maxQueued;
+
+    private final OverloadPolicy overloadPolicy;
+
+    private final Queue<Task> queue;
+
+    private int inFlight;
+
+    private boolean closed;
+
+    private boolean executorClosed;
+
+    private final LongAdder admitted;
+
+    private final LongAdder rejected;
+
+    private final LongAdder totalQueueNanos;
+
+    private final LongAccumulator maxQueueNanos;
+
+    private final LongAdder totalExecutionNanos;
+
+    private final LongAccumulator maxExecutionNanos;
+
+    /**
+     * @param executor       the executor running the admitted tasks
+     * @param maxInFlight    the number of tasks running at once, usually the size of the connection pool
+     * @param maxQueued      the number of tasks waiting for a running one to end, ignored when failing fast
+     * @param overloadPolicy what to do with a task once every permit is in flight
+     */
+    public AdmissionController(Executor executor, int maxInFlight, int maxQueued, OverloadPolicy overloadPolicy) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight should be positive, got " + maxInFlight);
+        }
+
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Max queued should not be negative, got " + maxQueued);
+        }
+
+        this.executor = Objects.requireNonNull(executor);
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.overloadPolicy = Objects.requireNonNull(overloadPolicy);
+        this.queue = new ArrayDeque<>();
+        this.admitted = new LongAdder();
+        this.rejected = new LongAdder();
+        this.totalQueueNanos = new LongAdder();
+        this.maxQueueNanos = new LongAccumulator(Math::max, 0);
+        this.totalExecutionNanos = new LongAdder();
+        this.maxExecutionNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Runs the task if a permit is free, otherwise queues it, blocks or rejects it, depending on the overload policy.
+     *
+     * @throws RepositoryOverloadedException when the task is rejected
+     */
+    @Override
+    public void execute(Runnable runnable) {
+        Task task = new Task(Objects.requireNonNull(runnable));
+        boolean startNow;
+
+        synchronized (this) {
+            startNow = admit(task);
+        }
+
+        if (startNow) {
+            start(task);
+        }
+    }
+
+    /**
+     * @return whether the task took a permit, or false if it was queued
+     */
+    private boolean admit(Task task) {
+        if (closed) {
+            throw new RejectedExecutionException("Admission controller is closed");
+        }
+
+        if (overloadPolicy == OverloadPolicy.BLOCK) {
+            while (inFlight >= maxInFlight && queue.size() >= maxQueued) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw reject("interrupted while waiting for room in the queue");
+                }
+
+                if (closed) {
+                    throw new RejectedExecutionException("Admission controller is closed");
+                }
+            }
+        }
+
+        if (inFlight < maxInFlight) {
+            inFlight++;
+            admitted.increment();
+
+            return true;
+        }
+
+        if (overloadPolicy == OverloadPolicy.FAIL_FAST || queue.size() >= maxQueued) {
+            throw reject(inFlight + " tasks in flight and " + queue.size() + " queued");
+        }
+
+        admitted.increment();
+        queue.add(task);
+
+        return false;
+    }
+
+    private RepositoryOverloadedException reject(String reason) {
+        rejected.increment();
+
+        return new RepositoryOverloadedException("Repository overloaded: " + reason);
+    }
+
+    private void start(Task task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the permit of an ended task over to the next queued one which the executor accepts, if any.
+     */
+    private void release() {
+        while (true) {
+            Task next;
+            boolean closeExecutor;
+
+            synchronized (this) {
+                next = queue.poll();
+
+                if (next == null) {
+                    inFlight--;
+                }
+
+                closeExecutor = isDrained();
+                notifyAll();
+            }
+
+            boolean started = next == null;
+
+            if (next != null) {
+                try {
+                    executor.execute(next);
+                    started = true;
+                } catch (RejectedExecutionException e) {
+                    next.reject(e);
+                }
+            }
+
+            if (closeExecutor) {
+                closeExecutor();
+            }
+
+            if (started) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether the controller is closed and its queue empty, the executor being closed once by the caller which sees it first
+     */
+    private boolean isDrained() {
+        if (closed && queue.isEmpty() && !executorClosed) {
+            executorClosed = true;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private void closeExecutor() {
+        if (executor instanceof AsyncExecutionStrategy) {
+            ((AsyncExecutionStrategy) executor).close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int queuedTasks() {
+        return queue.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int activeTasks() {
+        return inFlight;
+    }
+
+    public AdmissionStats stats() {
+        int currentInFlight;
+        int currentQueued;
+
+        synchronized (this) {
+            currentInFlight = inFlight;
+            currentQueued = queue.size();
+        }
+
+        return new AdmissionStats(admitted.sum(), rejected.sum(), currentInFlight, currentQueued,
+                Duration.ofNanos(totalQueueNanos.sum()), Duration.ofNanos(maxQueueNanos.get()),
+                Duration.ofNanos(totalExecutionNanos.sum()), Duration.ofNanos(maxExecutionNanos.get()));
+    }
+
+    /**
+     * Rejects the next tasks, then closes the executor when it is an {@link AsyncExecutionStrategy} once the queued tasks are started.
+     */
+    @Override
+    public void close() {
+        boolean closeExecutor;
+
+        synchronized (this) {
+            closed = true;
+            closeExecutor = isDrained();
+            notifyAll();
+        }
+
+        if (closeExecutor) {
+            closeExecutor();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxInFlight", maxInFlight)
+                .add("maxQueued", maxQueued)
+                .add("overloadPolicy", overloadPolicy)
+                .add("stats", stats())
+                .toString();
+    }
+
+    private final class Task implements Runnable {
+
+        private final Runnable runnable;
+
+        private final long submittedAt;
+
+        private Task(Runnable runnable) {
+            this.runnable = runnable;
+            this.submittedAt = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            totalQueueNanos.add(startedAt - submittedAt);
+            maxQueueNanos.accumulate(startedAt - submittedAt);
+
+            try {
+                runnable.run();
+            } finally {
+                long executionNanos = System.nanoTime() - startedAt;
+                totalExecutionNanos.add(executionNanos);
+                maxExecutionNanos.accumulate(executionNanos);
+                release();
+            }
+        }
+
+        /**
+         * Completes the task with the rejection, or runs it on the current thread if it cannot be told.
+         */
+        private void reject(RejectedExecutionException rejection) {
+            if (runnable instanceof RejectableTask) {
+                rejected.increment();
+                ((RejectableTask) runnable).reject(rejection);
+            } else {
+                try {
+                    runnable.run();
+                } catch (RuntimeException e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+                }
+            }
+        }
+    }
+}
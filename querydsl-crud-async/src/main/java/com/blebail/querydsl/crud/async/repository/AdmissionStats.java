@@ -0,0 +1,110 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Counters of an {@link AdmissionController} since its creation.
+ * Queue time runs from the submission of a task to its start, execution time from its start to its end.
+ */
+public final class AdmissionStats {
+
+    private final long admitted;
+
+    private final long rejected;
+
+    private final int inFlight;
+
+    private final int queued;
+
+    private final Duration totalQueueTime;
+
+    private final Duration maxQueueTime;
+
+    private final Duration totalExecutionTime;
+
+    private final Duration maxExecutionTime;
+
+    public AdmissionStats(long admitted, long rejected, int inFlight, int queued,
+                          Duration totalQueueTime, Duration maxQueueTime, Duration totalExecutionTime, Duration maxExecutionTime) {
+        this.admitted = admitted;
+        this.rejected = rejected;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.totalQueueTime = Objects.requireNonNull(totalQueueTime);
+        this.maxQueueTime = Objects.requireNonNull(maxQueueTime);
+        this.totalExecutionTime = Objects.requireNonNull(totalExecutionTime);
+        this.maxExecutionTime = Objects.requireNonNull(maxExecutionTime);
+    }
+
+    /**
+     * @return the number of tasks started or queued
+     */
+    public long admitted() {
+        return admitted;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public int queued() {
+        return queued;
+    }
+
+    public Duration totalQueueTime() {
+        return totalQueueTime;
+    }
+
+    public Duration maxQueueTime() {
+        return maxQueueTime;
+    }
+
+    public Duration totalExecutionTime() {
+        return totalExecutionTime;
+    }
+
+    public Duration maxExecutionTime() {
+        return maxExecutionTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AdmissionStats that = (AdmissionStats) o;
+        return admitted == that.admitted &&
+                rejected == that.rejected &&
+                inFlight == that.inFlight &&
+                queued == that.queued &&
+                Objects.equals(totalQueueTime, that.totalQueueTime) &&
+                Objects.equals(maxQueueTime, that.maxQueueTime) &&
+                Objects.equals(totalExecutionTime, that.totalExecutionTime) &&
+                Objects.equals(maxExecutionTime, that.maxExecutionTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(admitted, rejected, inFlight, queued, totalQueueTime, maxQueueTime, totalExecutionTime, maxExecutionTime);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("admitted", admitted)
+                .add("rejected", rejected)
+                .add("inFlight", inFlight)
+                .add("queued", queued)
+                .add("totalQueueTime", totalQueueTime)
+                .add("maxQueueTime", maxQueueTime)
+                .add("totalExecutionTime", totalExecutionTime)
+                .add("maxExecutionTime", maxExecutionTime)
+                .toString();
+    }
+}
@@ -1,12 +1,18 @@
 package com.blebail.querydsl.crud.async.repository;
 
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Predicate;
 
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * @param <R> row type
@@ -15,16 +21,44 @@ public interface AsyncBaseRepository<R> {
 
     CompletableFuture<Optional<R>> findOne(Predicate predicate);
 
+    <P> CompletableFuture<Optional<P>> findOne(Predicate predicate, Expression<P> projection);
+
     CompletableFuture<Collection<R>> find(Predicate predicate);
 
+    <P> CompletableFuture<Collection<P>> find(Predicate predicate, Expression<P> projection);
+
     CompletableFuture<Page<R>> find(PageRequest pageRequest);
 
     CompletableFuture<Page<R>> find(Predicate predicate, PageRequest pageRequest);
 
+    <P> CompletableFuture<Page<P>> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection);
+
+    CompletableFuture<Slice<R>> findSlice(PageRequest pageRequest);
+
+    CompletableFuture<Slice<R>> findSlice(Predicate predicate, PageRequest pageRequest);
+
+    <P> CompletableFuture<Slice<P>> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection);
+
+    CompletableFuture<CursorPage<R>> find(KeysetPageRequest pageRequest);
+
+    CompletableFuture<CursorPage<R>> find(Predicate predicate, KeysetPageRequest pageRequest);
+
     CompletableFuture<Collection<R>> findAll();
 
+    CompletableFuture<Stream<R>> stream(Predicate predicate);
+
+    <P> CompletableFuture<Stream<P>> stream(Predicate predicate, Expression<P> projection);
+
+    CompletableFuture<Stream<R>> streamAll();
+
+    CompletableFuture<CloseableIterator<R>> iterate(Predicate predicate);
+
+    <P> CompletableFuture<CloseableIterator<P>> iterate(Predicate predicate, Expression<P> projection);
+
     CompletableFuture<Long> count(Predicate predicate);
 
+    CompletableFuture<Boolean> exists(Predicate predicate);
+
     CompletableFuture<Long> count();
 
     CompletableFuture<Boolean> delete(Predicate predicate);
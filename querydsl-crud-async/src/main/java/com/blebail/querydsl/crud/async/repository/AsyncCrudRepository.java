@@ -1,7 +1,11 @@
 package com.blebail.querydsl.crud.async.repository;
 
+import com.blebail.querydsl.crud.sync.repository.WriteOptions;
+import com.querydsl.core.types.Expression;
+
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -12,14 +16,24 @@ public interface AsyncCrudRepository<R, ID> extends AsyncBaseRepository<R> {
 
     CompletableFuture<R> save(R resource);
 
+    CompletableFuture<R> save(R resource, WriteOptions writeOptions);
+
     CompletableFuture<Collection<R>> save(Iterable<R> resources);
 
+    CompletableFuture<Collection<R>> save(Iterable<R> resources, WriteOptions writeOptions);
+
     CompletableFuture<Optional<R>> findOne(ID resourceId);
 
+    <P> CompletableFuture<Optional<P>> findOne(ID resourceId, Expression<P> projection);
+
     CompletableFuture<Collection<R>> find(Iterable<ID> resourceIds);
 
+    <P> CompletableFuture<Collection<P>> find(Iterable<ID> resourceIds, Expression<P> projection);
+
     CompletableFuture<Boolean> exists(ID resourceId);
 
+    CompletableFuture<Set<ID>> existsAll(Iterable<ID> resourceIds);
+
     CompletableFuture<Boolean> delete(ID resourceId);
 
     CompletableFuture<Boolean> delete(Iterable<ID> resourceIds);
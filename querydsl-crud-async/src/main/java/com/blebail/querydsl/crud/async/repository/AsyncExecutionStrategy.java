@@ -0,0 +1,23 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the statements of asynchronous repositories, and can be shared by several of them.
+ * Closing it lets the tasks already submitted complete, and rejects the next ones.
+ */
+public interface AsyncExecutionStrategy extends Executor, AutoCloseable {
+
+    /**
+     * @return the number of tasks submitted but not started yet
+     */
+    int queuedTasks();
+
+    /**
+     * @return the number of tasks currently running
+     */
+    int activeTasks();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,111 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Groups the keys requested within a window, or until the batch is full, and loads each group with a single call.
+ * Every request completes with the value loaded for its key, or with the default value when none was.
+ */
+final class Batcher<K, V> {
+
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> load;
+
+    private final V defaultValue;
+
+    private final int maxBatchSize;
+
+    private final Executor delayedExecutor;
+
+    private final LongAdder requests;
+
+    private final LongAdder batches;
+
+    private Map<K, List<CompletableFuture<V>>> batch;
+
+    Batcher(Function<List<K>, CompletableFuture<Map<K, V>>> load, V defaultValue, BatchingOptions options) {
+        this.load = Objects.requireNonNull(load);
+        this.defaultValue = defaultValue;
+        this.maxBatchSize = options.maxBatchSize();
+        this.delayedExecutor = CompletableFuture.delayedExecutor(options.batchWindow().toNanos(), TimeUnit.NANOSECONDS);
+        this.requests = new LongAdder();
+        this.batches = new LongAdder();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    CompletableFuture<V> request(K key) {
+        CompletableFuture<V> value = new CompletableFuture<>();
+        Map<K, List<CompletableFuture<V>>> fullBatch = null;
+
+        synchronized (this) {
+            requests.increment();
+
+            if (batch == null) {
+                Map<K, List<CompletableFuture<V>>> newBatch = new LinkedHashMap<>();
+                batch = newBatch;
+                delayedExecutor.execute(() -> dispatchIfPending(newBatch));
+            }
+
+            batch.computeIfAbsent(key, batchedKey -> new ArrayList<>(1)).add(value);
+
+            if (batch.size() >= maxBatchSize) {
+                fullBatch = batch;
+                batch = null;
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+
+        return value;
+    }
+
+    private void dispatchIfPending(Map<K, List<CompletableFuture<V>>> expiredBatch) {
+        synchronized (this) {
+            if (batch != expiredBatch) {
+                return;
+            }
+
+            batch = null;
+        }
+
+        dispatch(expiredBatch);
+    }
+
+    private void dispatch(Map<K, List<CompletableFuture<V>>> requestsByKey) {
+        batches.increment();
+        CompletableFuture<Map<K, V>> values;
+
+        try {
+            values = load.apply(new ArrayList<>(requestsByKey.keySet()));
+        } catch (RuntimeException e) {
+            values = CompletableFuture.failedFuture(e);
+        }
+
+        values.whenComplete((valuesByKey, error) -> requestsByKey.forEach((key, keyRequests) -> {
+            for (CompletableFuture<V> request : keyRequests) {
+                if (error != null) {
+                    request.completeExceptionally(error);
+                } else {
+                    request.complete(valuesByKey.getOrDefault(key, defaultValue));
+                }
+            }
+        }));
+    }
+}
@@ -0,0 +1,356 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.WriteOptions;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Groups the findOne(ID) and exists(ID) calls made within {@link BatchingOptions#batchWindow()}, or until {@link BatchingOptions#maxBatchSize()} distinct ids are requested,
+ * and reads each group with a single find(Iterable&lt;ID&gt;) or existsAll(Iterable&lt;ID&gt;) of another repository, completing every call with its own result.
+ * Concurrent calls for the same id share a single read. Other calls go to the other repository as is,
+ * and so do the calls made within a {@link RepositorySession}, which must read through the connection of their own session.
+ *
+ * @param <R>  row type
+ * @param <ID> id type
+ */
+public final class BatchingAsyncCrudRepository<R, ID> implements AsyncCrudRepository<R, ID> {
+
+    private final AsyncCrudRepository<R, ID> repository;
+
+    private final Batcher<ID, Optional<R>> findOneBatcher;
+
+    private final Batcher<ID, Boolean> existsBatcher;
+
+    public BatchingAsyncCrudRepository(AsyncCrudRepository<R, ID> repository, Function<R, ID> idMapping, BatchingOptions options) {
+        this.repository = Objects.requireNonNull(repository);
+        Objects.requireNonNull(idMapping);
+        Objects.requireNonNull(options);
+
+        this.findOneBatcher = new Batcher<>(resourceIds -> repository.find(resourceIds)
+                .thenApply(resources -> resources.stream()
+                        .collect(Collectors.toMap(idMapping, Optional::of, (first, second) -> first))),
+                Optional.empty(), options);
+        this.existsBatcher = new Batcher<>(resourceIds -> repository.existsAll(resourceIds)
+                .thenApply(existingIds -> existingIds.stream()
+                        .collect(Collectors.toMap(Function.identity(), existingId -> true))),
+                false, options);
+    }
+
+    /**
+     * @return the number of findOne(ID) and exists(ID) calls batched so far
+     */
+    public long batchedCalls() {
+        return findOneBatcher.requests() + existsBatcher.requests();
+    }
+
+    /**
+     * @return the number of batches sent to the other repository so far
+     */
+    public long batches() {
+        return findOneBatcher.batches() + existsBatcher.batches();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<R>> findOne(ID resourceId) {
+        if (resourceId == null || RepositorySession.current().isPresent()) {
+            return repository.findOne(resourceId);
+        }
+
+        return findOneBatcher.request(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> exists(ID resourceId) {
+        if (resourceId == null || RepositorySession.current().isPresent()) {
+            return repository.exists(resourceId);
+        }
+
+        return existsBatcher.request(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<R> save(R resource) {
+        return repository.save(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<R> save(R resource, WriteOptions writeOptions) {
+        return repository.save(resource, writeOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> save(Iterable<R> resources) {
+        return repository.save(resources);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> save(Iterable<R> resources, WriteOptions writeOptions) {
+        return repository.save(resources, writeOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(ID resourceId, Expression<P> projection) {
+        return repository.findOne(resourceId, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> find(Iterable<ID> resourceIds) {
+        return repository.find(resourceIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Iterable<ID> resourceIds, Expression<P> projection) {
+        return repository.find(resourceIds, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Set<ID>> existsAll(Iterable<ID> resourceIds) {
+        return repository.existsAll(resourceIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(ID resourceId) {
+        return repository.delete(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(Iterable<ID> resourceIds) {
+        return repository.delete(resourceIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<R>> findOne(Predicate predicate) {
+        return repository.findOne(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(Predicate predicate, Expression<P> projection) {
+        return repository.findOne(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> find(Predicate predicate) {
+        return repository.find(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Predicate predicate, Expression<P> projection) {
+        return repository.find(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Page<R>> find(PageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Page<R>> find(Predicate predicate, PageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Page<P>> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.find(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(PageRequest pageRequest) {
+        return repository.findSlice(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(Predicate predicate, PageRequest pageRequest) {
+        return repository.findSlice(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Slice<P>> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.findSlice(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(KeysetPageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> stream(Predicate predicate) {
+        return repository.stream(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Stream<P>> stream(Predicate predicate, Expression<P> projection) {
+        return repository.stream(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> streamAll() {
+        return repository.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloseableIterator<R>> iterate(Predicate predicate) {
+        return repository.iterate(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<CloseableIterator<P>> iterate(Predicate predicate, Expression<P> projection) {
+        return repository.iterate(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> count(Predicate predicate) {
+        return repository.count(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> exists(Predicate predicate) {
+        return repository.exists(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> count() {
+        return repository.count();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(Predicate predicate) {
+        return repository.delete(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAll() {
+        return repository.deleteAll();
+    }
+}
@@ -0,0 +1,95 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Immutable bounds of the batches of a {@link BatchingAsyncCrudRepository}.
+ */
+public final class BatchingOptions {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(2);
+
+    private static final BatchingOptions DEFAULTS = new BatchingOptions();
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private Duration batchWindow = DEFAULT_BATCH_WINDOW;
+
+    private BatchingOptions() {
+    }
+
+    public static BatchingOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return the number of distinct ids read by a batch, which is sent as soon as it is reached
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return how long the first call of a batch waits for others before the batch is sent
+     */
+    public Duration batchWindow() {
+        return batchWindow;
+    }
+
+    public BatchingOptions withMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size should be positive, got " + maxBatchSize);
+        }
+
+        BatchingOptions options = copy();
+        options.maxBatchSize = maxBatchSize;
+
+        return options;
+    }
+
+    public BatchingOptions withBatchWindow(Duration batchWindow) {
+        if (batchWindow.isNegative() || batchWindow.isZero()) {
+            throw new IllegalArgumentException("Batch window should be positive, got " + batchWindow);
+        }
+
+        BatchingOptions options = copy();
+        options.batchWindow = batchWindow;
+
+        return options;
+    }
+
+    private BatchingOptions copy() {
+        BatchingOptions options = new BatchingOptions();
+        options.maxBatchSize = maxBatchSize;
+        options.batchWindow = batchWindow;
+
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchingOptions that = (BatchingOptions) o;
+        return maxBatchSize == that.maxBatchSize &&
+                Objects.equals(batchWindow, that.batchWindow);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxBatchSize, batchWindow);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxBatchSize", maxBatchSize)
+                .add("batchWindow", batchWindow)
+                .toString();
+    }
+}
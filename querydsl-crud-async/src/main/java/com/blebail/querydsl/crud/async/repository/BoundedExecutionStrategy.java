@@ -0,0 +1,150 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks on a fixed number of named daemon threads, queueing the others.
+ * Sizing it like the connection pool keeps the tasks from waiting for a connection while holding a thread.
+ */
+public final class BoundedExecutionStrategy implements AsyncExecutionStrategy {
+
+    private static final String[] POOL_SIZE_GETTERS = {"getMaximumPoolSize", "getMaxTotal", "getMaxActive", "getMaxPoolSize", "getMaxConnections"};
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private static final class Shared {
+        private static final BoundedExecutionStrategy INSTANCE = new BoundedExecutionStrategy(Math.max(2, Runtime.getRuntime().availableProcessors()), true);
+    }
+
+    private final int threads;
+
+    private final ThreadPoolExecutor executor;
+
+    private final boolean shared;
+
+    public BoundedExecutionStrategy(int threads) {
+        this(threads, false);
+    }
+
+    private BoundedExecutionStrategy(int threads, boolean shared) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads should be positive, got " + threads);
+        }
+
+        this.threads = threads;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory());
+        this.shared = shared;
+    }
+
+    /**
+     * @return the strategy used by the repositories built without executor, with one thread per processor and at least two,
+     * which closing leaves running
+     */
+    public static BoundedExecutionStrategy shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Sizes the strategy like the connection pool of the data source, read from the getter of HikariCP, Commons DBCP, Tomcat JDBC, c3p0 or H2,
+     * or with one thread per processor when the data source is not a known pool.
+     */
+    public static BoundedExecutionStrategy forDataSource(DataSource dataSource) {
+        return new BoundedExecutionStrategy(poolSize(dataSource));
+    }
+
+    static int poolSize(DataSource dataSource) {
+        for (String getter : POOL_SIZE_GETTERS) {
+            try {
+                Method method = dataSource.getClass().getMethod(getter);
+
+                if (method.getReturnType() == int.class) {
+                    int poolSize = (int) method.invoke(dataSource);
+
+                    if (poolSize > 0) {
+                        return poolSize;
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not this pool
+            }
+        }
+
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static ThreadFactory threadFactory() {
+        int pool = POOL_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, "querydsl-crud-async-" + pool + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int activeTasks() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return the number of tasks completed so far
+     */
+    public long completedTasks() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Does nothing on the {@link #shared()} strategy, which other repositories of the JVM keep using.</p>
+     */
+    @Override
+    public void close() {
+        if (!shared) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("threads", threads)
+                .add("queuedTasks", queuedTasks())
+                .add("activeTasks", activeTasks())
+                .toString();
+    }
+}
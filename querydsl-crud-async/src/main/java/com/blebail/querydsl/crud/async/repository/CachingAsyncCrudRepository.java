@@ -0,0 +1,470 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.cache.CacheStats;
+import com.blebail.querydsl.crud.commons.cache.FrequencyCache;
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.WriteOptions;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous counterpart of {@link com.blebail.querydsl.crud.sync.repository.CachingCrudRepository}:
+ * findOne(ID) and find(Iterable&lt;ID&gt;) complete immediately with the cached resources, and only the missing ones are read from another repository.
+ * Resources are invalidated once the writes made through this repository complete, successfully or not,
+ * and again once the transaction of the caller's {@link RepositorySession} ends, if any.
+ * Calls made within a transaction bypass the cache, since they may see writes which are not committed yet.
+ *
+ * @param <R>  row type
+ * @param <ID> id type
+ */
+public final class CachingAsyncCrudRepository<R, ID> implements AsyncCrudRepository<R, ID> {
+
+    private final AsyncCrudRepository<R, ID> repository;
+
+    private final Function<R, ID> idMapping;
+
+    private final FrequencyCache<ID, R> cache;
+
+    public CachingAsyncCrudRepository(AsyncCrudRepository<R, ID> repository, Function<R, ID> idMapping, CacheOptions cacheOptions) {
+        this.repository = Objects.requireNonNull(repository);
+        this.idMapping = Objects.requireNonNull(idMapping);
+        this.cache = new FrequencyCache<>(Objects.requireNonNull(cacheOptions));
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<R> save(R resource) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.save(resource).whenComplete((savedResource, error) -> invalidate(session, resource));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<R> save(R resource, WriteOptions writeOptions) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.save(resource, writeOptions).whenComplete((savedResource, error) -> invalidate(session, resource));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> save(Iterable<R> resources) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.save(resources).whenComplete((savedResources, error) -> invalidate(session, resources));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> save(Iterable<R> resources, WriteOptions writeOptions) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.save(resources, writeOptions).whenComplete((savedResources, error) -> invalidate(session, resources));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<R>> findOne(ID resourceId) {
+        if (resourceId == null || isInTransaction()) {
+            return repository.findOne(resourceId);
+        }
+
+        Optional<R> cachedResource = cache.get(resourceId);
+
+        if (cachedResource.isPresent()) {
+            return CompletableFuture.completedFuture(cachedResource);
+        }
+
+        long version = cache.version();
+
+        return repository.findOne(resourceId).thenApply(resource -> {
+            resource.ifPresent(loadedResource -> cache.put(resourceId, loadedResource, version));
+
+            return resource;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(ID resourceId, Expression<P> projection) {
+        return repository.findOne(resourceId, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> find(Iterable<ID> resourceIds) {
+        if (resourceIds == null || isInTransaction()) {
+            return repository.find(resourceIds);
+        }
+
+        Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+        Map<ID, R> cachedResources = cache.getAll(distinctIds);
+        List<R> resources = new ArrayList<>(cachedResources.values());
+
+        if (cachedResources.size() == distinctIds.size()) {
+            return CompletableFuture.completedFuture(resources);
+        }
+
+        List<ID> missedIds = new ArrayList<>(distinctIds);
+        missedIds.removeAll(cachedResources.keySet());
+        long version = cache.version();
+
+        return repository.find(missedIds).thenApply(loadedResources -> {
+            for (R resource : loadedResources) {
+                cache.put(idMapping.apply(resource), resource, version);
+                resources.add(resource);
+            }
+
+            return resources;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Iterable<ID> resourceIds, Expression<P> projection) {
+        return repository.find(resourceIds, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> exists(ID resourceId) {
+        if (resourceId != null && !isInTransaction() && cache.get(resourceId).isPresent()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return repository.exists(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Set<ID>> existsAll(Iterable<ID> resourceIds) {
+        if (resourceIds == null || isInTransaction()) {
+            return repository.existsAll(resourceIds);
+        }
+
+        Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+        Set<ID> existingIds = new HashSet<>(cache.getAll(distinctIds).keySet());
+
+        if (existingIds.size() == distinctIds.size()) {
+            return CompletableFuture.completedFuture(existingIds);
+        }
+
+        List<ID> missedIds = new ArrayList<>(distinctIds);
+        missedIds.removeAll(existingIds);
+
+        return repository.existsAll(missedIds).thenApply(loadedIds -> {
+            existingIds.addAll(loadedIds);
+
+            return existingIds;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(ID resourceId) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.delete(resourceId).whenComplete((deleted, error) -> {
+            if (resourceId != null) {
+                invalidateOnCompletion(session, () -> cache.invalidate(resourceId));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(Iterable<ID> resourceIds) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.delete(resourceIds).whenComplete((deleted, error) -> {
+            if (resourceIds != null) {
+                Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+                invalidateOnCompletion(session, () -> cache.invalidateAll(distinctIds));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<R>> findOne(Predicate predicate) {
+        return repository.findOne(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(Predicate predicate, Expression<P> projection) {
+        return repository.findOne(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> find(Predicate predicate) {
+        return repository.find(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Predicate predicate, Expression<P> projection) {
+        return repository.find(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Page<R>> find(PageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Page<R>> find(Predicate predicate, PageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Page<P>> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.find(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(PageRequest pageRequest) {
+        return repository.findSlice(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(Predicate predicate, PageRequest pageRequest) {
+        return repository.findSlice(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Slice<P>> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.findSlice(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(KeysetPageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> stream(Predicate predicate) {
+        return repository.stream(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Stream<P>> stream(Predicate predicate, Expression<P> projection) {
+        return repository.stream(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> streamAll() {
+        return repository.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloseableIterator<R>> iterate(Predicate predicate) {
+        return repository.iterate(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<CloseableIterator<P>> iterate(Predicate predicate, Expression<P> projection) {
+        return repository.iterate(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> count(Predicate predicate) {
+        return repository.count(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> exists(Predicate predicate) {
+        return repository.exists(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Long> count() {
+        return repository.count();
+    }
+
+    /**
+     * Invalidates the whole cache, since the deleted ids are unknown.
+     */
+    @Override
+    public CompletableFuture<Boolean> delete(Predicate predicate) {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.delete(predicate).whenComplete((deleted, error) -> invalidateOnCompletion(session, cache::invalidateAll));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAll() {
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        return repository.deleteAll().whenComplete((deleted, error) -> invalidateOnCompletion(session, cache::invalidateAll));
+    }
+
+    private void invalidate(RepositorySession session, R resource) {
+        ID resourceId = resource == null ? null : idMapping.apply(resource);
+
+        if (resourceId != null) {
+            invalidateOnCompletion(session, () -> cache.invalidate(resourceId));
+        }
+    }
+
+    private void invalidate(RepositorySession session, Iterable<R> resources) {
+        if (resources == null) {
+            return;
+        }
+
+        List<ID> resourceIds = new ArrayList<>();
+
+        for (R resource : Iterables.asCollection(resources)) {
+            ID resourceId = resource == null ? null : idMapping.apply(resource);
+
+            if (resourceId != null) {
+                resourceIds.add(resourceId);
+            }
+        }
+
+        invalidateOnCompletion(session, () -> cache.invalidateAll(resourceIds));
+    }
+
+    private static boolean isInTransaction() {
+        return RepositorySession.current()
+                .map(RepositorySession::isTransactional)
+                .orElse(false);
+    }
+
+    /**
+     * Invalidates right away, and again once the transaction of the session the write was made in ends, if any.
+     */
+    private void invalidateOnCompletion(RepositorySession session, Runnable invalidation) {
+        invalidation.run();
+
+        if (session != null && session.isTransactional()) {
+            session.afterCompletion(invalidation);
+        }
+    }
+}
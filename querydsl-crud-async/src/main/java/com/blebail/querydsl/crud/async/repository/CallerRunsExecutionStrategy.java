@@ -0,0 +1,70 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every task on the calling thread, so the returned futures are already complete:
+ * useful in tests, or when the caller already runs on a thread dedicated to the database.
+ */
+public final class CallerRunsExecutionStrategy implements AsyncExecutionStrategy {
+
+    private final AtomicInteger activeTasks;
+
+    private volatile boolean closed;
+
+    public CallerRunsExecutionStrategy() {
+        this.activeTasks = new AtomicInteger();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            throw new RejectedExecutionException("Execution strategy is closed");
+        }
+
+        activeTasks.incrementAndGet();
+
+        try {
+            task.run();
+        } finally {
+            activeTasks.decrementAndGet();
+        }
+    }
+
+    /**
+     * Tasks are never queued, each one running as soon as submitted.
+     */
+    @Override
+    public int queuedTasks() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int activeTasks() {
+        return activeTasks.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("activeTasks", activeTasks())
+                .toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Streams the rows of a table as {@link Flow.Publisher}s: rows are read from the result set as the subscriber requests them,
+ * and each subscription runs its own query.
+ *
+ * @param <R> row type
+ */
+public interface FlowBaseRepository<R> {
+
+    Flow.Publisher<R> find(Predicate predicate);
+
+    <P> Flow.Publisher<P> find(Predicate predicate, Expression<P> projection);
+
+    Flow.Publisher<R> findAll();
+}
@@ -0,0 +1,186 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.StatementControl;
+import com.mysema.commons.lang.CloseableIterator;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the elements of an iterator opened on the first request of each subscriber, reading only as many as requested.
+ * Reads run on the executor, one subscription never reading from two threads at once,
+ * and the iterator is closed once exhausted, failed or cancelled.
+ * The iterator is opened within the {@link RepositorySession} bound to the subscribing thread, if any,
+ * and within a {@link StatementControl} keeping the query timeout of the subscribing call, which cancelling the subscription cancels.
+ */
+final class IteratorPublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<CloseableIterator<T>> iteratorSupplier;
+
+    private final Executor executor;
+
+    private final Duration queryTimeout;
+
+    /**
+     * @param queryTimeout the timeout of the query when subscribing outside of a {@link StatementControl} with a timeout, or null to keep the driver's
+     */
+    IteratorPublisher(Supplier<CloseableIterator<T>> iteratorSupplier, Executor executor, Duration queryTimeout) {
+        this.iteratorSupplier = Objects.requireNonNull(iteratorSupplier);
+        this.executor = Objects.requireNonNull(executor);
+        this.queryTimeout = queryTimeout;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        StatementControl statementControl = new StatementControl(StatementControl.current()
+                .flatMap(StatementControl::queryTimeout)
+                .orElse(queryTimeout));
+        RepositorySession session = RepositorySession.current().orElse(null);
+
+        subscriber.onSubscribe(new IteratorSubscription(subscriber, statementControl, session));
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final StatementControl statementControl;
+
+        private final RepositorySession session;
+
+        private final AtomicLong demand;
+
+        private final AtomicInteger pendingDrains;
+
+        private volatile boolean cancelled;
+
+        private volatile Throwable invalidRequest;
+
+        private CloseableIterator<T> iterator;
+
+        private boolean terminated;
+
+        private IteratorSubscription(Flow.Subscriber<? super T> subscriber, StatementControl statementControl, RepositorySession session) {
+            this.subscriber = subscriber;
+            this.statementControl = statementControl;
+            this.session = session;
+            this.demand = new AtomicLong();
+            this.pendingDrains = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested elements should be positive, got " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            statementControl.cancel();
+            drain();
+        }
+
+        private void drain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                try {
+                    executor.execute(new RejectableTask() {
+                        @Override
+                        public void run() {
+                            drainLoop();
+                        }
+
+                        @Override
+                        public void reject(RejectedExecutionException rejection) {
+                            fail(rejection);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private void fail(RuntimeException e) {
+            terminate();
+            subscriber.onError(e);
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+
+            while (!terminated) {
+                if (cancelled) {
+                    terminate();
+                } else if (invalidRequest != null) {
+                    terminate();
+                    subscriber.onError(invalidRequest);
+                } else {
+                    emit();
+                }
+
+                missed = pendingDrains.addAndGet(-missed);
+
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void emit() {
+            try {
+                if (iterator == null && demand.get() > 0) {
+                    iterator = statementControl.run(session != null ? () -> session.run(iteratorSupplier) : iteratorSupplier);
+                }
+
+                long emitted = 0;
+                long requested = demand.get();
+
+                while (emitted < requested && !cancelled) {
+                    if (!iterator.hasNext()) {
+                        terminate();
+                        subscriber.onComplete();
+
+                        return;
+                    }
+
+                    subscriber.onNext(iterator.next());
+                    emitted++;
+                }
+
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+            } catch (RuntimeException e) {
+                terminate();
+
+                if (!cancelled) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+
+            if (iterator != null) {
+                iterator.close();
+                iterator = null;
+            }
+        }
+    }
+}
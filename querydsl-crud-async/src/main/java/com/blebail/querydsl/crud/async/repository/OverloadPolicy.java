@@ -0,0 +1,22 @@
+package com.blebail.querydsl.crud.async.repository;
+
+/**
+ * What an {@link AdmissionController} does with a task once every permit is in flight.
+ */
+public enum OverloadPolicy {
+
+    /**
+     * Queues the task, or rejects it with a {@link RepositoryOverloadedException} when the queue is full.
+     */
+    REJECT,
+
+    /**
+     * Queues the task, blocking the caller while the queue is full.
+     */
+    BLOCK,
+
+    /**
+     * Rejects the task with a {@link RepositoryOverloadedException}, never queueing it.
+     */
+    FAIL_FAST
+}
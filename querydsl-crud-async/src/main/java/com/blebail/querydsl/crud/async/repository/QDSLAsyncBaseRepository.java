@@ -1,19 +1,34 @@
 package com.blebail.querydsl.crud.async.repository;
 
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
 import com.blebail.querydsl.crud.commons.resource.QDSLResource;
 import com.blebail.querydsl.crud.sync.repository.BaseRepository;
+import com.blebail.querydsl.crud.sync.repository.MethodMetrics;
 import com.blebail.querydsl.crud.sync.repository.QDSLBaseRepository;
+import com.blebail.querydsl.crud.sync.repository.RepositoryMethod;
+import com.blebail.querydsl.crud.sync.repository.RepositoryMetrics;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.StatementControl;
+import com.blebail.querydsl.crud.sync.repository.TableMetrics;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.sql.RelationalPathBase;
 import com.querydsl.sql.SQLQueryFactory;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * {@inheritDoc}
@@ -24,13 +39,29 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
 
     protected final Executor executor;
 
+    private final RepositoryOptions options;
+
+    private final TableMetrics metrics;
+
     public QDSLAsyncBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory) {
-        this(qdslResource, queryFactory, Executors.newFixedThreadPool(2));
+        this(qdslResource, queryFactory, BoundedExecutionStrategy.shared());
     }
 
     public QDSLAsyncBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, Executor executor) {
-        this.repository = new QDSLBaseRepository<>(qdslResource, queryFactory);
+        this(qdslResource, queryFactory, executor, RepositoryOptions.defaults());
+    }
+
+    public QDSLAsyncBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, RepositoryOptions options) {
+        this(qdslResource, queryFactory, BoundedExecutionStrategy.shared(), options);
+    }
+
+    public QDSLAsyncBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, Executor executor, RepositoryOptions options) {
+        this.repository = new QDSLBaseRepository<>(qdslResource, queryFactory, options);
         this.executor = executor;
+        this.options = options;
+        this.metrics = options.metrics()
+                .map(repositoryMetrics -> repositoryMetrics.table(qdslResource.rowPath()))
+                .orElse(null);
     }
 
     /**
@@ -38,7 +69,15 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Optional<R>> findOne(Predicate predicate) {
-        return CompletableFuture.supplyAsync(() -> repository.findOne(predicate), executor);
+        return supplyAsync(RepositoryMethod.FIND_ONE, () -> repository.findOne(predicate), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(Predicate predicate, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND_ONE, () -> repository.findOne(predicate, projection), executor);
     }
 
     /**
@@ -46,7 +85,15 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Collection<R>> find(Predicate predicate) {
-        return CompletableFuture.supplyAsync(() -> repository.find(predicate), executor);
+        return supplyAsync(RepositoryMethod.FIND, () -> repository.find(predicate), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Predicate predicate, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND, () -> repository.find(predicate, projection), executor);
     }
 
     /**
@@ -54,7 +101,7 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Page<R>> find(PageRequest pageRequest) {
-        return CompletableFuture.supplyAsync(() -> repository.find(pageRequest), executor);
+        return supplyAsync(RepositoryMethod.FIND_PAGE, () -> repository.find(pageRequest), executor);
     }
 
     /**
@@ -62,7 +109,55 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Page<R>> find(Predicate predicate, PageRequest pageRequest) {
-        return CompletableFuture.supplyAsync(() -> repository.find(predicate, pageRequest), executor);
+        return supplyAsync(RepositoryMethod.FIND_PAGE, () -> repository.find(predicate, pageRequest), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Page<P>> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND_PAGE, () -> repository.find(predicate, pageRequest, projection), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(PageRequest pageRequest) {
+        return supplyAsync(RepositoryMethod.FIND_SLICE, () -> repository.findSlice(pageRequest), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Slice<R>> findSlice(Predicate predicate, PageRequest pageRequest) {
+        return supplyAsync(RepositoryMethod.FIND_SLICE, () -> repository.findSlice(predicate, pageRequest), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Slice<P>> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND_SLICE, () -> repository.findSlice(predicate, pageRequest, projection), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(KeysetPageRequest pageRequest) {
+        return supplyAsync(RepositoryMethod.FIND_CURSOR_PAGE, () -> repository.find(pageRequest), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CursorPage<R>> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        return supplyAsync(RepositoryMethod.FIND_CURSOR_PAGE, () -> repository.find(predicate, pageRequest), executor);
     }
 
     /**
@@ -70,7 +165,47 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Collection<R>> findAll() {
-        return CompletableFuture.supplyAsync(repository::findAll, executor);
+        return supplyAsync(RepositoryMethod.FIND_ALL, repository::findAll, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> stream(Predicate predicate) {
+        return supplyAsync(RepositoryMethod.ITERATE, () -> repository.stream(predicate), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Stream<P>> stream(Predicate predicate, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.ITERATE, () -> repository.stream(predicate, projection), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Stream<R>> streamAll() {
+        return supplyAsync(RepositoryMethod.ITERATE, repository::streamAll, executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloseableIterator<R>> iterate(Predicate predicate) {
+        return supplyAsync(RepositoryMethod.ITERATE, () -> repository.iterate(predicate), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<CloseableIterator<P>> iterate(Predicate predicate, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.ITERATE, () -> repository.iterate(predicate, projection), executor);
     }
 
     /**
@@ -78,7 +213,15 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Long> count(Predicate predicate) {
-        return CompletableFuture.supplyAsync(() -> repository.count(predicate), executor);
+        return supplyAsync(RepositoryMethod.COUNT, () -> repository.count(predicate), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> exists(Predicate predicate) {
+        return supplyAsync(RepositoryMethod.EXISTS, () -> repository.exists(predicate), executor);
     }
 
     /**
@@ -86,7 +229,7 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Long> count() {
-        return CompletableFuture.supplyAsync(repository::count, executor);
+        return supplyAsync(RepositoryMethod.COUNT, repository::count, executor);
     }
 
     /**
@@ -94,7 +237,7 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Boolean> delete(Predicate predicate) {
-        return CompletableFuture.supplyAsync(() -> repository.delete(predicate), executor);
+        return supplyAsync(RepositoryMethod.DELETE, () -> repository.delete(predicate), executor);
     }
 
     /**
@@ -102,6 +245,73 @@ public class QDSLAsyncBaseRepository<T extends RelationalPathBase<R>, R> impleme
      */
     @Override
     public CompletableFuture<Boolean> deleteAll() {
-        return CompletableFuture.supplyAsync(repository::deleteAll, executor);
+        return supplyAsync(RepositoryMethod.DELETE_ALL, repository::deleteAll, executor);
+    }
+
+    /**
+     * Same as {@link CompletableFuture#supplyAsync(Supplier, Executor)}, except that:
+     * <ul>
+     *     <li>the call runs within the caller's {@link RepositorySession}, if any, so on the connection it pinned</li>
+     *     <li>the statements of the call get the query timeout of the caller's {@link StatementControl}, or else of the repository options</li>
+     *     <li>the running statements are cancelled when the future is completed before the call ends, such as when it is cancelled or times out,
+     *     and a call which did not start yet is skipped</li>
+     *     <li>a task rejected by the executor, such as an {@link AdmissionController} which is overloaded, completes the future exceptionally instead of throwing</li>
+     * </ul>
+     */
+    protected <V> CompletableFuture<V> supplyAsync(Supplier<V> supplier, Executor executor) {
+        return supplyAsync(null, supplier, executor);
+    }
+
+    /**
+     * Same as {@link #supplyAsync(Supplier, Executor)}, also recording the time the call waited for a thread of the executor
+     * when the repository has {@link RepositoryMetrics}.
+     */
+    protected <V> CompletableFuture<V> supplyAsync(RepositoryMethod method, Supplier<V> supplier, Executor executor) {
+        MethodMetrics methodMetrics = metrics != null && method != null ? metrics.method(method) : null;
+        long submitTime = methodMetrics != null ? System.nanoTime() : 0L;
+        Duration queryTimeout = StatementControl.current()
+                .flatMap(StatementControl::queryTimeout)
+                .or(options::queryTimeout)
+                .orElse(null);
+        StatementControl statementControl = new StatementControl(queryTimeout);
+        RepositorySession session = RepositorySession.current().orElse(null);
+        Supplier<V> call = session != null ? () -> session.run(supplier) : supplier;
+        CompletableFuture<V> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(new RejectableTask() {
+                @Override
+                public void run() {
+                    if (methodMetrics != null) {
+                        methodMetrics.recordQueueWait(System.nanoTime() - submitTime);
+                    }
+
+                    if (future.isDone()) {
+                        return;
+                    }
+
+                    try {
+                        future.complete(statementControl.run(call));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void reject(RejectedExecutionException rejection) {
+                    future.completeExceptionally(rejection);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                statementControl.cancel();
+            }
+        });
+
+        return future;
     }
 }
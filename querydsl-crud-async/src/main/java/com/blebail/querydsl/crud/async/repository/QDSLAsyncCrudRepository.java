@@ -3,11 +3,16 @@ package com.blebail.querydsl.crud.async.repository;
 import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
 import com.blebail.querydsl.crud.sync.repository.CrudRepository;
 import com.blebail.querydsl.crud.sync.repository.QDSLCrudRepository;
+import com.blebail.querydsl.crud.sync.repository.RepositoryMethod;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import com.blebail.querydsl.crud.sync.repository.WriteOptions;
+import com.querydsl.core.types.Expression;
 import com.querydsl.sql.RelationalPathBase;
 import com.querydsl.sql.SQLQueryFactory;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
@@ -28,12 +33,30 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
         this.repository = new QDSLCrudRepository<>(qdslResource, queryFactory);
     }
 
+    public QDSLAsyncCrudRepository(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory, RepositoryOptions options) {
+        super(qdslResource, queryFactory, options);
+        this.repository = new QDSLCrudRepository<>(qdslResource, queryFactory, options);
+    }
+
+    public QDSLAsyncCrudRepository(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory, Executor executor, RepositoryOptions options) {
+        super(qdslResource, queryFactory, executor, options);
+        this.repository = new QDSLCrudRepository<>(qdslResource, queryFactory, options);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public CompletableFuture<R> save(R resource) {
-        return CompletableFuture.supplyAsync(() -> repository.save(resource), executor);
+        return supplyAsync(RepositoryMethod.SAVE, () -> repository.save(resource), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<R> save(R resource, WriteOptions writeOptions) {
+        return supplyAsync(RepositoryMethod.SAVE, () -> repository.save(resource, writeOptions), executor);
     }
 
     /**
@@ -41,7 +64,15 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Collection<R>> save(Iterable<R> resources) {
-        return CompletableFuture.supplyAsync(() -> repository.save(resources), executor);
+        return supplyAsync(RepositoryMethod.SAVE_ALL, () -> repository.save(resources), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Collection<R>> save(Iterable<R> resources, WriteOptions writeOptions) {
+        return supplyAsync(RepositoryMethod.SAVE_ALL, () -> repository.save(resources, writeOptions), executor);
     }
 
     /**
@@ -49,7 +80,15 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Optional<R>> findOne(ID resourceId) {
-        return CompletableFuture.supplyAsync(() -> repository.findOne(resourceId), executor);
+        return supplyAsync(RepositoryMethod.FIND_ONE_BY_ID, () -> repository.findOne(resourceId), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Optional<P>> findOne(ID resourceId, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND_ONE_BY_ID, () -> repository.findOne(resourceId, projection), executor);
     }
 
     /**
@@ -57,7 +96,15 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Collection<R>> find(Iterable<ID> resourceIds) {
-        return CompletableFuture.supplyAsync(() -> repository.find(resourceIds), executor);
+        return supplyAsync(RepositoryMethod.FIND_BY_IDS, () -> repository.find(resourceIds), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CompletableFuture<Collection<P>> find(Iterable<ID> resourceIds, Expression<P> projection) {
+        return supplyAsync(RepositoryMethod.FIND_BY_IDS, () -> repository.find(resourceIds, projection), executor);
     }
 
     /**
@@ -65,7 +112,15 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Boolean> exists(ID resourceId) {
-        return CompletableFuture.supplyAsync(() -> repository.exists(resourceId), executor);
+        return supplyAsync(RepositoryMethod.EXISTS_BY_ID, () -> repository.exists(resourceId), executor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Set<ID>> existsAll(Iterable<ID> resourceIds) {
+        return supplyAsync(RepositoryMethod.EXISTS_ALL, () -> repository.existsAll(resourceIds), executor);
     }
 
     /**
@@ -73,7 +128,7 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Boolean> delete(ID resourceId) {
-        return CompletableFuture.supplyAsync(() -> repository.delete(resourceId), executor);
+        return supplyAsync(RepositoryMethod.DELETE_BY_ID, () -> repository.delete(resourceId), executor);
     }
 
     /**
@@ -81,6 +136,6 @@ public final class QDSLAsyncCrudRepository<T extends RelationalPathBase<R>, R, I
      */
     @Override
     public CompletableFuture<Boolean> delete(Iterable<ID> resourceIds) {
-        return CompletableFuture.supplyAsync(() -> repository.delete(resourceIds), executor);
+        return supplyAsync(RepositoryMethod.DELETE_BY_IDS, () -> repository.delete(resourceIds), executor);
     }
 }
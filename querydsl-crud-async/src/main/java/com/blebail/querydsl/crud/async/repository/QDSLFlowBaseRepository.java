@@ -0,0 +1,77 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.querydsl.crud.commons.resource.QDSLResource;
+import com.blebail.querydsl.crud.sync.repository.BaseRepository;
+import com.blebail.querydsl.crud.sync.repository.QDSLBaseRepository;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.StatementControl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLQueryFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>The query runs on the executor when the subscriber first requests rows, then the executor only reads as many rows as requested,
+ * so it is free between two requests while the connection stays open. The connection is released once every row was published,
+ * or as soon as the subscription is cancelled or fails. {@link RepositoryOptions#fetchSize()} sets how many rows the driver fetches at once.</p>
+ *
+ * <p>Like asynchronous calls, the query runs on the connection of the {@link RepositorySession} bound to the subscribing thread, if any,
+ * with the timeout of the {@link StatementControl} of the subscribing call or else {@link RepositoryOptions#queryTimeout()},
+ * and cancelling the subscription cancels the running query.</p>
+ */
+public class QDSLFlowBaseRepository<T extends RelationalPathBase<R>, R> implements FlowBaseRepository<R> {
+
+    private final BaseRepository<R> repository;
+
+    protected final Executor executor;
+
+    private final Duration queryTimeout;
+
+    public QDSLFlowBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory) {
+        this(qdslResource, queryFactory, BoundedExecutionStrategy.shared());
+    }
+
+    public QDSLFlowBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, Executor executor) {
+        this(qdslResource, queryFactory, executor, RepositoryOptions.defaults());
+    }
+
+    public QDSLFlowBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, Executor executor, RepositoryOptions options) {
+        this.repository = new QDSLBaseRepository<>(qdslResource, queryFactory, options);
+        this.executor = Objects.requireNonNull(executor);
+        this.queryTimeout = options.queryTimeout().orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flow.Publisher<R> find(Predicate predicate) {
+        return new IteratorPublisher<>(() -> repository.iterate(predicate), executor, queryTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Flow.Publisher<P> find(Predicate predicate, Expression<P> projection) {
+        Objects.requireNonNull(projection);
+
+        return new IteratorPublisher<>(() -> repository.iterate(predicate, projection), executor, queryTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flow.Publisher<R> findAll() {
+        return new IteratorPublisher<>(() -> repository.iterate(null), executor, queryTimeout);
+    }
+}
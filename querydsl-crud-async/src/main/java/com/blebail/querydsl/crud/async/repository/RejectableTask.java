@@ -0,0 +1,12 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Task told when it will never run, to complete its future or signal its subscriber with the rejection.
+ * An {@link AdmissionController} rejects its queued tasks this way, the caller which submitted them being gone by the time they are started.
+ */
+interface RejectableTask extends Runnable {
+
+    void reject(RejectedExecutionException rejection);
+}
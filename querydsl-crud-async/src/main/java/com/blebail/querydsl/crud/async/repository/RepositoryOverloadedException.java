@@ -0,0 +1,15 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown, or completing the future of an asynchronous repository, when an {@link AdmissionController} rejects a statement.
+ */
+public final class RepositoryOverloadedException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RepositoryOverloadedException(String message) {
+        super(message);
+    }
+}
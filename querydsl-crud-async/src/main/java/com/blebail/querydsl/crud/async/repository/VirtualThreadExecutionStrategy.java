@@ -0,0 +1,92 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every task on its own virtual thread, so blocking on a connection costs no platform thread.
+ * Virtual threads need Java 21 or later: {@link #isSupported()} tells whether the running JVM has them.
+ * The number of concurrent statements is then only bounded by the connection pool.
+ */
+public final class VirtualThreadExecutionStrategy implements AsyncExecutionStrategy {
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger activeTasks;
+
+    /**
+     * @throws UnsupportedOperationException when the running JVM has no virtual threads
+     */
+    public VirtualThreadExecutionStrategy() {
+        this.executor = newVirtualThreadPerTaskExecutor();
+        this.activeTasks = new AtomicInteger();
+    }
+
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or later, running " + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            activeTasks.incrementAndGet();
+
+            try {
+                task.run();
+            } finally {
+                activeTasks.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Tasks are never queued, each one starting its own thread.
+     */
+    @Override
+    public int queuedTasks() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int activeTasks() {
+        return activeTasks.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("activeTasks", activeTasks())
+                .toString();
+    }
+}
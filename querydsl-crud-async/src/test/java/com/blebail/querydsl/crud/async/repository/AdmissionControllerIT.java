@@ -0,0 +1,207 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControllerIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    BoundedExecutionStrategy executionStrategy;
+
+    CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        executionStrategy = new BoundedExecutionStrategy(2);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executionStrategy.close();
+    }
+
+    private AsyncCrudRepository<BAccount, String> repository(AdmissionController admissionController) {
+        return new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                admissionController
+        );
+    }
+
+    /**
+     * @return a time at which the task holding the permit was already running
+     */
+    private long occupyAPermit(AdmissionController admissionController) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        admissionController.execute(() -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        return System.nanoTime();
+    }
+
+    @Test
+    void shouldRejectStatements_whenFailingFast() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 10, OverloadPolicy.FAIL_FAST);
+        occupyAPermit(admissionController);
+
+        CompletableFuture<Long> count = repository(admissionController).count();
+
+        assertThatThrownBy(count::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RepositoryOverloadedException.class);
+        assertThat(admissionController.stats().rejected()).isEqualTo(1);
+        assertThat(admissionController.queuedTasks()).isZero();
+    }
+
+    @Test
+    void shouldQueueStatements_untilTheQueueIsFull() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 1, OverloadPolicy.REJECT);
+        AsyncCrudRepository<BAccount, String> tested = repository(admissionController);
+        long runningAt = occupyAPermit(admissionController);
+
+        CompletableFuture<Long> queuedCount = tested.count();
+        long queuedAt = System.nanoTime();
+        CompletableFuture<Long> rejectedCount = tested.count();
+
+        assertThat(admissionController.queuedTasks()).isEqualTo(1);
+        assertThatThrownBy(rejectedCount::get).hasCauseInstanceOf(RepositoryOverloadedException.class);
+
+        long releasedAt = System.nanoTime();
+        release.countDown();
+
+        assertThat(queuedCount.get()).isEqualTo(2);
+
+        AdmissionStats stats = admissionController.stats();
+        assertThat(stats.admitted()).isEqualTo(2);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.maxQueueTime()).isGreaterThanOrEqualTo(Duration.ofNanos(releasedAt - queuedAt));
+        assertThat(stats.maxExecutionTime()).isGreaterThanOrEqualTo(Duration.ofNanos(releasedAt - runningAt));
+    }
+
+    @Test
+    void shouldBlockTheCaller_whileTheQueueIsFull() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 0, OverloadPolicy.BLOCK);
+        AsyncCrudRepository<BAccount, String> tested = repository(admissionController);
+        occupyAPermit(admissionController);
+
+        CompletableFuture<CompletableFuture<Long>> blockedCall = new CompletableFuture<>();
+        Thread caller = new Thread(() -> blockedCall.complete(tested.count()));
+        caller.start();
+        awaitWaiting(caller);
+
+        assertThat(caller.getState()).isEqualTo(Thread.State.WAITING);
+        assertThat(blockedCall).isNotDone();
+
+        release.countDown();
+
+        assertThat(blockedCall.get().get()).isEqualTo(2);
+        assertThat(admissionController.stats().rejected()).isZero();
+    }
+
+    @Test
+    void shouldReleasePermits_whenStatementsEnd() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 0, OverloadPolicy.FAIL_FAST);
+        AsyncCrudRepository<BAccount, String> tested = repository(admissionController);
+
+        for (int call = 0; call < 3; call++) {
+            assertThat(tested.count().get()).isEqualTo(2);
+            awaitNoActiveTask(admissionController);
+        }
+
+        assertThat(admissionController.stats().admitted()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFailTheQueuedStatements_whichTheExecutorRejects() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 1, OverloadPolicy.REJECT);
+        occupyAPermit(admissionController);
+
+        CompletableFuture<Long> queuedCount = repository(admissionController).count();
+        executionStrategy.close();
+        release.countDown();
+
+        assertThatThrownBy(() -> queuedCount.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        awaitNoActiveTask(admissionController);
+    }
+
+    @Test
+    void shouldRunTheQueuedStatements_andRejectTheNextOnes_whenClosed() throws Exception {
+        sqlFixture.readOnly();
+
+        AdmissionController admissionController = new AdmissionController(executionStrategy, 1, 1, OverloadPolicy.REJECT);
+        AsyncCrudRepository<BAccount, String> tested = repository(admissionController);
+        occupyAPermit(admissionController);
+
+        CompletableFuture<Long> queuedCount = tested.count();
+        admissionController.close();
+
+        assertThatThrownBy(() -> tested.count().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+
+        assertThat(queuedCount.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThatThrownBy(() -> executionStrategy.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && thread.getState() != Thread.State.WAITING; attempt++) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitNoActiveTask(AdmissionController admissionController) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && admissionController.activeTasks() > 0; attempt++) {
+            Thread.sleep(1);
+        }
+
+        assertThat(admissionController.activeTasks()).isZero();
+    }
+}
@@ -0,0 +1,136 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AsyncExecutionStrategyIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    private AsyncCrudRepository<BAccount, String> repository(AsyncExecutionStrategy executionStrategy) {
+        return new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                executionStrategy
+        );
+    }
+
+    @Test
+    void shouldRunStatementsOnTheSharedPool_byDefault() throws Exception {
+        sqlFixture.readOnly();
+
+        AsyncCrudRepository<BAccount, String> tested = new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+        );
+
+        assertThat(tested.count().get()).isEqualTo(2);
+        assertThat(BoundedExecutionStrategy.shared().threads()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldQueueTasks_whenEveryThreadIsBusy() throws Exception {
+        sqlFixture.readOnly();
+
+        try (BoundedExecutionStrategy executionStrategy = new BoundedExecutionStrategy(1)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            executionStrategy.execute(() -> {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+
+            CompletableFuture<Long> count = repository(executionStrategy).count();
+
+            assertThat(executionStrategy.activeTasks()).isEqualTo(1);
+            assertThat(executionStrategy.queuedTasks()).isEqualTo(1);
+
+            release.countDown();
+
+            assertThat(count.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldSizeThePoolLikeTheConnectionPool() {
+        JdbcConnectionPool connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:", "sa", "");
+        connectionPool.setMaxConnections(7);
+
+        try (BoundedExecutionStrategy executionStrategy = BoundedExecutionStrategy.forDataSource(connectionPool)) {
+            assertThat(executionStrategy.threads()).isEqualTo(7);
+        } finally {
+            connectionPool.dispose();
+        }
+    }
+
+    @Test
+    void shouldRejectTasks_whenClosed() {
+        BoundedExecutionStrategy executionStrategy = new BoundedExecutionStrategy(1);
+        executionStrategy.close();
+
+        assertThatThrownBy(() -> executionStrategy.execute(() -> {})).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldKeepTheSharedPoolRunning_whenClosed() throws Exception {
+        sqlFixture.readOnly();
+
+        BoundedExecutionStrategy.shared().close();
+
+        assertThat(repository(BoundedExecutionStrategy.shared()).count().get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRunOnTheCallingThread() {
+        sqlFixture.readOnly();
+
+        try (CallerRunsExecutionStrategy executionStrategy = new CallerRunsExecutionStrategy()) {
+            CompletableFuture<Long> count = repository(executionStrategy).count();
+
+            assertThat(count).isCompletedWithValue(2L);
+        }
+    }
+
+    @Test
+    void shouldRunOnVirtualThreads_whenSupported() throws Exception {
+        assumeTrue(VirtualThreadExecutionStrategy.isSupported());
+        sqlFixture.readOnly();
+
+        try (VirtualThreadExecutionStrategy executionStrategy = new VirtualThreadExecutionStrategy()) {
+            assertThat(repository(executionStrategy).count().get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldNotBuildVirtualThreads_whenUnsupported() {
+        assumeTrue(!VirtualThreadExecutionStrategy.isSupported());
+
+        assertThatThrownBy(VirtualThreadExecutionStrategy::new).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingAsyncCrudRepositoryIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    private BatchingAsyncCrudRepository<BAccount, String> batching(BatchingOptions options) {
+        return batching(repository(), options);
+    }
+
+    private BatchingAsyncCrudRepository<BAccount, String> batching(AsyncCrudRepository<BAccount, String> repository, BatchingOptions options) {
+        return new BatchingAsyncCrudRepository<>(repository, BAccount::getId, options);
+    }
+
+    private AsyncCrudRepository<BAccount, String> repository() {
+        return new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+        );
+    }
+
+    @Test
+    void shouldReadTheCallsOfAWindowWithASingleQuery() throws Exception {
+        sqlFixture.readOnly();
+
+        BatchingAsyncCrudRepository<BAccount, String> tested = batching(BatchingOptions.defaults().withBatchWindow(Duration.ofMillis(50)));
+
+        CompletableFuture<Optional<BAccount>> systemRead = tested.findOne(system().getId());
+        CompletableFuture<Optional<BAccount>> adminRead = tested.findOne(admin().getId());
+        CompletableFuture<Optional<BAccount>> missingRead = tested.findOne("9999");
+
+        assertThat(systemRead.get()).usingFieldByFieldValueComparator().contains(system());
+        assertThat(adminRead.get()).usingFieldByFieldValueComparator().contains(admin());
+        assertThat(missingRead.get()).isEmpty();
+        assertThat(tested.batchedCalls()).isEqualTo(3);
+        assertThat(tested.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendABatch_asSoonAsItIsFull() throws Exception {
+        sqlFixture.readOnly();
+
+        BatchingAsyncCrudRepository<BAccount, String> tested = batching(BatchingOptions.defaults()
+                .withMaxBatchSize(2)
+                .withBatchWindow(Duration.ofHours(1)));
+
+        CompletableFuture<Optional<BAccount>> systemRead = tested.findOne(system().getId());
+        CompletableFuture<Optional<BAccount>> adminRead = tested.findOne(admin().getId());
+
+        assertThat(systemRead.get()).usingFieldByFieldValueComparator().contains(system());
+        assertThat(adminRead.get()).usingFieldByFieldValueComparator().contains(admin());
+        assertThat(tested.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareTheReadOfAnId_betweenConcurrentCalls() throws Exception {
+        sqlFixture.readOnly();
+
+        BatchingAsyncCrudRepository<BAccount, String> tested = batching(BatchingOptions.defaults()
+                .withMaxBatchSize(2)
+                .withBatchWindow(Duration.ofMillis(50)));
+
+        CompletableFuture<Optional<BAccount>> firstRead = tested.findOne(system().getId());
+        CompletableFuture<Optional<BAccount>> secondRead = tested.findOne(system().getId());
+
+        assertThat(firstRead.get()).usingFieldByFieldValueComparator().contains(system());
+        assertThat(secondRead.get()).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBatchExistenceChecks() throws Exception {
+        sqlFixture.readOnly();
+
+        BatchingAsyncCrudRepository<BAccount, String> tested = batching(BatchingOptions.defaults().withBatchWindow(Duration.ofMillis(50)));
+
+        CompletableFuture<Boolean> systemExists = tested.exists(system().getId());
+        CompletableFuture<Boolean> missingExists = tested.exists("9999");
+
+        assertThat(systemExists.get()).isTrue();
+        assertThat(missingExists.get()).isFalse();
+        assertThat(tested.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotBatchTheCalls_madeWithinASession() throws Exception {
+        sqlFixture.readOnly();
+
+        AsyncCrudRepository<BAccount, String> repository = repository();
+        BatchingAsyncCrudRepository<BAccount, String> tested = batching(repository, BatchingOptions.defaults().withBatchWindow(Duration.ofHours(1)));
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            repository.save(johnDoe()).get();
+
+            assertThat(tested.findOne(johnDoe().getId()).get()).usingFieldByFieldValueComparator().contains(johnDoe());
+            assertThat(tested.exists(johnDoe().getId()).get()).isTrue();
+        }
+
+        assertThat(tested.exists(johnDoe().getId()).isDone()).isFalse();
+        assertThat(tested.batchedCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.cache.CacheStats;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingAsyncCrudRepositoryIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    CachingAsyncCrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new CachingAsyncCrudRepository<>(
+                new QDSLAsyncCrudRepository<>(
+                        new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                        Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+                ),
+                BAccount::getId,
+                CacheOptions.defaults()
+        );
+    }
+
+    @Test
+    void shouldCompleteImmediately_whenTheResourceIsCached() throws Exception {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId()).get();
+        CompletableFuture<?> cachedRead = tested.findOne(system().getId());
+
+        assertThat(cachedRead).isDone();
+        assertThat(tested.findOne(system().getId()).get()).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.cacheStats()).isEqualTo(new CacheStats(2, 1, 0));
+    }
+
+    @Test
+    void shouldMergeCachedAndLoadedResources_whenFindingSeveralIds() throws Exception {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId()).get();
+
+        assertThat(tested.find(List.of(system().getId(), admin().getId())).get())
+                .usingFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(system(), admin());
+        assertThat(tested.find(List.of(system().getId(), admin().getId()))).isDone();
+    }
+
+    @Test
+    void shouldInvalidateAResource_whenSavingIt() throws Exception {
+        tested.findOne(admin().getId()).get();
+
+        BAccount updatedAdmin = new BAccount("newmail@test.com", admin().getId(), admin().getUsername());
+        tested.save(updatedAdmin).get();
+
+        assertThat(tested.findOne(admin().getId()).get()).usingFieldByFieldValueComparator().contains(updatedAdmin);
+    }
+
+    @Test
+    void shouldInvalidateAResource_whenDeletingIt() throws Exception {
+        tested.findOne(admin().getId()).get();
+
+        tested.delete(admin().getId()).get();
+
+        assertThat(tested.findOne(admin().getId()).get()).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheTheResourcesRead_withinATransaction() throws Exception {
+        sqlFixture.readOnly();
+
+        BAccount renamedAdmin = new BAccount(admin().getEmail(), admin().getId(), "renamed");
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(renamedAdmin).get();
+
+            assertThat(tested.findOne(admin().getId()).get()).map(BAccount::getUsername).contains("renamed");
+        }
+
+        assertThat(tested.findOne(admin().getId()).get()).map(BAccount::getUsername).contains(admin().getUsername());
+        assertThat(tested.cacheStats().hits()).isZero();
+    }
+}
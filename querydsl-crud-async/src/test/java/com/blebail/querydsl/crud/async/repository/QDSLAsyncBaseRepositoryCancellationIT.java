@@ -0,0 +1,120 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import com.blebail.querydsl.crud.sync.repository.StatementControl;
+import com.querydsl.core.QueryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.SleepFixtures.awaitSleepingStatement;
+import static com.blebail.querydsl.crud.async.fixtures.SleepFixtures.sleepingFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QDSLAsyncBaseRepositoryCancellationIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    BoundedExecutionStrategy executionStrategy;
+
+    @BeforeEach
+    void setUp() {
+        executionStrategy = new BoundedExecutionStrategy(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executionStrategy.close();
+    }
+
+    private AsyncCrudRepository<BAccount, String> repository(RepositoryOptions options) {
+        return new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                executionStrategy,
+                options
+        );
+    }
+
+    private void awaitIdleExecutor(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (executionStrategy.activeTasks() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test
+    void shouldCancelTheRunningStatement_whenTheFutureIsCancelled() throws Exception {
+        sqlFixture.readOnly();
+
+        CompletableFuture<Collection<BAccount>> accounts = repository(RepositoryOptions.defaults()).find(sleepingFor(3000));
+        assertThat(awaitSleepingStatement(sqlMemoryDb.dataSource(), Duration.ofSeconds(2))).isTrue();
+
+        accounts.cancel(true);
+        awaitIdleExecutor(Duration.ofMillis(2000));
+
+        assertThat(accounts).isCancelled();
+        assertThat(executionStrategy.activeTasks()).isZero();
+    }
+
+    @Test
+    void shouldCancelTheRunningStatement_whenTheFutureTimesOut() throws Exception {
+        sqlFixture.readOnly();
+
+        CompletableFuture<Collection<BAccount>> accounts = repository(RepositoryOptions.defaults()).find(sleepingFor(3000))
+                .orTimeout(300, TimeUnit.MILLISECONDS);
+
+        assertThatThrownBy(accounts::get).isInstanceOf(ExecutionException.class);
+        awaitIdleExecutor(Duration.ofMillis(2000));
+
+        assertThat(executionStrategy.activeTasks()).isZero();
+    }
+
+    @Test
+    void shouldFailStatements_runningLongerThanTheQueryTimeoutOfTheRepository() {
+        sqlFixture.readOnly();
+
+        AsyncCrudRepository<BAccount, String> tested = repository(RepositoryOptions.defaults().withQueryTimeout(Duration.ofSeconds(1)));
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> tested.find(sleepingFor(3000)).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2900));
+    }
+
+    @Test
+    void shouldPreferTheQueryTimeoutOfTheCaller() {
+        sqlFixture.readOnly();
+
+        AsyncCrudRepository<BAccount, String> tested = repository(RepositoryOptions.defaults().withQueryTimeout(Duration.ofSeconds(10)));
+        long start = System.nanoTime();
+
+        CompletableFuture<Collection<BAccount>> accounts = StatementControl.withQueryTimeout(Duration.ofSeconds(1), () -> tested.find(sleepingFor(3000)));
+
+        assertThatThrownBy(accounts::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2900));
+    }
+}
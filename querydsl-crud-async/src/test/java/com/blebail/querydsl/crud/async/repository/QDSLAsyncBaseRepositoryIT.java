@@ -4,8 +4,11 @@ import com.blebail.junit.SqlFixture;
 import com.blebail.junit.SqlMemoryDb;
 import com.blebail.querydsl.crud.BAccount;
 import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
 import com.blebail.querydsl.crud.commons.page.Sort;
 import com.blebail.querydsl.crud.commons.resource.QDSLResource;
 import com.blebail.querydsl.crud.commons.utils.Factories;
@@ -191,6 +194,44 @@ class QDSLAsyncBaseRepositoryIT {
         assertThat(page.totalPages()).isEqualTo(2);
     }
 
+    @Test
+    public void shouldFindSliceWithNext_whenMoreResourcesFollow() throws Exception {
+        sqlFixture.exec(insertAdmin2());
+
+        Slice<BAccount> slice = tested.findSlice(new PageRequest(0, 2, List.of(new Sort("id", Sort.Direction.DESC)))).get();
+
+        assertThat(slice.items()).usingFieldByFieldElementComparator().containsExactly(admin2(), admin());
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    public void shouldFindLastSliceWithPredicate() throws Exception {
+        sqlFixture.exec(insertAdmin2());
+        sqlFixture.exec(insertAdmin3());
+
+        Predicate predicate = QAccount.account.username.contains("admin");
+        Slice<BAccount> slice = tested.findSlice(predicate, new PageRequest(1, 2, List.of(new Sort("id", Sort.Direction.DESC)))).get();
+
+        assertThat(slice.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldFindKeysetPageWithPredicate() throws Exception {
+        sqlFixture.exec(insertAdmin2());
+        sqlFixture.exec(insertAdmin3());
+
+        Predicate predicate = QAccount.account.username.contains("admin");
+        KeysetPageRequest pageRequest = new KeysetPageRequest(2, List.of(new Sort("id", Sort.Direction.DESC)));
+
+        CursorPage<BAccount> firstPage = tested.find(predicate, pageRequest).get();
+        CursorPage<BAccount> lastPage = tested.find(predicate, pageRequest.after(firstPage.nextCursor().orElseThrow())).get();
+
+        assertThat(firstPage.items()).usingFieldByFieldElementComparator().containsExactly(admin3(), admin2());
+        assertThat(lastPage.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
     @Test
     public void shouldThrowException_whenDeletingWithNullPredicate() {
         sqlFixture.readOnly();
@@ -6,6 +6,7 @@ import com.blebail.querydsl.crud.BAccount;
 import com.blebail.querydsl.crud.QAccount;
 import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
 import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.WriteOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -147,6 +148,26 @@ class QDSLAsyncCrudRepositoryIT {
         assertThat(updatedAccounts).usingFieldByFieldElementComparator().containsOnly(accountToUpdate1, accountToUpdate2);
     }
 
+    @Test
+    void shouldReturnTheInputResources_whenReturnModeIsInput() throws Exception {
+        BAccount newAccount = new BAccount("tom@test.com", "1234", "tomsearle");
+        List<BAccount> newAccounts = List.of(new BAccount("dan@test.com", "2345", "dansearle"));
+
+        assertThat(tested.save(newAccount, WriteOptions.RETURN_INPUT).get()).isSameAs(newAccount);
+        assertThat(tested.save(newAccounts, WriteOptions.RETURN_INPUT).get()).isSameAs(newAccounts);
+    }
+
+    @Test
+    void shouldReturnNothing_whenReturnModeIsNone() throws Exception {
+        BAccount newAccount1 = new BAccount("tom@test.com", "1234", "tomsearle");
+        BAccount newAccount2 = new BAccount("dan@test.com", "2345", "dansearle");
+        long accountCount = countRows();
+
+        assertThat(tested.save(newAccount1, WriteOptions.RETURN_NONE).get()).isNull();
+        assertThat(tested.save(List.of(newAccount2), WriteOptions.RETURN_NONE).get()).isEmpty();
+        assertThat(countRows()).isEqualTo(accountCount + 2);
+    }
+
     @Test
     void shouldCheckIfResourceExists() throws Exception {
         sqlFixture.readOnly();
@@ -165,7 +186,15 @@ class QDSLAsyncCrudRepositoryIT {
     void shouldThrowExceptionWhenChekingIfNullIdExist() {
         sqlFixture.readOnly();
 
-        assertThrows(ExecutionException.class, () -> tested.exists(null).get());
+        assertThrows(ExecutionException.class, () -> tested.exists((String) null).get());
+    }
+
+    @Test
+    void shouldCheckIfResourcesExist() throws Exception {
+        sqlFixture.readOnly();
+
+        assertThat(tested.exists(QAccount.account.username.eq("system")).get()).isTrue();
+        assertThat(tested.existsAll(List.of(system().getId(), "1234")).get()).containsOnly(system().getId());
     }
 
     @Test
@@ -203,6 +232,17 @@ class QDSLAsyncCrudRepositoryIT {
                 .containsOnly(system(), admin());
     }
 
+    @Test
+    void shouldFindProjectedResources() throws Exception {
+        sqlFixture.readOnly();
+
+        Optional<String> email = tested.findOne(system().getId(), QAccount.account.email).get();
+        Collection<String> usernames = tested.find(List.of(system().getId(), admin().getId()), QAccount.account.username).get();
+
+        assertThat(email).contains(system().getEmail());
+        assertThat(usernames).containsOnly(system().getUsername(), admin().getUsername());
+    }
+
     @Test
     void shouldReturnNoResources_whenFindingNonExistingResources() throws Exception {
         sqlFixture.readOnly();
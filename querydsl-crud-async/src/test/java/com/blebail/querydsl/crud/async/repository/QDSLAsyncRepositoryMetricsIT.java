@@ -0,0 +1,111 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.MethodStats;
+import com.blebail.querydsl.crud.sync.repository.RepositoryMethod;
+import com.blebail.querydsl.crud.sync.repository.RepositoryMetrics;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLAsyncRepositoryMetricsIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    ThreadPoolExecutor executor;
+
+    RepositoryMetrics metrics;
+
+    AsyncCrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        metrics = new RepositoryMetrics();
+        tested = new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                executor,
+                RepositoryOptions.defaults().withMetrics(metrics)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void awaitQueued(int tasks) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && executor.getQueue().size() < tasks; attempt++) {
+            Thread.sleep(1);
+        }
+
+        assertThat(executor.getQueue()).hasSize(tasks);
+    }
+
+    @Test
+    void shouldRecordTheTimeCallsWaitedForAThread() throws Exception {
+        sqlFixture.readOnly();
+
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long calledAt = System.nanoTime();
+        CompletableFuture<Long> count = tested.count();
+        long queuedAt = System.nanoTime();
+        awaitQueued(1);
+        long releasedAt = System.nanoTime();
+        busy.countDown();
+        count.get();
+        long completedAt = System.nanoTime();
+
+        MethodStats stats = metrics.stats(QAccount.account, RepositoryMethod.COUNT).orElseThrow();
+
+        assertThat(stats.queueWaits().count()).isEqualTo(1);
+        assertThat(stats.queueWaits().max()).isBetween(releasedAt - queuedAt, completedAt - calledAt);
+        assertThat(stats.latencies().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordTheCallsOfTheAsynchronousMethods_likeTheirSynchronousTwins() throws Exception {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId()).get();
+        tested.exists(admin().getId()).get();
+        tested.find(List.of(admin().getId(), system().getId())).get();
+
+        assertThat(metrics.stats()).extracting(MethodStats::method)
+                .containsExactly(RepositoryMethod.FIND_ONE_BY_ID, RepositoryMethod.FIND_BY_IDS, RepositoryMethod.EXISTS_BY_ID);
+        assertThat(metrics.stats(QAccount.account, RepositoryMethod.FIND_BY_IDS).orElseThrow().rows()).isEqualTo(2);
+        assertThat(metrics.stats()).allSatisfy(stats -> assertThat(stats.queueWaits().count()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLAsyncRepositorySessionIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    BoundedExecutionStrategy executionStrategy;
+
+    Set<Connection> usedConnections;
+
+    AsyncCrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        executionStrategy = new BoundedExecutionStrategy(2);
+        usedConnections = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        SQLQueryFactory queryFactory = Factories.defaultQueryFactory(sqlMemoryDb.dataSource());
+        queryFactory.getConfiguration().addListener(new SQLBaseListener() {
+            @Override
+            public void start(SQLListenerContext context) {
+                usedConnections.add(context.getConnection());
+            }
+        });
+
+        tested = new QDSLAsyncCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory,
+                executionStrategy
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        executionStrategy.close();
+    }
+
+    @Test
+    void shouldRunTheCallsOnTheConnectionOfTheSession() throws Exception {
+        sqlFixture.readOnly();
+
+        try (RepositorySession session = RepositorySession.open()) {
+            tested.findOne(system().getId()).get();
+            tested.exists(admin().getId()).get();
+            tested.count().get();
+
+            assertThat(session.connections()).isEqualTo(1);
+        }
+
+        assertThat(usedConnections).hasSize(1);
+    }
+
+    @Test
+    void shouldRunTheCallsWithinTheTransactionOfTheSession() throws Exception {
+        sqlFixture.readOnly();
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(johnDoe()).get();
+
+            assertThat(tested.exists(johnDoe().getId()).get()).isTrue();
+        }
+
+        assertThat(tested.exists(johnDoe().getId()).get()).isFalse();
+    }
+}
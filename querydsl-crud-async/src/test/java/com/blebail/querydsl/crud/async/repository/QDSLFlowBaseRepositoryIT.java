@@ -0,0 +1,328 @@
+package com.blebail.querydsl.crud.async.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.resource.QDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.blebail.querydsl.crud.sync.repository.CrudRepository;
+import com.blebail.querydsl.crud.sync.repository.QDSLCrudRepository;
+import com.blebail.querydsl.crud.sync.repository.RepositoryOptions;
+import com.blebail.querydsl.crud.sync.repository.RepositorySession;
+import com.blebail.querydsl.crud.sync.repository.StatementControl;
+import com.ninja_squad.dbsetup.Operations;
+import com.querydsl.core.QueryException;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin2;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.admin3;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertAdmin2;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertAdmin3;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.async.fixtures.AccountFixtures.system;
+import static com.blebail.querydsl.crud.async.fixtures.SleepFixtures.awaitSleepingStatement;
+import static com.blebail.querydsl.crud.async.fixtures.SleepFixtures.sleepingFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLFlowBaseRepositoryIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource,
+            Operations.sequenceOf(insertDefaultAccounts(), insertAdmin2(), insertAdmin3()));
+
+    BoundedExecutionStrategy executionStrategy;
+
+    SQLQueryFactory queryFactory;
+
+    FlowBaseRepository<BAccount> tested;
+
+    @BeforeEach
+    void setUp() {
+        executionStrategy = new BoundedExecutionStrategy(2);
+        queryFactory = Factories.defaultQueryFactory(sqlMemoryDb.dataSource());
+        tested = repository(RepositoryOptions.defaults());
+    }
+
+    private FlowBaseRepository<BAccount> repository(RepositoryOptions options) {
+        return new QDSLFlowBaseRepository<>(new QDSLResource<>(QAccount.account), queryFactory, executionStrategy, options);
+    }
+
+    private void awaitIdleExecutor(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (executionStrategy.activeTasks() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executionStrategy.close();
+    }
+
+    @Test
+    void shouldPublishEveryRow_andComplete() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        tested.findAll().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        List<Object> signals = subscriber.awaitSignals(5);
+
+        assertThat(signals).hasSize(5);
+        assertThat(signals).last().isEqualTo(RecordingSubscriber.COMPLETE);
+        assertThat(subscriber.rows()).hasSize(4);
+    }
+
+    @Test
+    void shouldOnlyReadRequestedRows() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        tested.find(null).subscribe(subscriber);
+
+        subscriber.request(1);
+        assertThat(subscriber.awaitSignals(1)).hasSize(1);
+
+        subscriber.request(2);
+        assertThat(subscriber.awaitSignals(2)).hasSize(2);
+
+        subscriber.request(2);
+        assertThat(subscriber.awaitSignals(2)).last().isEqualTo(RecordingSubscriber.COMPLETE);
+        assertThat(subscriber.rows()).hasSize(4);
+        assertThat(subscriber.unrequestedRows).hasValue(0);
+    }
+
+    @Test
+    void shouldPublishProjections() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        tested.find(QAccount.account.username.startsWith("admin").and(QAccount.account.username.ne("admin")), QAccount.account.id)
+                .subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        subscriber.awaitSignals(3);
+
+        assertThat(subscriber.rows()).containsExactlyInAnyOrder(admin2().getId(), admin3().getId());
+    }
+
+    @Test
+    void shouldReleaseTheConnection_whenCancelled() throws Exception {
+        sqlFixture.readOnly();
+
+        int sessions = openSessions();
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        tested.findAll().subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.awaitSignals(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+
+        for (int attempt = 0; attempt < 500 && openSessions() != sessions; attempt++) {
+            Thread.sleep(1);
+        }
+
+        assertThat(openSessions()).isEqualTo(sessions);
+        assertThat(subscriber.signals).isEmpty();
+    }
+
+    @Test
+    void shouldRunAQueryPerSubscription() throws Exception {
+        sqlFixture.readOnly();
+
+        Flow.Publisher<BAccount> publisher = tested.find(QAccount.account.id.eq(system().getId()));
+
+        for (int subscription = 0; subscription < 2; subscription++) {
+            RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(1);
+
+            subscriber.awaitSignals(1);
+            assertThat(subscriber.rows()).extracting(BAccount::getId).containsExactly(system().getId());
+        }
+    }
+
+    @Test
+    void shouldFail_whenRequestingNoRow() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        tested.findAll().subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.awaitSignals(1)).singleElement().isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCancelTheRunningQuery_whenCancelled() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        tested.find(sleepingFor(3000)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertThat(awaitSleepingStatement(sqlMemoryDb.dataSource(), Duration.ofSeconds(2))).isTrue();
+
+        long start = System.nanoTime();
+        subscriber.subscription.cancel();
+        awaitIdleExecutor(Duration.ofMillis(2500));
+
+        assertThat(executionStrategy.activeTasks()).isZero();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2500));
+        assertThat(subscriber.signals).isEmpty();
+    }
+
+    @Test
+    void shouldFailTheQuery_runningLongerThanTheQueryTimeoutOfTheSubscribingCall() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        StatementControl.withQueryTimeout(Duration.ofSeconds(1), () -> {
+            tested.find(sleepingFor(3000)).subscribe(subscriber);
+
+            return null;
+        });
+        long start = System.nanoTime();
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.awaitSignals(1)).singleElement().isInstanceOf(QueryException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2900));
+    }
+
+    @Test
+    void shouldFailTheQuery_runningLongerThanTheQueryTimeoutOfTheOptions() throws Exception {
+        sqlFixture.readOnly();
+
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+        repository(RepositoryOptions.defaults().withQueryTimeout(Duration.ofSeconds(1))).find(sleepingFor(3000)).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.awaitSignals(1)).singleElement().isInstanceOf(QueryException.class);
+    }
+
+    @Test
+    void shouldRunTheQueryWithinTheTransactionOfTheSubscribingSession() throws Exception {
+        CrudRepository<BAccount, String> crudRepository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory
+        );
+        RecordingSubscriber<BAccount> subscriber = new RecordingSubscriber<>();
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            crudRepository.save(johnDoe());
+            tested.findAll().subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.awaitSignals(6)).last().isEqualTo(RecordingSubscriber.COMPLETE);
+            assertThat(subscriber.rows()).extracting(BAccount::getId).contains(johnDoe().getId());
+            assertThat(session.connections()).isEqualTo(1);
+        }
+
+        assertThat(crudRepository.exists(johnDoe().getId())).isFalse();
+    }
+
+    private int openSessions() throws SQLException {
+        try (Connection connection = sqlMemoryDb.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from INFORMATION_SCHEMA.SESSIONS")) {
+            resultSet.next();
+
+            return resultSet.getInt(1) - 1;
+        }
+    }
+
+    private static final class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private static final Object COMPLETE = new Object();
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+        private final List<T> rows = new CopyOnWriteArrayList<>();
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger unrequestedRows = new AtomicInteger();
+
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (demand.decrementAndGet() < 0) {
+                unrequestedRows.incrementAndGet();
+            }
+
+            rows.add(item);
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        /**
+         * Requests rows through the subscription, counting the rows published beyond the requested ones.
+         */
+        private void request(long n) {
+            demand.addAndGet(n);
+            subscription.request(n);
+        }
+
+        private List<Object> awaitSignals(int count) throws InterruptedException {
+            List<Object> received = new ArrayList<>();
+
+            for (int index = 0; index < count; index++) {
+                Object signal = signals.poll(5, TimeUnit.SECONDS);
+
+                if (signal == null) {
+                    break;
+                }
+
+                received.add(signal);
+            }
+
+            return received;
+        }
+
+        private List<T> rows() {
+            return rows;
+        }
+    }
+}
@@ -6,4 +6,6 @@ CREATE TABLE account(
     email VARCHAR(255) NOT NULL
 );
 
-ALTER TABLE account ADD PRIMARY KEY (id);
\ No newline at end of file
+ALTER TABLE account ADD PRIMARY KEY (id);
+
+CREATE ALIAS IF NOT EXISTS SLEEP_MILLIS FOR "java.lang.Thread.sleep(long)";
@@ -0,0 +1,114 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable bounds of a cache.
+ */
+public final class CacheOptions {
+
+    private static final long DEFAULT_MAXIMUM_WEIGHT = 10_000;
+
+    private static final CacheOptions DEFAULTS = new CacheOptions();
+
+    private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+    private Duration expireAfterWrite;
+
+    private ToLongFunction<Object> weigher = value -> 1;
+
+    private CacheOptions() {
+    }
+
+    public static CacheOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return the maximum total weight of the cached values, which is their number unless a weigher is set
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return how long a value is kept after being cached, or empty to keep it until evicted or invalidated
+     */
+    public Optional<Duration> expireAfterWrite() {
+        return Optional.ofNullable(expireAfterWrite);
+    }
+
+    public ToLongFunction<Object> weigher() {
+        return weigher;
+    }
+
+    public CacheOptions withMaximumWeight(long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight should be positive, got " + maximumWeight);
+        }
+
+        CacheOptions options = copy();
+        options.maximumWeight = maximumWeight;
+
+        return options;
+    }
+
+    public CacheOptions withExpireAfterWrite(Duration expireAfterWrite) {
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("Expire after write should be positive, got " + expireAfterWrite);
+        }
+
+        CacheOptions options = copy();
+        options.expireAfterWrite = expireAfterWrite;
+
+        return options;
+    }
+
+    /**
+     * @param weigher the weight of a value, such as its approximate size in bytes
+     */
+    public CacheOptions withWeigher(ToLongFunction<Object> weigher) {
+        CacheOptions options = copy();
+        options.weigher = Objects.requireNonNull(weigher);
+
+        return options;
+    }
+
+    private CacheOptions copy() {
+        CacheOptions options = new CacheOptions();
+        options.maximumWeight = maximumWeight;
+        options.expireAfterWrite = expireAfterWrite;
+        options.weigher = weigher;
+
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheOptions that = (CacheOptions) o;
+        return maximumWeight == that.maximumWeight &&
+                Objects.equals(expireAfterWrite, that.expireAfterWrite) &&
+                Objects.equals(weigher, that.weigher);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maximumWeight, expireAfterWrite, weigher);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maximumWeight", maximumWeight)
+                .add("expireAfterWrite", expireAfterWrite)
+                .add("weigher", weigher)
+                .toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+/**
+ * Counters of a cache since its creation.
+ */
+public final class CacheStats {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    public CacheStats(long hits, long misses, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of values removed to make room for others or because they expired
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * @return the share of requests served from the cache, 1 when there was no request yet
+     */
+    public double hitRatio() {
+        return requests() == 0 ? 1.0 : (double) hits / requests();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheStats that = (CacheStats) o;
+        return hits == that.hits &&
+                misses == that.misses &&
+                evictions == that.evictions;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hits, misses, evictions);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("hits", hits)
+                .add("misses", misses)
+                .add("evictions", evictions)
+                .add("hitRatio", hitRatio())
+                .toString();
+    }
+}
@@ -0,0 +1,212 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-process cache bounded by the total weight of its values.
+ * When full, a new value only replaces the least recently used one if its key was requested more often, as estimated by a {@link FrequencySketch},
+ * so a burst of one-off reads does not flush the values which are read all the time.
+ * Every invalidation bumps a version: values loaded before an invalidation are not cached, since they may be stale.
+ * All operations are synchronized, so a cache can be shared between threads.
+ */
+public final class FrequencyCache<K, V> {
+
+    private final long maximumWeight;
+
+    private final long expireAfterWriteNanos;
+
+    private final ToLongFunction<Object> weigher;
+
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final FrequencySketch sketch;
+
+    private long weight;
+
+    private long version;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    public FrequencyCache(CacheOptions options) {
+        this(options, System::nanoTime);
+    }
+
+    FrequencyCache(CacheOptions options, LongSupplier nanoClock) {
+        this.maximumWeight = options.maximumWeight();
+        this.expireAfterWriteNanos = options.expireAfterWrite().map(ttl -> ttl.toNanos()).orElse(Long.MAX_VALUE);
+        this.weigher = options.weigher();
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(maximumWeight);
+    }
+
+    public synchronized Optional<V> get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * Same as {@link #get(Object)}, a cached value being removed rather than returned when it is no longer fresh.
+     */
+    public synchronized Optional<V> get(K key, Predicate<? super V> isFresh) {
+        sketch.increment(key);
+        Entry<V> entry = entries.get(key);
+
+        if (entry != null && (isExpired(entry, nanoClock.getAsLong()) || !isFresh.test(entry.value))) {
+            remove(key);
+            evictions++;
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+
+            return Optional.empty();
+        }
+
+        hits++;
+
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * @return the cached values of the keys, by key, leaving out the missing ones
+     */
+    public synchronized Map<K, V> getAll(Iterable<K> keys) {
+        Map<K, V> values = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            get(key).ifPresent(value -> values.put(key, value));
+        }
+
+        return values;
+    }
+
+    /**
+     * @return the current version, to be read before loading values which are then put in the cache
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Caches a value loaded when the cache was at the given version.
+     *
+     * @return whether the value was cached, which it is not when the cache was invalidated since, when it is heavier than the whole cache,
+     * or when its key is requested less often than the value it would evict
+     */
+    public synchronized boolean put(K key, V value, long loadedAtVersion) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        if (loadedAtVersion != version) {
+            return false;
+        }
+
+        long valueWeight = weigher.applyAsLong(value);
+
+        if (valueWeight < 0) {
+            throw new IllegalArgumentException("Weight should not be negative, got " + valueWeight + " for " + value);
+        }
+
+        remove(key);
+
+        if (valueWeight > maximumWeight) {
+            return false;
+        }
+
+        long now = nanoClock.getAsLong();
+
+        if (weight + valueWeight > maximumWeight && !admit(key, now)) {
+            return false;
+        }
+
+        Iterator<Map.Entry<K, Entry<V>>> leastRecentlyUsed = entries.entrySet().iterator();
+
+        while (weight + valueWeight > maximumWeight) {
+            weight -= leastRecentlyUsed.next().getValue().weight;
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+
+        entries.put(key, new Entry<>(value, valueWeight, now));
+        weight += valueWeight;
+
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        version++;
+        remove(key);
+    }
+
+    public synchronized void invalidateAll(Iterable<K> keys) {
+        version++;
+        keys.forEach(this::remove);
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the total weight of the cached values
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions);
+    }
+
+    /**
+     * A candidate is admitted if the least recently used value has expired, or if it is more popular than this value.
+     */
+    private boolean admit(K candidate, long now) {
+        Map.Entry<K, Entry<V>> victim = entries.entrySet().iterator().next();
+
+        return isExpired(victim.getValue(), now) || sketch.frequency(candidate) > sketch.frequency(victim.getKey());
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.writtenAt >= expireAfterWriteNanos;
+    }
+
+    private void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long weight;
+
+        private final long writtenAt;
+
+        private Entry(V value, long weight, long writtenAt) {
+            this.value = value;
+            this.weight = weight;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
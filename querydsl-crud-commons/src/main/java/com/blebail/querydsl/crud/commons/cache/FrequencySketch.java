@@ -0,0 +1,72 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+/**
+ * Approximate access frequencies of keys, in a count-min sketch of 4 bit counters.
+ * Counters are halved once enough accesses were recorded, so old popularity fades away.
+ */
+final class FrequencySketch {
+
+    private static final int[] SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xcc9e2d51};
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private static final int MIN_COUNTERS = 64;
+
+    private static final int MAX_COUNTERS = 1 << 16;
+
+    private final int[] counters;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(long expectedKeys) {
+        int size = (int) Math.min(MAX_COUNTERS, Math.max(MIN_COUNTERS, expectedKeys));
+        this.counters = new int[Integer.highestOneBit(size - 1) << 1];
+        this.sampleSize = 10 * counters.length;
+    }
+
+    void increment(Object key) {
+        int hash = key.hashCode();
+        boolean incremented = false;
+
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = index(hash, row);
+
+            if (counters[index] < MAX_FREQUENCY) {
+                counters[index]++;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, counters[index(hash, row)]);
+        }
+
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        int spread = hash * SEEDS[row];
+        spread ^= spread >>> 16;
+
+        return spread & (counters.length - 1);
+    }
+
+    private void reset() {
+        for (int index = 0; index < counters.length; index++) {
+            counters[index] >>>= 1;
+        }
+
+        additions /= 2;
+    }
+}
@@ -0,0 +1,98 @@
+package com.blebail.querydsl.crud.commons.metrics;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of the values recorded by a {@link Histogram}, in the unit they were recorded with.
+ */
+public final class Distribution {
+
+    private static final Distribution EMPTY = new Distribution(0, 0.0, 0, 0, 0, 0);
+
+    private final long count;
+
+    private final double mean;
+
+    private final long p50;
+
+    private final long p99;
+
+    private final long p999;
+
+    private final long max;
+
+    public Distribution(long count, double mean, long p50, long p99, long p999, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * @return the distribution of no value, whose statistics are all 0
+     */
+    public static Distribution empty() {
+        return EMPTY;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * @return the median
+     */
+    public long p50() {
+        return p50;
+    }
+
+    public long p99() {
+        return p99;
+    }
+
+    public long p999() {
+        return p999;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Distribution that = (Distribution) o;
+        return count == that.count &&
+                Double.compare(that.mean, mean) == 0 &&
+                p50 == that.p50 &&
+                p99 == that.p99 &&
+                p999 == that.p999 &&
+                max == that.max;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, mean, p50, p99, p999, max);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", count)
+                .add("mean", mean)
+                .add("p50", p50)
+                .add("p99", p99)
+                .add("p999", p999)
+                .add("max", max)
+                .toString();
+    }
+}
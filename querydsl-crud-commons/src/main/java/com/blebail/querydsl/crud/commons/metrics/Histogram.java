@@ -0,0 +1,125 @@
+package com.blebail.querydsl.crud.commons.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free distribution of positive values, such as latencies in nanoseconds or batch sizes.
+ * Values below 32 are counted exactly, larger ones in 16 buckets per power of two, so percentiles are over-estimated by at most 1/16th of their value.
+ * Recording a value neither locks nor allocates, and the buckets take a fixed 8KB whatever the range of the values.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int EXACT_VALUES = 2 * SUB_BUCKETS;
+
+    private static final int FIRST_EXPONENT = Long.numberOfTrailingZeros(EXACT_VALUES);
+
+    private static final int BUCKETS = EXACT_VALUES + (Long.SIZE - 1 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+
+    private final LongAdder sum;
+
+    private final AtomicLong max;
+
+    public Histogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records the value, negative ones being recorded as 0.
+     */
+    public void record(long value) {
+        long recorded = Math.max(value, 0L);
+
+        buckets.incrementAndGet(index(recorded));
+        sum.add(recorded);
+
+        long currentMax = max.get();
+
+        while (recorded > currentMax && !max.compareAndSet(currentMax, recorded)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return the distribution of the values recorded so far, which may miss some of the values recorded concurrently
+     */
+    public Distribution snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+
+        for (int index = 0; index < BUCKETS; index++) {
+            counts[index] = buckets.get(index);
+            count += counts[index];
+        }
+
+        if (count == 0) {
+            return Distribution.empty();
+        }
+
+        long maxValue = max.get();
+
+        return new Distribution(
+                count,
+                (double) sum.sum() / count,
+                percentile(counts, count, 0.5, maxValue),
+                percentile(counts, count, 0.99, maxValue),
+                percentile(counts, count, 0.999, maxValue),
+                maxValue
+        );
+    }
+
+    private static long percentile(long[] counts, long count, double percentile, long maxValue) {
+        long rank = Math.max(1L, (long) Math.ceil(percentile * count));
+        long seen = 0;
+
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += counts[index];
+
+            if (seen >= rank) {
+                return Math.min(highestValue(index), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    static int index(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return EXACT_VALUES + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the highest value counted in the bucket
+     */
+    static long highestValue(int index) {
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+
+        int exponent = FIRST_EXPONENT + (index - EXACT_VALUES) / SUB_BUCKETS;
+        int subBucket = (index - EXACT_VALUES) % SUB_BUCKETS;
+        int width = exponent - SUB_BUCKET_BITS;
+
+        return ((long) (SUB_BUCKETS + subBucket) << width) + (1L << width) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
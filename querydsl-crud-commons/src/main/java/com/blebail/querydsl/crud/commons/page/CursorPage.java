@@ -0,0 +1,70 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.google.common.base.MoreObjects;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A page of items, with the cursor to request the next one.
+ * @param <T> type of paginated items
+ */
+public final class CursorPage<T> {
+
+    private final Collection<T> items;
+
+    private final long size;
+
+    private final String nextCursor;
+
+    public CursorPage(Iterable<T> items, String nextCursor) {
+        this.items = Iterables.asCollection(Objects.requireNonNull(items));
+        this.size = Iterables.size(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public Collection<T> items() {
+        return items;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the cursor to pass to {@link KeysetPageRequest#after(String)}, or empty on the last page
+     */
+    public Optional<String> nextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPage<?> page = (CursorPage<?>) o;
+        return size == page.size &&
+                Objects.equals(items, page.items) &&
+                Objects.equals(nextCursor, page.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, size, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("items", items)
+                .add("size", size)
+                .add("nextCursor", nextCursor)
+                .toString();
+    }
+}
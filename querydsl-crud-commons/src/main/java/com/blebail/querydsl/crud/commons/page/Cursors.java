@@ -0,0 +1,127 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encodes the sort values of a row into an opaque, URL safe cursor, and back.
+ * Each value is written as a type tag followed by its length and its text form, so decoding never instantiates arbitrary classes.
+ */
+public final class Cursors {
+
+    private static final Map<Character, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry('s', value -> value),
+            Map.entry('c', value -> value.charAt(0)),
+            Map.entry('z', Boolean::valueOf),
+            Map.entry('b', Byte::valueOf),
+            Map.entry('h', Short::valueOf),
+            Map.entry('i', Integer::valueOf),
+            Map.entry('l', Long::valueOf),
+            Map.entry('f', Float::valueOf),
+            Map.entry('d', Double::valueOf),
+            Map.entry('I', BigInteger::new),
+            Map.entry('D', BigDecimal::new),
+            Map.entry('T', Timestamp::valueOf),
+            Map.entry('Q', java.sql.Date::valueOf),
+            Map.entry('t', value -> new Time(Long.parseLong(value))),
+            Map.entry('u', value -> new Date(Long.parseLong(value))),
+            Map.entry('L', LocalDate::parse),
+            Map.entry('M', LocalDateTime::parse),
+            Map.entry('N', LocalTime::parse),
+            Map.entry('J', Instant::parse),
+            Map.entry('O', OffsetDateTime::parse),
+            Map.entry('U', UUID::fromString)
+    );
+
+    private Cursors() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if a value is null or of an unsupported type
+     */
+    public static String encode(List<?> values) {
+        StringBuilder cursor = new StringBuilder();
+
+        for (Object value : values) {
+            char tag = tag(value);
+            String text = tag == 't' || tag == 'u' ?
+                    String.valueOf(((Date) value).getTime()) :
+                    String.valueOf(value);
+
+            cursor.append(tag).append(text.length()).append(':').append(text);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(List)}
+     */
+    public static List<Object> decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<Object> values = new ArrayList<>();
+            int position = 0;
+
+            while (position < text.length()) {
+                Function<String, Object> parser = PARSERS.get(text.charAt(position));
+                int separator = text.indexOf(':', position);
+
+                if (parser == null || separator < 0) {
+                    throw new IllegalArgumentException("Malformed cursor " + cursor);
+                }
+
+                int start = separator + 1;
+                int end = start + Integer.parseInt(text.substring(position + 1, separator));
+
+                values.add(parser.apply(text.substring(start, end)));
+                position = end;
+            }
+
+            return values;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor, e);
+        }
+    }
+
+    private static char tag(Object value) {
+        if (value instanceof String) return 's';
+        if (value instanceof Character) return 'c';
+        if (value instanceof Boolean) return 'z';
+        if (value instanceof Byte) return 'b';
+        if (value instanceof Short) return 'h';
+        if (value instanceof Integer) return 'i';
+        if (value instanceof Long) return 'l';
+        if (value instanceof Float) return 'f';
+        if (value instanceof Double) return 'd';
+        if (value instanceof BigInteger) return 'I';
+        if (value instanceof BigDecimal) return 'D';
+        if (value instanceof Timestamp) return 'T';
+        if (value instanceof java.sql.Date) return 'Q';
+        if (value instanceof Time) return 't';
+        if (value instanceof Date) return 'u';
+        if (value instanceof LocalDate) return 'L';
+        if (value instanceof LocalDateTime) return 'M';
+        if (value instanceof LocalTime) return 'N';
+        if (value instanceof Instant) return 'J';
+        if (value instanceof OffsetDateTime) return 'O';
+        if (value instanceof UUID) return 'U';
+
+        throw new IllegalArgumentException("Unsupported cursor value " + value);
+    }
+}
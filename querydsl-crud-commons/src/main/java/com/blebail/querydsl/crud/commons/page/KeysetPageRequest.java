@@ -0,0 +1,93 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The request for a page following a cursor, rather than at an offset.
+ * Page size, sorts to be applied, and the cursor returned with the previous page, if any.
+ */
+public final class KeysetPageRequest {
+
+    private static final int DEFAULT_SIZE = 25;
+
+    private final int size;
+
+    private final Set<Sort> sorts;
+
+    private final String cursor;
+
+    public KeysetPageRequest() {
+        this(DEFAULT_SIZE);
+    }
+
+    public KeysetPageRequest(int size) {
+        this(size, List.of());
+    }
+
+    public KeysetPageRequest(int size, List<Sort> sorts) {
+        this(size, sorts, null);
+    }
+
+    public KeysetPageRequest(int size, List<Sort> sorts, String cursor) {
+        this.size = size > 0 ? size : DEFAULT_SIZE;
+        this.sorts = Objects.requireNonNull(sorts).isEmpty() ? Set.of() : Sort.onePerProperty(sorts);
+        this.cursor = cursor;
+    }
+
+    private KeysetPageRequest(int size, Set<Sort> sorts, String cursor) {
+        this.size = size;
+        this.sorts = sorts;
+        this.cursor = cursor;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Set<Sort> sorts() {
+        return sorts;
+    }
+
+    /**
+     * @return the cursor of the previous page, or empty for the first page
+     */
+    public Optional<String> cursor() {
+        return Optional.ofNullable(cursor);
+    }
+
+    /**
+     * @return the request for the page following the given cursor, with the same size and sorts
+     */
+    public KeysetPageRequest after(String cursor) {
+        return new KeysetPageRequest(size, sorts, Objects.requireNonNull(cursor));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetPageRequest that = (KeysetPageRequest) o;
+        return size == that.size &&
+                Objects.equals(sorts, that.sorts) &&
+                Objects.equals(cursor, that.cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, sorts, cursor);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", size)
+                .add("sorts", sorts)
+                .add("cursor", cursor)
+                .toString();
+    }
+}
@@ -20,11 +20,18 @@ public final class Page<T> {
 
     private final long totalPages;
 
+    private final boolean totalItemsExact;
+
     public Page(Iterable<T> items, long totalItems, long totalPages) {
+        this(items, totalItems, totalPages, true);
+    }
+
+    public Page(Iterable<T> items, long totalItems, long totalPages, boolean totalItemsExact) {
         this.items = Iterables.asCollection(Objects.requireNonNull(items));
         this.size = Iterables.size(items);
         this.totalItems = Math.max(totalItems, 0L);
         this.totalPages = Math.max(totalPages, 1L);
+        this.totalItemsExact = totalItemsExact;
     }
 
     public Collection<T> items() {
@@ -43,6 +50,13 @@ public final class Page<T> {
         return totalPages;
     }
 
+    /**
+     * @return false when totalItems, and therefore totalPages, come from a cached or estimated count
+     */
+    public boolean totalItemsExact() {
+        return totalItemsExact;
+    }
+
     public static int totalPages(long totalItems, long pageSize) {
         return Double.valueOf(Math.ceil((double) totalItems / (double) pageSize)).intValue();
     }
@@ -55,12 +69,13 @@ public final class Page<T> {
         return size == page.size &&
                 totalItems == page.totalItems &&
                 totalPages == page.totalPages &&
+                totalItemsExact == page.totalItemsExact &&
                 Objects.equals(items, page.items);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(items, size, totalItems, totalPages);
+        return Objects.hash(items, size, totalItems, totalPages, totalItemsExact);
     }
 
     @Override
@@ -70,6 +85,7 @@ public final class Page<T> {
                 .add("size", size)
                 .add("totalItems", totalItems)
                 .add("totalPages", totalPages)
+                .add("totalItemsExact", totalItemsExact)
                 .toString();
     }
 }
@@ -2,8 +2,6 @@ package com.blebail.querydsl.crud.commons.page;
 
 import com.google.common.base.MoreObjects;
 
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -42,7 +40,7 @@ public final class PageRequest implements Comparable<PageRequest> {
         this.index = index >= 0 ? index : DEFAULT_INDEX;
         this.size = size >= 0 ? size : DEFAULT_SIZE;
         this.offset = index * size;
-        this.sorts = Objects.requireNonNull(sorts).isEmpty() ? new HashSet<>() : buildSorts(sorts);
+        this.sorts = Objects.requireNonNull(sorts).isEmpty() ? Set.of() : Sort.onePerProperty(sorts);
     }
 
     public int index() {
@@ -93,20 +91,4 @@ public final class PageRequest implements Comparable<PageRequest> {
 
         return Integer.compare(this.index, other.index);
     }
-
-    private Set<Sort> buildSorts(List<Sort> sorts) {
-        Set<String> sortProperties = new HashSet<>();
-        LinkedHashSet<Sort> onlyOneSortForProperty = new LinkedHashSet<>();
-
-        for (Sort sort : sorts) {
-            String sortProperty = sort.property().toLowerCase();
-
-            if (!sortProperties.contains(sortProperty)) {
-                sortProperties.add(sortProperty);
-                onlyOneSortForProperty.add(sort);
-            }
-        }
-
-        return onlyOneSortForProperty;
-    }
 }
@@ -0,0 +1,62 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.google.common.base.MoreObjects;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A page of items which only knows whether a next page exists, rather than the total number of items.
+ * @param <T> type of paginated items
+ */
+public final class Slice<T> {
+
+    private final Collection<T> items;
+
+    private final long size;
+
+    private final boolean hasNext;
+
+    public Slice(Iterable<T> items, boolean hasNext) {
+        this.items = Iterables.asCollection(Objects.requireNonNull(items));
+        this.size = Iterables.size(items);
+        this.hasNext = hasNext;
+    }
+
+    public Collection<T> items() {
+        return items;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Slice<?> slice = (Slice<?>) o;
+        return size == slice.size &&
+                hasNext == slice.hasNext &&
+                Objects.equals(items, slice.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, size, hasNext);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("items", items)
+                .add("size", size)
+                .add("hasNext", hasNext)
+                .toString();
+    }
+}
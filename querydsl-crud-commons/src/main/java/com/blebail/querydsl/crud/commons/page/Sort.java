@@ -2,7 +2,11 @@ package com.blebail.querydsl.crud.commons.page;
 
 import com.google.common.base.MoreObjects;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A direction for a property.
@@ -73,4 +77,32 @@ public final class Sort implements Comparable<Sort> {
 
         return direction.compareTo(other.direction);
     }
+
+    /**
+     * @return the unmodifiable sorts in their original order, keeping only the first one of each property (case insensitive)
+     */
+    static Set<Sort> onePerProperty(List<Sort> sorts) {
+        Set<Sort> onlyOneSortForProperty = new LinkedHashSet<>();
+
+        for (Sort sort : sorts) {
+            if (!hasProperty(onlyOneSortForProperty, sort.property)) {
+                onlyOneSortForProperty.add(sort);
+            }
+        }
+
+        return Collections.unmodifiableSet(onlyOneSortForProperty);
+    }
+
+    /**
+     * Requests only have a handful of sorts, so a linear scan is cheaper than lower casing every property into a set.
+     */
+    private static boolean hasProperty(Set<Sort> sorts, String property) {
+        for (Sort sort : sorts) {
+            if (sort.property.equalsIgnoreCase(property)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -1,53 +1,234 @@
 package com.blebail.querydsl.crud.commons.resource;
 
+import com.blebail.querydsl.crud.commons.page.Cursors;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
 import com.blebail.querydsl.crud.commons.page.Sort;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
 import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.dml.DefaultMapper;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-
-import static java.util.stream.Collectors.toList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class QDSLResource<T extends RelationalPathBase<R>, R> {
 
+    private static final int MAX_CACHED_ORDERS = 256;
+
+    private static final OrderSpecifier[] NO_ORDERS = new OrderSpecifier[0];
+
     protected final T rowPath;
 
+    private final Map<String, Expression<?>> projections;
+
+    private final Map<String, ComparableExpressionBase> sortablePathByColumnNames;
+
+    private final Map<SortsKey, OrderSpecifier[]> ordersBySorts;
+
     public QDSLResource(T rowPath) {
         this.rowPath = Objects.requireNonNull(rowPath);
+        this.projections = new ConcurrentHashMap<>();
+        this.sortablePathByColumnNames = sortablePathByColumnNames(rowPath);
+        this.ordersBySorts = new ConcurrentHashMap<>();
     }
 
     public T rowPath() {
         return rowPath;
     }
 
+    /**
+     * Registers a projection under a name, for the reads which only need some of the columns.
+     */
+    public void addProjection(String name, Expression<?> projection) {
+        projections.put(Objects.requireNonNull(name), Objects.requireNonNull(projection));
+    }
+
+    /**
+     * @throws IllegalArgumentException if no projection was registered under this name
+     */
+    @SuppressWarnings("unchecked")
+    public <P> Expression<P> projection(String name) {
+        Expression<?> projection = projections.get(name);
+
+        if (projection == null) {
+            throw new IllegalArgumentException("No projection named " + name + " for " + rowPath.getTableName());
+        }
+
+        return (Expression<P>) projection;
+    }
+
+    /**
+     * Orders are computed once per combination of sorts, for the first {@value #MAX_CACHED_ORDERS} combinations requested.
+     * @return the orders, shared by the requests with the same sorts, which callers must not modify
+     */
     public OrderSpecifier[] orders(PageRequest pageRequest) {
-        List<OrderSpecifier> orders = computeOrderSpecifiers(pageRequest);
+        if (pageRequest.sorts().isEmpty()) {
+            return NO_ORDERS;
+        }
+
+        SortsKey key = new SortsKey(pageRequest.sorts());
+        OrderSpecifier[] orders = ordersBySorts.get(key);
+
+        if (orders != null) {
+            return orders;
+        }
+
+        orders = computeOrderSpecifiers(pageRequest.sorts());
+
+        if (ordersBySorts.size() < MAX_CACHED_ORDERS) {
+            OrderSpecifier[] cachedOrders = ordersBySorts.putIfAbsent(key, orders);
+
+            return cachedOrders != null ? cachedOrders : orders;
+        }
+
+        return orders;
+    }
+
+    /**
+     * Orders of a keyset page: the requested sorts, then the primary key columns as a tiebreaker.
+     * @throws IllegalArgumentException if a sort is on an unknown or nullable column, since rows with a NULL value could not be seeked past
+     */
+    public OrderSpecifier[] orders(KeysetPageRequest pageRequest) {
+        Map<ComparableExpressionBase, Sort.Direction> keyset = keyset(pageRequest);
+        List<OrderSpecifier> orders = new ArrayList<>(keyset.size());
+
+        keyset.forEach((path, direction) -> orders.add(order(path, direction)));
 
         return orders.toArray(new OrderSpecifier[orders.size()]);
     }
 
-    private List<Path> getSortablePaths() {
-        return rowPath.getColumns()
-                .stream()
-                .filter(path -> path instanceof ComparableExpressionBase)
-                .collect(toList());
+    /**
+     * Predicate selecting the rows after the cursor of a keyset page request, in the order of {@link #orders(KeysetPageRequest)}.
+     * It is expanded as (a > ?) or (a = ? and b > ?) rather than a row value comparison, so columns can be sorted in different directions.
+     * @return the predicate, or null when requesting the first page
+     * @throws IllegalArgumentException if the cursor was not issued for the same sorts, or a sort is on an unknown or nullable column
+     */
+    public Predicate seek(KeysetPageRequest pageRequest) {
+        if (pageRequest.cursor().isEmpty()) {
+            return null;
+        }
+
+        Map<ComparableExpressionBase, Sort.Direction> keyset = keyset(pageRequest);
+        List<Object> values = Cursors.decode(pageRequest.cursor().get());
+
+        if (values.size() != keyset.size() + 1 || !signature(keyset).equals(values.get(0))) {
+            throw new IllegalArgumentException("Cursor " + pageRequest.cursor().get() + " does not match the requested sorts " + pageRequest.sorts());
+        }
+
+        List<Predicate> equalities = new ArrayList<>(keyset.size());
+        List<Predicate> alternatives = new ArrayList<>(keyset.size());
+        int index = 1;
+
+        for (Map.Entry<ComparableExpressionBase, Sort.Direction> column : keyset.entrySet()) {
+            Object value = values.get(index++);
+            Ops comparison = column.getValue() == Sort.Direction.DESC ? Ops.LT : Ops.GT;
+
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(Expressions.predicate(comparison, column.getKey(), Expressions.constant(value)));
+            alternatives.add(ExpressionUtils.allOf(alternative));
+
+            equalities.add(Expressions.predicate(Ops.EQ, column.getKey(), Expressions.constant(value)));
+        }
+
+        return ExpressionUtils.anyOf(alternatives);
+    }
+
+    /**
+     * @return the cursor of the page ending with the given row
+     */
+    public String cursor(KeysetPageRequest pageRequest, R lastRow) {
+        Map<ComparableExpressionBase, Sort.Direction> keyset = keyset(pageRequest);
+        Map<Path<?>, Object> rowValues = DefaultMapper.DEFAULT.createMap(rowPath, Objects.requireNonNull(lastRow));
+        List<Object> values = new ArrayList<>(keyset.size() + 1);
+        values.add(signature(keyset));
+
+        for (ComparableExpressionBase path : keyset.keySet()) {
+            Object value = rowValues.get(path);
+
+            if (value == null) {
+                throw new IllegalStateException("No value for keyset column " + path + " in " + lastRow);
+            }
+
+            values.add(value);
+        }
+
+        return Cursors.encode(values);
+    }
+
+    private Map<ComparableExpressionBase, Sort.Direction> keyset(KeysetPageRequest pageRequest) {
+        Map<ComparableExpressionBase, Sort.Direction> keyset = new LinkedHashMap<>();
+
+        for (Sort sort : pageRequest.sorts()) {
+            ComparableExpressionBase path = sortablePathByColumnNames.get(sort.property().toLowerCase());
+
+            if (path == null) {
+                throw new IllegalArgumentException("Keyset pagination cannot sort on " + sort.property() + ", which is not a sortable column of " + rowPath.getTableName());
+            }
+
+            if (!isNotNull((Path<?>) path)) {
+                throw new IllegalArgumentException("Keyset pagination cannot sort on " + sort.property() + ", which is a nullable column of " + rowPath.getTableName());
+            }
+
+            keyset.put(path, sort.direction());
+        }
+
+        PrimaryKey<R> primaryKey = rowPath.getPrimaryKey();
+
+        if (primaryKey == null) {
+            throw new IllegalStateException("Keyset pagination requires a primary key on " + rowPath.getTableName());
+        }
+
+        for (Path<?> column : primaryKey.getLocalColumns()) {
+            if (!(column instanceof ComparableExpressionBase)) {
+                throw new IllegalStateException("Keyset pagination requires comparable primary key columns, got " + column);
+            }
+
+            keyset.putIfAbsent((ComparableExpressionBase) column, Sort.Direction.ASC);
+        }
+
+        return keyset;
+    }
+
+    private boolean isNotNull(Path<?> path) {
+        ColumnMetadata metadata = rowPath.getMetadata(path);
+
+        return metadata != null && !metadata.isNullable();
+    }
+
+    private String signature(Map<ComparableExpressionBase, Sort.Direction> keyset) {
+        StringBuilder signature = new StringBuilder();
+
+        keyset.forEach((path, direction) -> signature.append(((Path<?>) path).getMetadata().getName()).append(' ').append(direction).append(','));
+
+        return signature.toString();
     }
 
-    private Map<String, ComparableExpressionBase> getSortablePathByColumnNames() {
+    private static Map<String, ComparableExpressionBase> sortablePathByColumnNames(RelationalPathBase<?> rowPath) {
         Map<String, ComparableExpressionBase> sortablePathByColumnNames = new HashMap<>();
 
-        for (Path sortablePath : getSortablePaths()) {
-            sortablePathByColumnNames.put(sortablePath.getMetadata().getName().toLowerCase(), (ComparableExpressionBase) sortablePath);
+        for (Path<?> column : rowPath.getColumns()) {
+            if (column instanceof ComparableExpressionBase) {
+                sortablePathByColumnNames.put(column.getMetadata().getName().toLowerCase(), (ComparableExpressionBase) column);
+            }
         }
 
-        return sortablePathByColumnNames;
+        return Map.copyOf(sortablePathByColumnNames);
     }
 
     private OrderSpecifier order(ComparableExpressionBase base, Sort.Direction direction) {
@@ -56,19 +237,65 @@ public class QDSLResource<T extends RelationalPathBase<R>, R> {
                 base.asc();
     }
 
-    private List<OrderSpecifier> computeOrderSpecifiers(PageRequest pageRequest) {
-        List<OrderSpecifier> orders = new ArrayList<>();
+    private OrderSpecifier[] computeOrderSpecifiers(Set<Sort> sorts) {
+        List<OrderSpecifier> orders = new ArrayList<>(sorts.size());
 
-        Map<String, ComparableExpressionBase> sortablePathByColumnNames = getSortablePathByColumnNames();
+        for (Sort sort : sorts) {
+            ComparableExpressionBase sortablePath = sortablePathByColumnNames.get(sort.property().toLowerCase());
 
-        for (Sort sort : pageRequest.sorts()) {
-            String sortColumnName = sort.property().toLowerCase();
+            if (sortablePath != null) {
+                orders.add(order(sortablePath, sort.direction()));
+            }
+        }
+
+        return orders.toArray(new OrderSpecifier[orders.size()]);
+    }
+
+    /**
+     * Unmodifiable sorts of a request, equal to the same sorts in the same order only, as the order of the sorts is the order of the columns.
+     */
+    private static final class SortsKey {
+
+        private final Set<Sort> sorts;
+
+        private final int hashCode;
+
+        private SortsKey(Set<Sort> sorts) {
+            this.sorts = sorts;
+
+            int orderedHashCode = 1;
 
-            if (sortablePathByColumnNames.containsKey(sortColumnName)) {
-                orders.add(order(sortablePathByColumnNames.get(sortColumnName), sort.direction()));
+            for (Sort sort : sorts) {
+                orderedHashCode = 31 * orderedHashCode + sort.hashCode();
             }
+
+            this.hashCode = orderedHashCode;
         }
 
-        return orders;
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SortsKey that = (SortsKey) o;
+
+            if (hashCode != that.hashCode || sorts.size() != that.sorts.size()) {
+                return false;
+            }
+
+            Iterator<Sort> otherSorts = that.sorts.iterator();
+
+            for (Sort sort : sorts) {
+                if (!sort.equals(otherSorts.next())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
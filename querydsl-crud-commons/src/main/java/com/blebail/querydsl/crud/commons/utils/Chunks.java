@@ -0,0 +1,62 @@
+package com.blebail.querydsl.crud.commons.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits collections into chunks padded to a few bucket sizes (powers of two, capped by the maximum chunk size),
+ * so that statements built from them, such as IN lists, only ever have a handful of distinct shapes.
+ */
+public final class Chunks {
+
+    public static <T> List<List<T>> split(Collection<T> items, int maxChunkSize) {
+        if (maxChunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive, got " + maxChunkSize);
+        }
+
+        List<T> itemsAsList = items instanceof List ? (List<T>) items : new ArrayList<>(items);
+        List<List<T>> chunks = new ArrayList<>((itemsAsList.size() + maxChunkSize - 1) / maxChunkSize);
+
+        for (int from = 0; from < itemsAsList.size(); from += maxChunkSize) {
+            chunks.add(itemsAsList.subList(from, Math.min(from + maxChunkSize, itemsAsList.size())));
+        }
+
+        return chunks;
+    }
+
+    /**
+     * @return the smallest power of two greater than or equal to size, capped by maxChunkSize
+     */
+    public static int bucketSize(int size, int maxChunkSize) {
+        if (size <= 1) {
+            return size;
+        }
+
+        int bucketSize = Integer.highestOneBit(size - 1) << 1;
+
+        return Math.min(bucketSize, Math.max(size, maxChunkSize));
+    }
+
+    /**
+     * Pads a non empty chunk up to its bucket size by repeating its last item.
+     */
+    public static <T> List<T> padded(List<T> chunk, int maxChunkSize) {
+        int bucketSize = bucketSize(chunk.size(), maxChunkSize);
+
+        if (bucketSize == chunk.size()) {
+            return chunk;
+        }
+
+        List<T> paddedChunk = new ArrayList<>(bucketSize);
+        paddedChunk.addAll(chunk);
+
+        T last = chunk.get(chunk.size() - 1);
+
+        while (paddedChunk.size() < bucketSize) {
+            paddedChunk.add(last);
+        }
+
+        return paddedChunk;
+    }
+}
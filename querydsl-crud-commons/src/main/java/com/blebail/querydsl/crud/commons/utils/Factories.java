@@ -10,7 +10,10 @@ import javax.sql.DataSource;
 public final class Factories {
 
     public static SQLQueryFactory defaultQueryFactory(DataSource dataSource) {
-        SQLTemplates templates = SQLTemplates.DEFAULT;
+        return queryFactory(dataSource, SQLTemplates.DEFAULT);
+    }
+
+    public static SQLQueryFactory queryFactory(DataSource dataSource, SQLTemplates templates) {
         Configuration configuration = new Configuration(templates);
         configuration.register(new JSR310InstantType());
 
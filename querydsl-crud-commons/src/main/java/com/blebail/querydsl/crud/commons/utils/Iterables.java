@@ -1,7 +1,11 @@
 package com.blebail.querydsl.crud.commons.utils;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -26,6 +30,47 @@ public final class Iterables {
         return count;
     }
 
+    /**
+     * @return a read-only view of the concatenation of the collections without copying them, or the collection itself if there is only one
+     */
+    public static <T> Collection<T> concat(List<? extends Collection<T>> collections) {
+        if (collections.size() == 1) {
+            return collections.get(0);
+        }
+
+        return new AbstractCollection<>() {
+
+            @Override
+            public Iterator<T> iterator() {
+                return collections.stream()
+                        .flatMap(Collection::stream)
+                        .iterator();
+            }
+
+            @Override
+            public int size() {
+                return collections.stream()
+                        .mapToInt(Collection::size)
+                        .sum();
+            }
+        };
+    }
+
+    /**
+     * @return the distinct non null elements, in their original order
+     */
+    public static <T> Collection<T> distinct(Iterable<T> iterable) {
+        Set<T> distinctElements = new LinkedHashSet<>();
+
+        for (T element : iterable) {
+            if (element != null) {
+                distinctElements.add(element);
+            }
+        }
+
+        return distinctElements;
+    }
+
     public static <T> Collection<T> asCollection(Iterable<T> iterable) {
         if (iterable instanceof Collection) {
             return (Collection<T>) iterable;
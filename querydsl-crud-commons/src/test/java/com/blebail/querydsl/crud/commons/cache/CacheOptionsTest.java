@@ -0,0 +1,38 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CacheOptionsTest {
+
+    @Test
+    public void shouldHaveDefaultBounds() {
+        CacheOptions options = CacheOptions.defaults();
+
+        assertThat(options.maximumWeight()).isEqualTo(10_000);
+        assertThat(options.expireAfterWrite()).isEmpty();
+        assertThat(options.weigher().applyAsLong("value")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotModifyTheDefaults() {
+        CacheOptions.defaults().withMaximumWeight(5).withExpireAfterWrite(Duration.ofMinutes(1));
+
+        assertThat(CacheOptions.defaults().maximumWeight()).isEqualTo(10_000);
+        assertThat(CacheOptions.defaults().expireAfterWrite()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowException_whenMaximumWeightIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> CacheOptions.defaults().withMaximumWeight(0));
+    }
+
+    @Test
+    public void shouldThrowException_whenExpireAfterWriteIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> CacheOptions.defaults().withExpireAfterWrite(Duration.ZERO));
+    }
+}
@@ -0,0 +1,147 @@
+package com.blebail.querydsl.crud.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class FrequencyCacheTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    public void shouldReturnCachedValues() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+
+        tested.put("a", "value", tested.version());
+
+        assertThat(tested.get("a")).contains("value");
+        assertThat(tested.get("b")).isEmpty();
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+        tested.put("a", "value", tested.version());
+
+        tested.get("a");
+        tested.get("a");
+        tested.get("a");
+        tested.get("b");
+
+        assertThat(tested.stats()).isEqualTo(new CacheStats(3, 1, 0));
+        assertThat(tested.stats().hitRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    public void shouldReturnOnlyTheCachedValues_whenGettingSeveralKeys() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+        tested.put("a", "valueA", tested.version());
+        tested.put("c", "valueC", tested.version());
+
+        assertThat(tested.getAll(List.of("a", "b", "c"))).isEqualTo(Map.of("a", "valueA", "c", "valueC"));
+    }
+
+    @Test
+    public void shouldNotCacheAValue_whenInvalidatedWhileItWasLoaded() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+        long version = tested.version();
+
+        tested.invalidate("a");
+
+        assertThat(tested.put("a", "stale", version)).isFalse();
+        assertThat(tested.get("a")).isEmpty();
+    }
+
+    @Test
+    public void shouldForgetInvalidatedValues() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+        tested.put("a", "valueA", tested.version());
+        tested.put("b", "valueB", tested.version());
+        tested.put("c", "valueC", tested.version());
+
+        tested.invalidate("a");
+        assertThat(tested.get("a")).isEmpty();
+
+        tested.invalidateAll();
+        assertThat(tested.get("b")).isEmpty();
+        assertThat(tested.get("c")).isEmpty();
+        assertThat(tested.weight()).isZero();
+    }
+
+    @Test
+    public void shouldRemoveAValue_whenItIsNoLongerFresh() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults());
+        tested.put("a", "stale", tested.version());
+
+        assertThat(tested.get("a", value -> !value.equals("stale"))).isEmpty();
+        assertThat(tested.get("a")).isEmpty();
+        assertThat(tested.weight()).isZero();
+    }
+
+    @Test
+    public void shouldExpireValues_afterTheirTimeToLive() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults().withExpireAfterWrite(Duration.ofSeconds(10)), nanoClock::get);
+        tested.put("a", "value", tested.version());
+
+        nanoClock.set(Duration.ofSeconds(9).toNanos());
+        assertThat(tested.get("a")).contains("value");
+
+        nanoClock.set(Duration.ofSeconds(10).toNanos());
+        assertThat(tested.get("a")).isEmpty();
+        assertThat(tested.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedValue_whenAMorePopularKeyIsPut() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults().withMaximumWeight(2));
+        tested.put("a", "valueA", tested.version());
+        tested.put("b", "valueB", tested.version());
+        tested.get("a");
+
+        tested.get("c");
+        tested.get("c");
+
+        assertThat(tested.put("c", "valueC", tested.version())).isTrue();
+        assertThat(tested.get("b")).isEmpty();
+        assertThat(tested.get("a")).contains("valueA");
+        assertThat(tested.get("c")).contains("valueC");
+        assertThat(tested.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectAValue_whenItsKeyIsLessPopularThanTheValueItWouldEvict() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults().withMaximumWeight(1));
+        tested.put("a", "valueA", tested.version());
+        tested.get("a");
+        tested.get("a");
+
+        tested.get("b");
+
+        assertThat(tested.put("b", "valueB", tested.version())).isFalse();
+        assertThat(tested.get("a")).contains("valueA");
+    }
+
+    @Test
+    public void shouldBoundTheTotalWeight() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults()
+                .withMaximumWeight(10)
+                .withWeigher(value -> ((String) value).length()));
+
+        assertThat(tested.put("a", "12345678901", tested.version())).isFalse();
+        assertThat(tested.put("b", "123456", tested.version())).isTrue();
+        assertThat(tested.weight()).isEqualTo(6);
+    }
+
+    @Test
+    public void shouldThrowException_whenAWeightIsNegative() {
+        FrequencyCache<String, String> tested = new FrequencyCache<>(CacheOptions.defaults().withWeigher(value -> -1));
+
+        assertThrows(IllegalArgumentException.class, () -> tested.put("a", "value", tested.version()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.blebail.querydsl.crud.commons.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class HistogramTest {
+
+    @Test
+    public void shouldBeEmpty_whenNothingWasRecorded() {
+        assertThat(new Histogram().snapshot()).isEqualTo(Distribution.empty());
+    }
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        Histogram histogram = new Histogram();
+
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        Distribution distribution = histogram.snapshot();
+
+        assertThat(distribution.count()).isEqualTo(10);
+        assertThat(distribution.mean()).isEqualTo(5.5);
+        assertThat(distribution.p50()).isEqualTo(5);
+        assertThat(distribution.p99()).isEqualTo(10);
+        assertThat(distribution.max()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldEstimatePercentilesWithinASixteenthOfTheirValue() {
+        Histogram histogram = new Histogram();
+
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        Distribution distribution = histogram.snapshot();
+
+        assertThat(distribution.p50()).isBetween(50_000_000L, 50_000_000L + 50_000_000L / 16);
+        assertThat(distribution.p99()).isBetween(99_000_000L, 99_000_000L + 99_000_000L / 16);
+        assertThat(distribution.p999()).isBetween(99_900_000L, 100_000_000L);
+        assertThat(distribution.max()).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    public void shouldNeverEstimatePercentilesAboveTheMax() {
+        Histogram histogram = new Histogram();
+        histogram.record(1_000_001);
+
+        assertThat(histogram.snapshot().p999()).isEqualTo(1_000_001);
+    }
+
+    @Test
+    public void shouldRecordNegativeValuesAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+
+        assertThat(histogram.snapshot().max()).isZero();
+        assertThat(histogram.snapshot().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCoverTheWholeRangeOfLongs() {
+        Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(Histogram.highestValue(Histogram.index(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.snapshot().p50()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldMapEachValueToTheBucketWhoseHighestValueIsAboveIt() {
+        for (long value = 0; value < 100_000; value += 7) {
+            int index = Histogram.index(value);
+
+            assertThat(Histogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+            assertThat(index == 0 || Histogram.highestValue(index - 1) < value).isTrue();
+        }
+    }
+}
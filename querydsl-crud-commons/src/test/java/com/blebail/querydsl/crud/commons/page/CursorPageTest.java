@@ -0,0 +1,33 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CursorPageTest {
+
+    @Test
+    public void shouldThrowAnException_whenItemsIsNull() {
+        assertThrows(Exception.class, () -> new CursorPage<>(null, null));
+    }
+
+    @Test
+    public void shouldHaveANext_whenItHasANextCursor() {
+        CursorPage<String> page = new CursorPage<>(List.of("John", "Jane"), "cursor");
+
+        assertThat(page.size()).isEqualTo(2);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).contains("cursor");
+    }
+
+    @Test
+    public void shouldBeTheLastPage_whenItHasNoNextCursor() {
+        CursorPage<String> page = new CursorPage<>(List.of("John"), null);
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isEmpty();
+    }
+}
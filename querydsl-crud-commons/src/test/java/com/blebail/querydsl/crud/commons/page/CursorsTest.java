@@ -0,0 +1,59 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CursorsTest {
+
+    @Test
+    public void shouldDecodeTheEncodedValues() {
+        List<Object> values = Arrays.asList(
+                "id ASC,",
+                "a:b:c",
+                42,
+                42L,
+                3.5d,
+                new BigDecimal("12.340"),
+                true,
+                Timestamp.valueOf("2020-01-02 03:04:05.123456789"),
+                LocalDate.of(2020, 1, 2),
+                LocalDateTime.of(2020, 1, 2, 3, 4, 5),
+                UUID.fromString("123e4567-e89b-12d3-a456-426614174000")
+        );
+
+        assertThat(Cursors.decode(Cursors.encode(values))).isEqualTo(values);
+    }
+
+    @Test
+    public void shouldEncodeAnUrlSafeCursor() {
+        String cursor = Cursors.encode(List.of("?&/+= é"));
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    public void shouldThrowAnException_whenEncodingNull() {
+        assertThrows(IllegalArgumentException.class, () -> Cursors.encode(Arrays.asList("id", null)));
+    }
+
+    @Test
+    public void shouldThrowAnException_whenEncodingAnUnsupportedType() {
+        assertThrows(IllegalArgumentException.class, () -> Cursors.encode(List.of(new Object())));
+    }
+
+    @Test
+    public void shouldThrowAnException_whenDecodingAMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> Cursors.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Cursors.decode(Cursors.encode(List.of("value")).substring(2)));
+    }
+}
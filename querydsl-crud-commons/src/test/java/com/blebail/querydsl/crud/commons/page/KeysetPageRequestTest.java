@@ -0,0 +1,44 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class KeysetPageRequestTest {
+
+    @Test
+    public void shouldHaveADefaultSizeOf25() {
+        assertThat(new KeysetPageRequest().size()).isEqualTo(25);
+        assertThat(new KeysetPageRequest(0).size()).isEqualTo(25);
+    }
+
+    @Test
+    public void shouldNotHaveACursor_whenRequestingTheFirstPage() {
+        assertThat(new KeysetPageRequest(10).cursor()).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepOnlyTheFirstSortOfAProperty() {
+        List<Sort> sorts = List.of(new Sort("name"), new Sort("NAME", Sort.Direction.DESC), new Sort("id"));
+
+        assertThat(new KeysetPageRequest(10, sorts).sorts()).containsExactly(new Sort("name"), new Sort("id"));
+    }
+
+    @Test
+    public void shouldKeepSizeAndSorts_whenRequestingThePageAfterACursor() {
+        KeysetPageRequest pageRequest = new KeysetPageRequest(10, List.of(new Sort("name")));
+
+        KeysetPageRequest nextPageRequest = pageRequest.after("cursor");
+
+        assertThat(nextPageRequest).isEqualTo(new KeysetPageRequest(10, List.of(new Sort("name")), "cursor"));
+        assertThat(nextPageRequest.cursor()).contains("cursor");
+    }
+
+    @Test
+    public void shouldThrowAnException_whenRequestingThePageAfterANullCursor() {
+        assertThrows(NullPointerException.class, () -> new KeysetPageRequest().after(null));
+    }
+}
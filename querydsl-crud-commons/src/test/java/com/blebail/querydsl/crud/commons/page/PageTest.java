@@ -36,6 +36,12 @@ public final class PageTest {
         assertThat(new Page<>(new ArrayList<>(), 10, 15).totalPages()).isEqualTo(15);
     }
 
+    @Test
+    public void shouldHaveExactTotalItemsByDefault() {
+        assertThat(new Page<>(new ArrayList<>(), 10, 1).totalItemsExact()).isTrue();
+        assertThat(new Page<>(new ArrayList<>(), 10, 1, false).totalItemsExact()).isFalse();
+    }
+
     @Test
     public void shouldComputeNbItems() {
         List<String> items = Arrays.asList("John", "Jane");
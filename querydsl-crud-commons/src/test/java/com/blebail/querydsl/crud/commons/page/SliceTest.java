@@ -0,0 +1,27 @@
+package com.blebail.querydsl.crud.commons.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SliceTest {
+
+    @Test
+    public void shouldThrowAnException_whenItemsIsNull() {
+        assertThrows(Exception.class, () -> new Slice<>(null, false));
+    }
+
+    @Test
+    public void shouldComputeNbItems() {
+        assertThat(new Slice<>(List.of("John", "Jane"), true).size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldBeEqual_whenSameItemsAndSameHasNext() {
+        assertThat(new Slice<>(List.of("John"), true)).isEqualTo(new Slice<>(List.of("John"), true));
+        assertThat(new Slice<>(List.of("John"), true)).isNotEqualTo(new Slice<>(List.of("John"), false));
+    }
+}
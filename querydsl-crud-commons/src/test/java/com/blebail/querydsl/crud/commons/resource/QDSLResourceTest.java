@@ -0,0 +1,120 @@
+package com.blebail.querydsl.crud.commons.resource;
+
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.RelationalPathBase;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public final class QDSLResourceTest {
+
+    private static final class QPerson extends RelationalPathBase<Object> {
+
+        private final NumberPath<Long> id = createNumber("id", Long.class);
+
+        private final StringPath name = createString("name");
+
+        private final StringPath nickname = createString("nickname");
+
+        private QPerson() {
+            super(Object.class, "person", null, "person");
+            addMetadata(id, ColumnMetadata.named("id").ofType(Types.BIGINT).notNull());
+            addMetadata(name, ColumnMetadata.named("name").ofType(Types.VARCHAR).notNull());
+            addMetadata(nickname, ColumnMetadata.named("nickname").ofType(Types.VARCHAR));
+            createPrimaryKey(id);
+        }
+    }
+
+    private final QPerson person = new QPerson();
+
+    private final QDSLResource<QPerson, Object> tested = new QDSLResource<>(person);
+
+    @Test
+    public void shouldHaveNoOrders_whenNoSorts() {
+        assertThat(tested.orders(new PageRequest())).isEmpty();
+    }
+
+    @Test
+    public void shouldOrderByRequestedSorts() {
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("name", Sort.Direction.DESC), new Sort("id")));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.name.desc(), person.id.asc());
+    }
+
+    @Test
+    public void shouldMatchColumnsIgnoringCase() {
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("NaMe")));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.name.asc());
+    }
+
+    @Test
+    public void shouldIgnoreUnknownProperties() {
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("unknown"), new Sort("id")));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.id.asc());
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfSorts_whenTheSamePropertiesWereRequestedInAnotherOrder() {
+        tested.orders(new PageRequest(0, 10, List.of(new Sort("name"), new Sort("id"))));
+
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("id"), new Sort("name")));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.id.asc(), person.name.asc());
+    }
+
+    @Test
+    public void shouldShareTheOrders_betweenRequestsWithTheSameSorts() {
+        OrderSpecifier[] orders = tested.orders(new PageRequest(0, 10, List.of(new Sort("name"), new Sort("id"))));
+
+        assertThat(tested.orders(new PageRequest(1, 20, List.of(new Sort("name"), new Sort("id"))))).isSameAs(orders);
+        assertThat(tested.orders(new PageRequest(0, 10, List.of(new Sort("id"), new Sort("name"))))).isNotSameAs(orders);
+    }
+
+    @Test
+    public void shouldStillComputeTheOrders_onceTheCacheIsFull() {
+        for (int index = 0; index < 300; index++) {
+            tested.orders(new PageRequest(0, 10, List.of(new Sort("unknown" + index))));
+        }
+
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("name")));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.name.asc());
+    }
+
+    @Test
+    public void shouldAppendThePrimaryKey_toTheKeysetSorts() {
+        KeysetPageRequest pageRequest = new KeysetPageRequest(10, List.of(new Sort("name", Sort.Direction.DESC)));
+
+        assertThat(tested.orders(pageRequest)).containsExactly(person.name.desc(), person.id.asc());
+    }
+
+    @Test
+    public void shouldRejectKeysetSorts_onNullableColumns() {
+        KeysetPageRequest pageRequest = new KeysetPageRequest(10, List.of(new Sort("nickname")));
+
+        assertThatThrownBy(() -> tested.orders(pageRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("nickname");
+    }
+
+    @Test
+    public void shouldRejectKeysetSorts_onUnknownColumns() {
+        KeysetPageRequest pageRequest = new KeysetPageRequest(10, List.of(new Sort("unknown")));
+
+        assertThatThrownBy(() -> tested.orders(pageRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown");
+    }
+}
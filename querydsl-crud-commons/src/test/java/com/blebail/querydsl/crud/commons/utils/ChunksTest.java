@@ -0,0 +1,46 @@
+package com.blebail.querydsl.crud.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ChunksTest {
+
+    @Test
+    public void shouldThrowException_whenChunkSizeIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> Chunks.split(List.of(1, 2), 0));
+    }
+
+    @Test
+    public void shouldSplitItemsInChunksOfMaxSize() {
+        assertThat(Chunks.split(List.of(1, 2, 3, 4, 5), 2)).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    public void shouldReturnNoChunk_whenThereAreNoItems() {
+        assertThat(Chunks.split(List.of(), 2)).isEmpty();
+    }
+
+    @Test
+    public void shouldRoundSizesUpToPowersOfTwo() {
+        assertThat(Chunks.bucketSize(1, 1000)).isEqualTo(1);
+        assertThat(Chunks.bucketSize(3, 1000)).isEqualTo(4);
+        assertThat(Chunks.bucketSize(4, 1000)).isEqualTo(4);
+        assertThat(Chunks.bucketSize(129, 1000)).isEqualTo(256);
+    }
+
+    @Test
+    public void shouldCapBucketSizesToMaxChunkSize() {
+        assertThat(Chunks.bucketSize(600, 1000)).isEqualTo(1000);
+        assertThat(Chunks.bucketSize(1000, 1000)).isEqualTo(1000);
+    }
+
+    @Test
+    public void shouldPadChunksByRepeatingTheirLastItem() {
+        assertThat(Chunks.padded(List.of(1, 2, 3), 1000)).containsExactly(1, 2, 3, 3);
+        assertThat(Chunks.padded(List.of(1, 2), 1000)).containsExactly(1, 2);
+    }
+}
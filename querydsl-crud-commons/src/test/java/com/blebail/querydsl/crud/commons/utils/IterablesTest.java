@@ -0,0 +1,32 @@
+package com.blebail.querydsl.crud.commons.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class IterablesTest {
+
+    @Test
+    public void shouldConcatCollectionsInOrder() {
+        Collection<Integer> concatenation = Iterables.concat(List.of(List.of(1, 2), List.of(), List.of(3)));
+
+        assertThat(concatenation).containsExactly(1, 2, 3);
+        assertThat(concatenation).hasSize(3);
+    }
+
+    @Test
+    public void shouldReturnTheCollectionItself_whenConcatenatingASingleCollection() {
+        List<Integer> collection = List.of(1, 2);
+
+        assertThat(Iterables.concat(List.of(collection))).isSameAs(collection);
+    }
+
+    @Test
+    public void shouldKeepTheDistinctNonNullElementsInOrder() {
+        assertThat(Iterables.distinct(Arrays.asList(3, null, 1, 3, 2, 1))).containsExactly(3, 1, 2);
+    }
+}
@@ -1,11 +1,17 @@
 package com.blebail.querydsl.crud.sync.repository;
 
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Predicate;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @param <R> row type
@@ -14,16 +20,77 @@ public interface BaseRepository<R> {
 
     Optional<R> findOne(Predicate predicate);
 
+    /**
+     * Same as {@link #findOne(Predicate)}, reading only the columns of the projection.
+     */
+    <P> Optional<P> findOne(Predicate predicate, Expression<P> projection);
+
     Collection<R> find(Predicate predicate);
 
+    /**
+     * Same as {@link #find(Predicate)}, reading only the columns of the projection.
+     */
+    <P> Collection<P> find(Predicate predicate, Expression<P> projection);
+
     Page<R> find(PageRequest pageRequest);
 
     Page<R> find(Predicate predicate, PageRequest pageRequest);
 
+    /**
+     * Same as {@link #find(Predicate, PageRequest)}, reading only the columns of the projection.
+     */
+    <P> Page<P> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection);
+
+    Slice<R> findSlice(PageRequest pageRequest);
+
+    Slice<R> findSlice(Predicate predicate, PageRequest pageRequest);
+
+    /**
+     * Same as {@link #findSlice(Predicate, PageRequest)}, reading only the columns of the projection.
+     */
+    <P> Slice<P> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection);
+
+    CursorPage<R> find(KeysetPageRequest pageRequest);
+
+    CursorPage<R> find(Predicate predicate, KeysetPageRequest pageRequest);
+
     Collection<R> findAll();
 
+    /**
+     * Reads the matching resources lazily, holding a connection until the stream is closed.
+     * @param predicate the resources to read, or null to read them all
+     */
+    Stream<R> stream(Predicate predicate);
+
+    /**
+     * Same as {@link #stream(Predicate)}, reading only the columns of the projection.
+     */
+    <P> Stream<P> stream(Predicate predicate, Expression<P> projection);
+
+    /**
+     * Reads all resources lazily, holding a connection until the stream is closed.
+     */
+    Stream<R> streamAll();
+
+    /**
+     * Reads the matching resources lazily, holding a connection until the iterator is closed.
+     * @param predicate the resources to read, or null to read them all
+     */
+    CloseableIterator<R> iterate(Predicate predicate);
+
+    /**
+     * Same as {@link #iterate(Predicate)}, reading only the columns of the projection.
+     */
+    <P> CloseableIterator<P> iterate(Predicate predicate, Expression<P> projection);
+
     long count(Predicate predicate);
 
+    /**
+     * Checks whether at least one resource matches, stopping at the first one rather than counting them all.
+     * @param predicate the resources to look for, or null to check whether there is any resource
+     */
+    boolean exists(Predicate predicate);
+
     long count();
 
     boolean delete(Predicate predicate);
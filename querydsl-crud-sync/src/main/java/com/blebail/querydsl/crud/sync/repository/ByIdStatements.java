@@ -0,0 +1,322 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLListenerContextImpl;
+import com.querydsl.sql.SQLListeners;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLSerializer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Statements on a single resource by id, serialized once per resource then executed with only their parameters bound.
+ * They notify the listeners of the configuration like QueryDSL's own statements do, so connections are released the same way,
+ * and run within the {@link StatementControl} of their call.
+ */
+final class ByIdStatements<T extends RelationalPathBase<R>, R, ID> {
+
+    private final T rowPath;
+
+    private final SQLQueryFactory queryFactory;
+
+    private final Configuration configuration;
+
+    private final SQLListeners listeners;
+
+    private final SimpleExpression<ID> idPath;
+
+    private final Param<ID> id;
+
+    private final FactoryExpression<R> projection;
+
+    private final Template findOne;
+
+    private final Template exists;
+
+    private final Template delete;
+
+    private final Map<Set<Path<?>>, Template> updatesByColumns;
+
+    private final StatementCache statementCache;
+
+    /**
+     * @param statementCache the cache of prepared statements, or null to prepare them on every call
+     */
+    ByIdStatements(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory, StatementCache statementCache) {
+        this.rowPath = qdslResource.rowPath();
+        this.queryFactory = Objects.requireNonNull(queryFactory);
+        this.configuration = queryFactory.getConfiguration();
+        this.listeners = StatementControl.controlledListeners(configuration);
+        this.idPath = qdslResource.idPath();
+        this.id = new Param<>(idPath.getType(), "id");
+        this.projection = rowPath.getProjection();
+        this.updatesByColumns = new ConcurrentHashMap<>();
+        this.statementCache = statementCache;
+
+        QueryMetadata findOneMetadata = queryFactory.select(projection)
+                .from(rowPath)
+                .where(idPath.eq(id))
+                .getMetadata();
+        this.findOne = template(findOneMetadata, Map.of(), false,
+                (serializer, metadata) -> serializer.serialize(metadata, false),
+                listeners -> listeners.notifyQuery(findOneMetadata));
+
+        QueryMetadata existsMetadata = queryFactory.selectOne()
+                .from(rowPath)
+                .where(idPath.eq(id))
+                .limit(1)
+                .getMetadata();
+        this.exists = template(existsMetadata, Map.of(), false,
+                (serializer, metadata) -> serializer.serialize(metadata, false),
+                listeners -> listeners.notifyQuery(existsMetadata));
+
+        QueryMetadata deleteMetadata = whereIdMetadata();
+        this.delete = template(deleteMetadata, Map.of(), true,
+                (serializer, metadata) -> serializer.serializeDelete(metadata, rowPath),
+                listeners -> listeners.notifyDelete(rowPath, deleteMetadata));
+    }
+
+    /**
+     * Serialized statements bind their parameters with the configured types, which literals would bypass.
+     */
+    static boolean isSupported(IdentifiableQDSLResource<?, ?, ?> qdslResource, SQLQueryFactory queryFactory) {
+        return qdslResource.idPath() instanceof Path && !queryFactory.getConfiguration().getUseLiterals();
+    }
+
+    Optional<R> findOne(ID resourceId) {
+        return execute(findOne, idParameter(resourceId), statement -> {
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+
+                R resource = row(resultSet);
+
+                if (resultSet.next()) {
+                    throw new NonUniqueResultException();
+                }
+
+                return Optional.of(resource);
+            }
+        });
+    }
+
+    boolean exists(ID resourceId) {
+        return execute(exists, idParameter(resourceId), statement -> {
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        });
+    }
+
+    long delete(ID resourceId) {
+        return execute(delete, idParameter(resourceId), statement -> (long) statement.executeUpdate());
+    }
+
+    /**
+     * Updates the non null columns of the resource, like populate() does.
+     * The statement is serialized once per set of non null columns.
+     */
+    long update(ID resourceId, R resource) {
+        Map<Path<?>, Object> values = Rows.values(rowPath, resource);
+        Template update = updatesByColumns.computeIfAbsent(values.keySet(), this::updateTemplate);
+        Map<Param<?>, Object> parameters = idParameter(resourceId);
+
+        update.paramsByPath.forEach((path, param) -> parameters.put(param, values.get(path)));
+
+        return execute(update, parameters, statement -> (long) statement.executeUpdate());
+    }
+
+    private Map<Param<?>, Object> idParameter(ID resourceId) {
+        Map<Param<?>, Object> parameters = new IdentityHashMap<>();
+        parameters.put(id, resourceId);
+
+        return parameters;
+    }
+
+    private Template updateTemplate(Set<Path<?>> columns) {
+        Map<Path<?>, Param<?>> paramsByPath = new LinkedHashMap<>();
+
+        for (Path<?> column : columns) {
+            paramsByPath.put(column, new Param<>(column.getType(), column.getMetadata().getName()));
+        }
+
+        QueryMetadata updateMetadata = whereIdMetadata();
+        Map<Path<?>, Expression<?>> updates = new LinkedHashMap<>(paramsByPath);
+
+        return template(updateMetadata, paramsByPath, true,
+                (serializer, metadata) -> serializer.serializeUpdate(metadata, rowPath, updates),
+                listeners -> listeners.notifyUpdate(rowPath, updateMetadata, updates));
+    }
+
+    /**
+     * Metadata of a delete or update on the row by id, as built by QueryDSL's clauses.
+     */
+    private QueryMetadata whereIdMetadata() {
+        QueryMetadata metadata = new DefaultQueryMetadata();
+        metadata.addJoin(JoinType.DEFAULT, rowPath);
+        metadata.addWhere(idPath.eq(id));
+
+        return metadata;
+    }
+
+    private Template template(QueryMetadata metadata, Map<Path<?>, Param<?>> paramsByPath, boolean dml,
+                              BiConsumer<SQLSerializer, QueryMetadata> serialization, Consumer<SQLListeners> notification) {
+        SQLSerializer serializer = new SQLSerializer(configuration, dml);
+        serialization.accept(serializer, metadata);
+
+        List<Object> constants = new ArrayList<>(serializer.getConstants());
+        List<Path<?>> constantPaths = new ArrayList<>(serializer.getConstantPaths());
+        Map<Param<?>, Path<?>> pathsByParam = new IdentityHashMap<>();
+        paramsByPath.forEach((path, param) -> pathsByParam.put(param, path));
+
+        for (int index = 0; index < constants.size(); index++) {
+            Path<?> path = pathsByParam.get(constants.get(index));
+
+            if (index >= constantPaths.size()) {
+                constantPaths.add(path);
+            } else if (path != null) {
+                constantPaths.set(index, path);
+            }
+        }
+
+        return new Template(metadata, serializer.toString(), constants, constantPaths, paramsByPath, notification);
+    }
+
+    private R row(ResultSet resultSet) throws SQLException {
+        List<Expression<?>> columns = projection.getArgs();
+        Object[] values = new Object[columns.size()];
+
+        for (int index = 0; index < values.length; index++) {
+            Expression<?> column = columns.get(index);
+            values[index] = configuration.get(resultSet, column instanceof Path ? (Path<?>) column : null, index + 1, column.getType());
+        }
+
+        return projection.newInstance(values);
+    }
+
+    /**
+     * Runs the statement within the lifecycle QueryDSL gives its own statements: start, prepare, execute, then end, which closes the connection when the factory owns it.
+     */
+    private <V> V execute(Template template, Map<Param<?>, Object> parameters, StatementCall<V> call) {
+        Connection connection = queryFactory.getConnection();
+        SQLListenerContextImpl context = new SQLListenerContextImpl(template.metadata, connection, rowPath);
+        List<Object> bindings = template.bindings(parameters);
+
+        try {
+            template.notification.accept(listeners);
+            listeners.start(context);
+            listeners.preRender(context);
+            context.addSQL(new SQLBindings(template.sql, bindings));
+            listeners.rendered(context);
+            listeners.prePrepare(context);
+
+            PreparedStatement statement = statementCache != null ?
+                    statementCache.prepare(connection, template.sql) :
+                    connection.prepareStatement(template.sql);
+            boolean executed = false;
+
+            try {
+                context.addPreparedStatement(statement);
+                listeners.prepared(context);
+
+                for (int index = 0; index < bindings.size(); index++) {
+                    configuration.set(statement, template.constantPaths.get(index), index + 1, bindings.get(index));
+                }
+
+                listeners.preExecute(context);
+                V result = call.execute(statement);
+                listeners.executed(context);
+                executed = true;
+
+                return result;
+            } finally {
+                if (executed && statementCache != null) {
+                    statementCache.release(connection, template.sql, statement);
+                } else {
+                    statement.close();
+                }
+            }
+        } catch (SQLException e) {
+            context.setException(e);
+            listeners.exception(context);
+            throw configuration.translate(template.sql, bindings, e);
+        } catch (RuntimeException e) {
+            context.setException(e);
+            listeners.exception(context);
+            throw e;
+        } finally {
+            listeners.end(context);
+
+            if (statementCache != null) {
+                statementCache.releaseIfClosed(connection);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementCall<V> {
+        V execute(PreparedStatement statement) throws SQLException;
+    }
+
+    private static final class Template {
+
+        private final QueryMetadata metadata;
+
+        private final String sql;
+
+        private final List<Object> constants;
+
+        private final List<Path<?>> constantPaths;
+
+        private final Map<Path<?>, Param<?>> paramsByPath;
+
+        private final Consumer<SQLListeners> notification;
+
+        private Template(QueryMetadata metadata, String sql, List<Object> constants, List<Path<?>> constantPaths,
+                         Map<Path<?>, Param<?>> paramsByPath, Consumer<SQLListeners> notification) {
+            this.metadata = metadata;
+            this.sql = sql;
+            this.constants = constants;
+            this.constantPaths = constantPaths;
+            this.paramsByPath = paramsByPath;
+            this.notification = notification;
+        }
+
+        private List<Object> bindings(Map<Param<?>, Object> parameters) {
+            List<Object> bindings = new ArrayList<>(constants.size());
+
+            for (Object constant : constants) {
+                bindings.add(constant instanceof Param ? parameters.get(constant) : constant);
+            }
+
+            return bindings;
+        }
+    }
+}
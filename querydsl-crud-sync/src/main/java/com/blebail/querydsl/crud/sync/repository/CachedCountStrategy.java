@@ -0,0 +1,114 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQueryFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the counts of another strategy for a while, per table and predicate.
+ * Predicates are compared structurally, so equal predicates built by different requests share their count.
+ * Counts served from the cache may be stale, so they are never reported as exact.
+ */
+public final class CachedCountStrategy implements CountStrategy {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final CountStrategy delegate;
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<List<Object>, CachedCount> counts;
+
+    public CachedCountStrategy(CountStrategy delegate, Duration ttl) {
+        this(delegate, ttl, DEFAULT_MAX_ENTRIES);
+    }
+
+    public CachedCountStrategy(CountStrategy delegate, Duration ttl, int maxEntries) {
+        this(delegate, ttl, maxEntries, System::nanoTime);
+    }
+
+    CachedCountStrategy(CountStrategy delegate, Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        if (ttl.isNegative() || maxEntries <= 0) {
+            throw new IllegalArgumentException("Time to live and max entries should be positive, got " + ttl + " and " + maxEntries);
+        }
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.counts = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Count count(SQLQueryFactory queryFactory, RelationalPath<?> rowPath, Predicate predicate) {
+        List<Object> key = predicate == null ?
+                List.of(rowPath.getSchemaAndTable()) :
+                List.of(rowPath.getSchemaAndTable(), predicate);
+        long now = nanoClock.getAsLong();
+
+        synchronized (counts) {
+            CachedCount cachedCount = counts.get(key);
+
+            if (cachedCount != null && now - cachedCount.countedAt < ttlNanos) {
+                return Count.approximate(cachedCount.value);
+            }
+        }
+
+        Count count = delegate.count(queryFactory, rowPath, predicate);
+
+        synchronized (counts) {
+            counts.put(key, new CachedCount(count.value(), now));
+
+            if (counts.size() > maxEntries) {
+                counts.remove(counts.keySet().iterator().next());
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Forgets every cached count, for instance after a bulk write.
+     */
+    public void invalidateAll() {
+        synchronized (counts) {
+            counts.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("delegate", delegate)
+                .add("ttl", Duration.ofNanos(ttlNanos))
+                .add("maxEntries", maxEntries)
+                .toString();
+    }
+
+    private static final class CachedCount {
+
+        private final long value;
+
+        private final long countedAt;
+
+        private CachedCount(long value, long countedAt) {
+            this.value = value;
+            this.countedAt = countedAt;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.cache.CacheStats;
+import com.blebail.querydsl.crud.commons.cache.FrequencyCache;
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serves findOne(ID) and find(Iterable&lt;ID&gt;) from an in-process {@link FrequencyCache}, reading only the missing resources from another repository.
+ * Resources are invalidated by the writes made through this repository only: writes made by other repositories or processes are seen once the cached resources expire.
+ * Writes made within a transactional {@link RepositorySession} invalidate their resources again once the transaction ends,
+ * since other sessions may cache the previous resources meanwhile.
+ * Calls made within a transaction bypass the cache, since they may see writes which are not committed yet.
+ * Other reads, and the reads of projections, always go to the other repository.
+ *
+ * @param <R>  row type
+ * @param <ID> id type
+ */
+public final class CachingCrudRepository<R, ID> implements CrudRepository<R, ID> {
+
+    private final CrudRepository<R, ID> repository;
+
+    private final Function<R, ID> idMapping;
+
+    private final FrequencyCache<ID, R> cache;
+
+    public CachingCrudRepository(CrudRepository<R, ID> repository, Function<R, ID> idMapping, CacheOptions cacheOptions) {
+        this.repository = Objects.requireNonNull(repository);
+        this.idMapping = Objects.requireNonNull(idMapping);
+        this.cache = new FrequencyCache<>(Objects.requireNonNull(cacheOptions));
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R save(R resource) {
+        try {
+            return repository.save(resource);
+        } finally {
+            invalidate(resource);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R save(R resource, WriteOptions writeOptions) {
+        try {
+            return repository.save(resource, writeOptions);
+        } finally {
+            invalidate(resource);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> save(Iterable<R> resources) {
+        try {
+            return repository.save(resources);
+        } finally {
+            invalidate(resources);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> save(Iterable<R> resources, WriteOptions writeOptions) {
+        try {
+            return repository.save(resources, writeOptions);
+        } finally {
+            invalidate(resources);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<R> findOne(ID resourceId) {
+        Objects.requireNonNull(resourceId);
+
+        if (RepositorySession.isInTransaction()) {
+            return repository.findOne(resourceId);
+        }
+
+        Optional<R> cachedResource = cache.get(resourceId);
+
+        if (cachedResource.isPresent()) {
+            return cachedResource;
+        }
+
+        long version = cache.version();
+        Optional<R> resource = repository.findOne(resourceId);
+        resource.ifPresent(loadedResource -> cache.put(resourceId, loadedResource, version));
+
+        return resource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(ID resourceId, Expression<P> projection) {
+        return repository.findOne(resourceId, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> find(Iterable<ID> resourceIds) {
+        Objects.requireNonNull(resourceIds);
+
+        if (RepositorySession.isInTransaction()) {
+            return repository.find(resourceIds);
+        }
+
+        Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+        Map<ID, R> cachedResources = cache.getAll(distinctIds);
+        List<R> resources = new ArrayList<>(cachedResources.values());
+
+        if (cachedResources.size() == distinctIds.size()) {
+            return resources;
+        }
+
+        List<ID> missedIds = new ArrayList<>(distinctIds.size() - cachedResources.size());
+
+        for (ID resourceId : distinctIds) {
+            if (!cachedResources.containsKey(resourceId)) {
+                missedIds.add(resourceId);
+            }
+        }
+
+        long version = cache.version();
+
+        for (R resource : repository.find(missedIds)) {
+            cache.put(idMapping.apply(resource), resource, version);
+            resources.add(resource);
+        }
+
+        return resources;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Iterable<ID> resourceIds, Expression<P> projection) {
+        return repository.find(resourceIds, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(ID resourceId) {
+        Objects.requireNonNull(resourceId);
+
+        return (!RepositorySession.isInTransaction() && cache.get(resourceId).isPresent()) || repository.exists(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<ID> existsAll(Iterable<ID> resourceIds) {
+        Objects.requireNonNull(resourceIds);
+
+        if (RepositorySession.isInTransaction()) {
+            return repository.existsAll(resourceIds);
+        }
+
+        Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+        Set<ID> existingIds = new HashSet<>(cache.getAll(distinctIds).keySet());
+
+        if (existingIds.size() < distinctIds.size()) {
+            List<ID> missedIds = new ArrayList<>(distinctIds);
+            missedIds.removeAll(existingIds);
+            existingIds.addAll(repository.existsAll(missedIds));
+        }
+
+        return existingIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(ID resourceId) {
+        try {
+            return repository.delete(resourceId);
+        } finally {
+            if (resourceId != null) {
+                invalidateOnCompletion(() -> cache.invalidate(resourceId));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(Iterable<ID> resourceIds) {
+        try {
+            return repository.delete(resourceIds);
+        } finally {
+            if (resourceIds != null) {
+                Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+                invalidateOnCompletion(() -> cache.invalidateAll(distinctIds));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<R> findOne(Predicate predicate) {
+        return repository.findOne(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(Predicate predicate, Expression<P> projection) {
+        return repository.findOne(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> find(Predicate predicate) {
+        return repository.find(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Predicate predicate, Expression<P> projection) {
+        return repository.find(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<R> find(PageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<R> find(Predicate predicate, PageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Page<P> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.find(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<R> findSlice(PageRequest pageRequest) {
+        return repository.findSlice(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<R> findSlice(Predicate predicate, PageRequest pageRequest) {
+        return repository.findSlice(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Slice<P> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        return repository.findSlice(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<R> find(KeysetPageRequest pageRequest) {
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<R> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> stream(Predicate predicate) {
+        return repository.stream(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Stream<P> stream(Predicate predicate, Expression<P> projection) {
+        return repository.stream(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> streamAll() {
+        return repository.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloseableIterator<R> iterate(Predicate predicate) {
+        return repository.iterate(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CloseableIterator<P> iterate(Predicate predicate, Expression<P> projection) {
+        return repository.iterate(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(Predicate predicate) {
+        return repository.count(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Predicate predicate) {
+        return repository.exists(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    /**
+     * Invalidates the whole cache, since the deleted ids are unknown.
+     */
+    @Override
+    public boolean delete(Predicate predicate) {
+        try {
+            return repository.delete(predicate);
+        } finally {
+            invalidateOnCompletion(cache::invalidateAll);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteAll() {
+        try {
+            return repository.deleteAll();
+        } finally {
+            invalidateOnCompletion(cache::invalidateAll);
+        }
+    }
+
+    private void invalidate(R resource) {
+        ID resourceId = resource == null ? null : idMapping.apply(resource);
+
+        if (resourceId != null) {
+            invalidateOnCompletion(() -> cache.invalidate(resourceId));
+        }
+    }
+
+    private void invalidate(Iterable<R> resources) {
+        if (resources == null) {
+            return;
+        }
+
+        List<ID> resourceIds = new ArrayList<>();
+
+        for (R resource : Iterables.asCollection(resources)) {
+            ID resourceId = resource == null ? null : idMapping.apply(resource);
+
+            if (resourceId != null) {
+                resourceIds.add(resourceId);
+            }
+        }
+
+        invalidateOnCompletion(() -> cache.invalidateAll(resourceIds));
+    }
+
+    /**
+     * Invalidates right away, and again once the transaction of the current session ends, if any.
+     */
+    private void invalidateOnCompletion(Runnable invalidation) {
+        invalidation.run();
+        RepositorySession.current()
+                .filter(RepositorySession::isTransactional)
+                .ifPresent(session -> session.afterCompletion(invalidation));
+    }
+}
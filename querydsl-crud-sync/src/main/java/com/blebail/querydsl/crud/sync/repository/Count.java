@@ -0,0 +1,58 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+/**
+ * A number of rows, either exact or approximated.
+ */
+public final class Count {
+
+    private final long value;
+
+    private final boolean exact;
+
+    private Count(long value, boolean exact) {
+        this.value = Math.max(value, 0L);
+        this.exact = exact;
+    }
+
+    public static Count exact(long value) {
+        return new Count(value, true);
+    }
+
+    public static Count approximate(long value) {
+        return new Count(value, false);
+    }
+
+    public long value() {
+        return value;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Count count = (Count) o;
+        return value == count.value &&
+                exact == count.exact;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, exact);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("value", value)
+                .add("exact", exact)
+                .toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQueryFactory;
+
+/**
+ * Counts the rows of a table, for count() and the totals of pages.
+ */
+public interface CountStrategy {
+
+    /**
+     * @param predicate the rows to count, or null to count the whole table
+     */
+    Count count(SQLQueryFactory queryFactory, RelationalPath<?> rowPath, Predicate predicate);
+}
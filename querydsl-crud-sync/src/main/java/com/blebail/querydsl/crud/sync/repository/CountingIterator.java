@@ -0,0 +1,68 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.mysema.commons.lang.CloseableIterator;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the elements read from an iterator, and hands their number over once it is closed, or -1 when reading failed.
+ */
+final class CountingIterator<T> implements CloseableIterator<T> {
+
+    private final CloseableIterator<T> iterator;
+
+    private final LongConsumer onClose;
+
+    private long rows;
+
+    private boolean failed;
+
+    private boolean closed;
+
+    CountingIterator(CloseableIterator<T> iterator, LongConsumer onClose) {
+        this.iterator = Objects.requireNonNull(iterator);
+        this.onClose = Objects.requireNonNull(onClose);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return iterator.hasNext();
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        try {
+            T next = iterator.next();
+            rows++;
+
+            return next;
+        } catch (NoSuchElementException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            iterator.close();
+        } finally {
+            onClose.accept(failed ? -1 : rows);
+        }
+    }
+}
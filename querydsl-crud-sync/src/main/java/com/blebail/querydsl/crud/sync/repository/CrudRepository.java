@@ -1,7 +1,10 @@
 package com.blebail.querydsl.crud.sync.repository;
 
+import com.querydsl.core.types.Expression;
+
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @param <R>  row type
@@ -11,15 +14,37 @@ public interface CrudRepository<R, ID> extends BaseRepository<R> {
 
     R save(R resource);
 
+    R save(R resource, WriteOptions writeOptions);
+
     Collection<R> save(Iterable<R> resources);
 
+    Collection<R> save(Iterable<R> resources, WriteOptions writeOptions);
+
     Optional<R> findOne(ID resourceId);
 
+    /**
+     * Same as {@link #findOne(Object)}, reading only the columns of the projection.
+     */
+    <P> Optional<P> findOne(ID resourceId, Expression<P> projection);
+
     Collection<R> find(Iterable<ID> resourceIds);
 
+    /**
+     * Same as {@link #find(Iterable)}, reading only the columns of the projection.
+     */
+    <P> Collection<P> find(Iterable<ID> resourceIds, Expression<P> projection);
+
     boolean exists(ID resourceId);
 
+    /**
+     * @return the ids, among the given ones, for which a resource exists
+     */
+    Set<ID> existsAll(Iterable<ID> resourceIds);
+
     boolean delete(ID resourceId);
 
+    /**
+     * @return whether a resource was deleted for each of the given ids, null ids being ignored and duplicates counting once
+     */
     boolean delete(Iterable<ID> resourceIds);
 }
@@ -0,0 +1,28 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.sql.DB2Templates;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.OracleTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLServer2005Templates;
+import com.querydsl.sql.SQLTemplates;
+
+/**
+ * Features which differ between the databases behind {@link SQLTemplates}.
+ */
+final class Dialects {
+
+    private Dialects() {
+    }
+
+    /**
+     * MySQL is left out, as window functions only exist from MySQL 8 and its templates don't tell the version.
+     */
+    static boolean supportsWindowFunctions(SQLTemplates templates) {
+        return templates instanceof H2Templates ||
+                templates instanceof PostgreSQLTemplates ||
+                templates instanceof OracleTemplates ||
+                templates instanceof SQLServer2005Templates ||
+                templates instanceof DB2Templates;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+
+import java.util.Objects;
+
+/**
+ * Reads the number of rows of a whole table from the statistics of the database catalog, rather than scanning it:
+ * INFORMATION_SCHEMA.TABLES for H2 and MySQL, pg_class for PostgreSQL.
+ * Estimates are only as fresh as the statistics, and are never reported as exact.
+ * Counts with a predicate, or for other databases, are left to a fallback strategy.
+ */
+public final class EstimatedCountStrategy implements CountStrategy {
+
+    private final CountStrategy fallback;
+
+    public EstimatedCountStrategy() {
+        this(new ExactCountStrategy());
+    }
+
+    public EstimatedCountStrategy(CountStrategy fallback) {
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Count count(SQLQueryFactory queryFactory, RelationalPath<?> rowPath, Predicate predicate) {
+        if (predicate != null) {
+            return fallback.count(queryFactory, rowPath, predicate);
+        }
+
+        Number estimate = estimate(queryFactory, rowPath);
+
+        if (estimate == null || estimate.longValue() < 0) {
+            return fallback.count(queryFactory, rowPath, null);
+        }
+
+        return Count.approximate(estimate.longValue());
+    }
+
+    private Number estimate(SQLQueryFactory queryFactory, RelationalPath<?> rowPath) {
+        SQLTemplates templates = queryFactory.getConfiguration().getTemplates();
+
+        if (templates instanceof H2Templates) {
+            return estimate(queryFactory, rowPath, "INFORMATION_SCHEMA.TABLES", "ROW_COUNT_ESTIMATE", "TABLE_SCHEMA", "TABLE_NAME", "schema()");
+        }
+
+        if (templates instanceof PostgreSQLTemplates) {
+            return estimate(queryFactory, rowPath, "pg_class c join pg_namespace n on n.oid = c.relnamespace", "c.reltuples", "n.nspname", "c.relname", "current_schema()");
+        }
+
+        if (templates instanceof MySQLTemplates) {
+            return estimate(queryFactory, rowPath, "INFORMATION_SCHEMA.TABLES", "TABLE_ROWS", "TABLE_SCHEMA", "TABLE_NAME", "database()");
+        }
+
+        return null;
+    }
+
+    private Number estimate(SQLQueryFactory queryFactory, RelationalPath<?> rowPath,
+                            String catalog, String rowsColumn, String schemaColumn, String tableColumn, String currentSchema) {
+        NumberExpression<Double> rows = Expressions.numberTemplate(Double.class, rowsColumn);
+        StringExpression schema = Expressions.stringTemplate(schemaColumn);
+        StringExpression table = Expressions.stringTemplate(tableColumn);
+
+        return queryFactory.select(rows)
+                .from(Expressions.template(Object.class, catalog))
+                .where(rowPath.getSchemaName() == null ?
+                                schema.eq(Expressions.stringTemplate(currentSchema)) :
+                                schema.equalsIgnoreCase(rowPath.getSchemaName()),
+                        table.equalsIgnoreCase(rowPath.getTableName()))
+                .fetchFirst();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("fallback", fallback)
+                .toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+
+/**
+ * Counts rows with a COUNT(*) query every time.
+ */
+public final class ExactCountStrategy implements CountStrategy {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Count count(SQLQueryFactory queryFactory, RelationalPath<?> rowPath, Predicate predicate) {
+        SQLQuery<?> query = queryFactory.from(rowPath);
+
+        if (predicate != null) {
+            query = query.where(predicate);
+        }
+
+        return Count.exact(query.fetchCount());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+
+    @Override
+    public int hashCode() {
+        return ExactCountStrategy.class.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ExactCountStrategy";
+    }
+}
@@ -0,0 +1,28 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Waits for the statements a repository runs concurrently.
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * @return the value of the future, rethrowing the exception it completed with as is
+     */
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+}
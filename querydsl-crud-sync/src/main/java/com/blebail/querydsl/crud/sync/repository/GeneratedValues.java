@@ -0,0 +1,66 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Completes inserted resources with the values generated by the database, read from the statement's generated keys.
+ */
+final class GeneratedValues<R> {
+
+    private final RelationalPathBase<R> rowPath;
+
+    private final Configuration configuration;
+
+    private final FactoryExpression<R> projection;
+
+    GeneratedValues(RelationalPathBase<R> rowPath, Configuration configuration) {
+        this.rowPath = Objects.requireNonNull(rowPath);
+        this.configuration = Objects.requireNonNull(configuration);
+        this.projection = rowPath.getProjection();
+    }
+
+    /**
+     * Overlays the values of the current generated keys row on the inserted values, then builds the resulting resource.
+     */
+    R complete(Map<Path<?>, Object> insertedValues, ResultSet generatedKeys) throws SQLException {
+        ResultSetMetaData metaData = generatedKeys.getMetaData();
+
+        for (int index = 1; index <= metaData.getColumnCount(); index++) {
+            Path<?> column = column(metaData.getColumnLabel(index));
+
+            if (column != null) {
+                insertedValues.put(column, configuration.get(generatedKeys, column, index, column.getType()));
+            }
+        }
+
+        List<Expression<?>> args = projection.getArgs();
+        Object[] values = new Object[args.size()];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = insertedValues.get(args.get(index));
+        }
+
+        return projection.newInstance(values);
+    }
+
+    private Path<?> column(String columnLabel) {
+        for (Path<?> column : rowPath.getColumns()) {
+            if (rowPath.getMetadata(column).getName().equalsIgnoreCase(columnLabel)) {
+                return column;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.utils.Chunks;
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs a statement filtering on a set of ids once per chunk of ids, so IN lists stay below driver parameter limits.
+ * Chunks are padded to a few bucket sizes so the database only ever sees a handful of statement shapes,
+ * and they run concurrently when the repository has an executor, except within a {@link RepositorySession},
+ * whose connection is bound to the calling thread.
+ */
+final class InChunks<ID> {
+
+    private final int chunkSize;
+
+    private final Executor executor;
+
+    InChunks(RepositoryOptions options) {
+        this.chunkSize = options.inChunkSize();
+        this.executor = options.executor().orElse(null);
+    }
+
+    <V> Collection<V> fetch(Collection<ID> ids, Function<List<ID>, List<V>> query) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return Iterables.concat(run(ids, query));
+    }
+
+    long execute(Collection<ID> ids, ToLongFunction<List<ID>> statement) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return run(ids, statement::applyAsLong)
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    private <V> List<V> run(Collection<ID> ids, Function<List<ID>, V> statement) {
+        List<List<ID>> chunks = Chunks.split(ids, chunkSize);
+        List<V> results = new ArrayList<>(chunks.size());
+
+        if (executor == null || chunks.size() == 1 || RepositorySession.current().isPresent()) {
+            for (List<ID> chunk : chunks) {
+                results.add(statement.apply(Chunks.padded(chunk, chunkSize)));
+            }
+
+            return results;
+        }
+
+        List<CompletableFuture<V>> futures = new ArrayList<>(chunks.size());
+
+        for (List<ID> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(StatementControl.carried(() -> statement.apply(Chunks.padded(chunk, chunkSize))), executor));
+        }
+
+        try {
+            for (CompletableFuture<V> future : futures) {
+                results.add(Futures.join(future));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(false));
+
+            throw e;
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,124 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.metrics.Distribution;
+import com.blebail.querydsl.crud.commons.metrics.Histogram;
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls of a repository method on a table, recorded by the repositories whose options have {@link RepositoryMetrics}.
+ * Recording neither locks nor allocates, except for the first batch size and queue wait, whose histograms are created on demand.
+ */
+public final class MethodMetrics {
+
+    private final String table;
+
+    private final RepositoryMethod method;
+
+    private final LongAdder calls;
+
+    private final LongAdder failures;
+
+    private final LongAdder rows;
+
+    private final Histogram latencies;
+
+    private volatile Histogram batchSizes;
+
+    private volatile Histogram queueWaits;
+
+    MethodMetrics(String table, RepositoryMethod method) {
+        this.table = table;
+        this.method = method;
+        this.calls = new LongAdder();
+        this.failures = new LongAdder();
+        this.rows = new LongAdder();
+        this.latencies = new Histogram();
+    }
+
+    /**
+     * Records a call which returned after the given nanoseconds, having read or written the given number of rows.
+     */
+    public void recordCall(long latencyNanos, long rowCount) {
+        calls.increment();
+        rows.add(rowCount);
+        latencies.record(latencyNanos);
+    }
+
+    /**
+     * Records a call which threw after the given nanoseconds.
+     */
+    public void recordFailure(long latencyNanos) {
+        calls.increment();
+        failures.increment();
+        latencies.record(latencyNanos);
+    }
+
+    /**
+     * Records the number of resources written by a call at once.
+     */
+    public void recordBatchSize(long batchSize) {
+        Histogram histogram = batchSizes;
+
+        if (histogram == null) {
+            histogram = createBatchSizes();
+        }
+
+        histogram.record(batchSize);
+    }
+
+    /**
+     * Records the nanoseconds an asynchronous call waited for a thread of its executor.
+     */
+    public void recordQueueWait(long waitNanos) {
+        Histogram histogram = queueWaits;
+
+        if (histogram == null) {
+            histogram = createQueueWaits();
+        }
+
+        histogram.record(waitNanos);
+    }
+
+    private synchronized Histogram createBatchSizes() {
+        if (batchSizes == null) {
+            batchSizes = new Histogram();
+        }
+
+        return batchSizes;
+    }
+
+    private synchronized Histogram createQueueWaits() {
+        if (queueWaits == null) {
+            queueWaits = new Histogram();
+        }
+
+        return queueWaits;
+    }
+
+    public MethodStats stats() {
+        Histogram currentBatchSizes = batchSizes;
+        Histogram currentQueueWaits = queueWaits;
+
+        return new MethodStats(
+                table,
+                method,
+                calls.sum(),
+                failures.sum(),
+                rows.sum(),
+                latencies.snapshot(),
+                currentBatchSizes != null ? currentBatchSizes.snapshot() : Distribution.empty(),
+                currentQueueWaits != null ? currentQueueWaits.snapshot() : Distribution.empty()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("table", table)
+                .add("method", method)
+                .add("calls", calls.sum())
+                .toString();
+    }
+}
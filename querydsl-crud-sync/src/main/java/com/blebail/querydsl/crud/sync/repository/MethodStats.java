@@ -0,0 +1,124 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.metrics.Distribution;
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+/**
+ * Counters and distributions of the calls of a repository method on a table, since the creation of its {@link RepositoryMetrics}.
+ */
+public final class MethodStats {
+
+    private final String table;
+
+    private final RepositoryMethod method;
+
+    private final long calls;
+
+    private final long failures;
+
+    private final long rows;
+
+    private final Distribution latencies;
+
+    private final Distribution batchSizes;
+
+    private final Distribution queueWaits;
+
+    public MethodStats(String table, RepositoryMethod method, long calls, long failures, long rows,
+                       Distribution latencies, Distribution batchSizes, Distribution queueWaits) {
+        this.table = Objects.requireNonNull(table);
+        this.method = Objects.requireNonNull(method);
+        this.calls = calls;
+        this.failures = failures;
+        this.rows = rows;
+        this.latencies = Objects.requireNonNull(latencies);
+        this.batchSizes = Objects.requireNonNull(batchSizes);
+        this.queueWaits = Objects.requireNonNull(queueWaits);
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public RepositoryMethod method() {
+        return method;
+    }
+
+    /**
+     * @return the number of calls, including the failed ones
+     */
+    public long calls() {
+        return calls;
+    }
+
+    /**
+     * @return the number of calls which threw
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of rows returned by the reads and written by the saves and deletes which succeeded
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * @return the time spent in the calls, in nanoseconds
+     */
+    public Distribution latencies() {
+        return latencies;
+    }
+
+    /**
+     * @return the number of resources written per call, for the methods saving several resources at once
+     */
+    public Distribution batchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * @return the time asynchronous calls waited for a thread of their executor, in nanoseconds
+     */
+    public Distribution queueWaits() {
+        return queueWaits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MethodStats that = (MethodStats) o;
+        return calls == that.calls &&
+                failures == that.failures &&
+                rows == that.rows &&
+                table.equals(that.table) &&
+                method == that.method &&
+                latencies.equals(that.latencies) &&
+                batchSizes.equals(that.batchSizes) &&
+                queueWaits.equals(that.queueWaits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, method, calls, failures, rows, latencies, batchSizes, queueWaits);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("table", table)
+                .add("method", method)
+                .add("calls", calls)
+                .add("failures", failures)
+                .add("rows", rows)
+                .add("latencies", latencies)
+                .add("batchSizes", batchSizes)
+                .add("queueWaits", queueWaits)
+                .toString();
+    }
+}
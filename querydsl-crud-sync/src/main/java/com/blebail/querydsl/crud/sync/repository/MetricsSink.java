@@ -0,0 +1,15 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import java.util.Collection;
+
+/**
+ * Receives the stats of {@link RepositoryMetrics} when they are reported, to publish them to a monitoring system.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    /**
+     * @param stats the stats of every method called at least once, per table
+     */
+    void report(Collection<MethodStats> stats);
+}
@@ -0,0 +1,18 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+/**
+ * How a repository computes the total number of items of a page.
+ */
+public enum PaginationMode {
+
+    /**
+     * Runs a count query besides the page query, concurrently when the repository has an executor.
+     */
+    COUNT_QUERY,
+
+    /**
+     * Reads the total from a COUNT(*) OVER() column of the page query, so a page costs a single round trip.
+     * Falls back to {@link #COUNT_QUERY} for dialects without window functions.
+     */
+    WINDOW_COUNT
+}
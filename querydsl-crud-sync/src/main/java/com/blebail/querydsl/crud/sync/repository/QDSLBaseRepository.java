@@ -1,17 +1,34 @@
 package com.blebail.querydsl.crud.sync.repository;
 
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
 import com.blebail.querydsl.crud.commons.resource.QDSLResource;
-import com.querydsl.core.types.OrderSpecifier;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLExpressions;
 import com.querydsl.sql.SQLQuery;
 import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.StatementOptions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@inheritDoc}
@@ -22,9 +39,25 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
 
     protected final SQLQueryFactory queryFactory;
 
+    protected final RepositoryOptions options;
+
+    private final boolean windowCount;
+
+    private final TableMetrics metrics;
+
     public QDSLBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory) {
+        this(qdslResource, queryFactory, RepositoryOptions.defaults());
+    }
+
+    public QDSLBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory, RepositoryOptions options) {
         this.qdslResource = Objects.requireNonNull(qdslResource);
-        this.queryFactory = Objects.requireNonNull(queryFactory);
+        this.queryFactory = RepositorySession.sessionAware(Objects.requireNonNull(queryFactory));
+        this.options = Objects.requireNonNull(options);
+        this.windowCount = options.paginationMode() == PaginationMode.WINDOW_COUNT &&
+                Dialects.supportsWindowFunctions(queryFactory.getConfiguration().getTemplates());
+        this.metrics = options.metrics()
+                .map(repositoryMetrics -> repositoryMetrics.table(qdslResource.rowPath()))
+                .orElse(null);
     }
 
     /**
@@ -32,12 +65,30 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
      */
     @Override
     public Optional<R> findOne(Predicate predicate) {
+        return findOne(predicate, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(Predicate predicate, Expression<P> projection) {
         Objects.requireNonNull(predicate, "Predicate should not be null when finding a single resource");
 
-        return Optional.ofNullable(queryFactory.select(qdslResource.rowPath())
-                .from(qdslResource.rowPath())
-                .where(predicate)
-                .fetchOne());
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Optional<P> resource = Optional.ofNullable(queryFactory.select(Objects.requireNonNull(projection))
+                    .from(qdslResource.rowPath())
+                    .where(predicate)
+                    .fetchOne());
+            rows = resource.isPresent() ? 1 : 0;
+
+            return resource;
+        } finally {
+            record(RepositoryMethod.FIND_ONE, startTime, rows);
+        }
     }
 
     /**
@@ -45,14 +96,32 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
      */
     @Override
     public Collection<R> find(Predicate predicate) {
-        SQLQuery<R> query = queryFactory.select(qdslResource.rowPath())
+        return find(predicate, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Predicate predicate, Expression<P> projection) {
+        SQLQuery<P> query = queryFactory.select(Objects.requireNonNull(projection))
                 .from(qdslResource.rowPath());
 
         if (predicate != null) {
             query = query.where(predicate);
         }
 
-        return query.fetch();
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            List<P> resources = query.fetch();
+            rows = resources.size();
+
+            return resources;
+        } finally {
+            record(RepositoryMethod.FIND, startTime, rows);
+        }
     }
 
     /**
@@ -68,46 +137,295 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
      */
     @Override
     public Page<R> find(Predicate predicate, PageRequest pageRequest) {
-        long totalItems = count(predicate);
-        long totalPages = Page.totalPages(totalItems, pageRequest.size());
-        OrderSpecifier[] orders = qdslResource.orders(pageRequest);
+        return find(predicate, pageRequest, qdslResource.rowPath());
+    }
 
-        SQLQuery<R> query = queryFactory.select(qdslResource.rowPath())
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Page<P> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        Objects.requireNonNull(projection);
+
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Page<P> page = options.queryCache().isPresent() && !RepositorySession.isInTransaction()
+                    ? options.queryCache().get().get(qdslResource.rowPath(), Arrays.asList("page", predicate, pageRequest.index(), pageRequest.size(), new ArrayList<>(pageRequest.sorts()), projection),
+                            () -> findPage(predicate, pageRequest, projection))
+                    : findPage(predicate, pageRequest, projection);
+            rows = page.size();
+
+            return page;
+        } finally {
+            record(RepositoryMethod.FIND_PAGE, startTime, rows);
+        }
+    }
+
+    private <P> Page<P> findPage(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        if (windowCount) {
+            return findWithWindowCount(predicate, pageRequest, projection);
+        }
+
+        if (options.executor().isPresent() && RepositorySession.current().isEmpty()) {
+            CompletableFuture<Count> totalItems = CompletableFuture.supplyAsync(
+                    StatementControl.carried(() -> countResources(predicate)), options.executor().get());
+            List<P> items = pageQuery(projection, predicate, pageRequest).fetch();
+
+            return page(items, Futures.join(totalItems), pageRequest);
+        }
+
+        Count totalItems = countResources(predicate);
+
+        return page(pageQuery(projection, predicate, pageRequest).fetch(), totalItems, pageRequest);
+    }
+
+    private <P> Page<P> findWithWindowCount(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        Expression<Long> total = SQLExpressions.count().over();
+        List<Tuple> rows = pageQuery(Projections.tuple(projection, total), predicate, pageRequest).fetch();
+
+        if (rows.isEmpty()) {
+            return page(List.of(), pageRequest.offset() == 0 ? Count.exact(0) : countResources(predicate), pageRequest);
+        }
+
+        List<P> items = new ArrayList<>(rows.size());
+
+        for (Tuple row : rows) {
+            items.add(row.get(projection));
+        }
+
+        return page(items, Count.exact(rows.get(0).get(total)), pageRequest);
+    }
+
+    private <P> SQLQuery<P> pageQuery(Expression<P> projection, Predicate predicate, PageRequest pageRequest) {
+        SQLQuery<P> query = queryFactory.select(projection)
                 .from(qdslResource.rowPath())
                 .limit(pageRequest.size())
                 .offset(pageRequest.offset())
-                .orderBy(orders);
+                .orderBy(qdslResource.orders(pageRequest));
 
         if (predicate != null) {
             query = query.where(predicate);
         }
 
-        return new Page<>(query.fetch(), totalItems, totalPages);
+        return query;
+    }
+
+    private <P> Page<P> page(List<P> items, Count totalItems, PageRequest pageRequest) {
+        return new Page<>(items, totalItems.value(), Page.totalPages(totalItems.value(), pageRequest.size()), totalItems.isExact());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Collection<R> findAll() {
-        return queryFactory.select(qdslResource.rowPath())
+    public Slice<R> findSlice(PageRequest pageRequest) {
+        return findSlice(null, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<R> findSlice(Predicate predicate, PageRequest pageRequest) {
+        return findSlice(predicate, pageRequest, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Slice<P> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        SQLQuery<P> query = queryFactory.select(Objects.requireNonNull(projection))
                 .from(qdslResource.rowPath())
-                .fetch();
+                .limit(pageRequest.size() + 1L)
+                .offset(pageRequest.offset())
+                .orderBy(qdslResource.orders(pageRequest));
+
+        if (predicate != null) {
+            query = query.where(predicate);
+        }
+
+        long startTime = startTime();
+        long fetchedRows = -1;
+
+        try {
+            List<P> rows = query.fetch();
+            fetchedRows = rows.size();
+
+            if (rows.size() <= pageRequest.size()) {
+                return new Slice<>(rows, false);
+            }
+
+            return new Slice<>(rows.subList(0, pageRequest.size()), true);
+        } finally {
+            record(RepositoryMethod.FIND_SLICE, startTime, fetchedRows);
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public long count(Predicate predicate) {
+    public CursorPage<R> find(KeysetPageRequest pageRequest) {
+        return find(null, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<R> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        Predicate where = ExpressionUtils.allOf(predicate, qdslResource.seek(pageRequest));
+
         SQLQuery<R> query = queryFactory.select(qdslResource.rowPath())
+                .from(qdslResource.rowPath())
+                .limit(pageRequest.size() + 1L)
+                .orderBy(qdslResource.orders(pageRequest));
+
+        if (where != null) {
+            query = query.where(where);
+        }
+
+        long startTime = startTime();
+        long fetchedRows = -1;
+
+        try {
+            List<R> rows = query.fetch();
+            fetchedRows = rows.size();
+
+            if (rows.size() <= pageRequest.size()) {
+                return new CursorPage<>(rows, null);
+            }
+
+            List<R> items = rows.subList(0, pageRequest.size());
+
+            return new CursorPage<>(items, qdslResource.cursor(pageRequest, items.get(items.size() - 1)));
+        } finally {
+            record(RepositoryMethod.FIND_CURSOR_PAGE, startTime, fetchedRows);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> findAll() {
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            List<R> resources = queryFactory.select(qdslResource.rowPath())
+                    .from(qdslResource.rowPath())
+                    .fetch();
+            rows = resources.size();
+
+            return resources;
+        } finally {
+            record(RepositoryMethod.FIND_ALL, startTime, rows);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> stream(Predicate predicate) {
+        return stream(predicate, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Stream<P> stream(Predicate predicate, Expression<P> projection) {
+        CloseableIterator<P> iterator = iterate(predicate, projection);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> streamAll() {
+        return stream(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloseableIterator<R> iterate(Predicate predicate) {
+        return iterate(predicate, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CloseableIterator<P> iterate(Predicate predicate, Expression<P> projection) {
+        SQLQuery<P> query = queryFactory.select(Objects.requireNonNull(projection))
                 .from(qdslResource.rowPath());
 
+        if (options.fetchSize() > 0) {
+            query.setStatementOptions(StatementOptions.builder().setFetchSize(options.fetchSize()).build());
+        }
+
         if (predicate != null) {
             query = query.where(predicate);
         }
 
-        return query.fetchCount();
+        if (metrics == null) {
+            return query.iterate();
+        }
+
+        long startTime = startTime();
+        CloseableIterator<P> iterator;
+
+        try {
+            iterator = query.iterate();
+        } catch (RuntimeException e) {
+            record(RepositoryMethod.ITERATE, startTime, -1);
+            throw e;
+        }
+
+        return new CountingIterator<>(iterator, rows -> record(RepositoryMethod.ITERATE, startTime, rows));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(Predicate predicate) {
+        return countAndRecord(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Predicate predicate) {
+        SQLQuery<Integer> query = queryFactory.selectOne()
+                .from(qdslResource.rowPath());
+
+        if (predicate != null) {
+            query = query.where(predicate);
+        }
+
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            boolean exists = query.fetchFirst() != null;
+            rows = exists ? 1 : 0;
+
+            return exists;
+        } finally {
+            record(RepositoryMethod.EXISTS, startTime, rows);
+        }
     }
 
     /**
@@ -115,9 +433,30 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
      */
     @Override
     public long count() {
-        return queryFactory.select(qdslResource.rowPath())
-                .from(qdslResource.rowPath())
-                .fetchCount();
+        return countAndRecord(null);
+    }
+
+    private long countAndRecord(Predicate predicate) {
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            long count = countResources(predicate).value();
+            rows = 1;
+
+            return count;
+        } finally {
+            record(RepositoryMethod.COUNT, startTime, rows);
+        }
+    }
+
+    private Count countResources(Predicate predicate) {
+        if (options.queryCache().isPresent() && !RepositorySession.isInTransaction()) {
+            return options.queryCache().get().get(qdslResource.rowPath(), Arrays.asList("count", predicate),
+                    () -> options.countStrategy().count(queryFactory, qdslResource.rowPath(), predicate));
+        }
+
+        return options.countStrategy().count(queryFactory, qdslResource.rowPath(), predicate);
     }
 
     /**
@@ -128,7 +467,17 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
         Objects.requireNonNull(predicate, "Predicate should not be null on a delete, otherwise whole table will be deleted, " +
                 "call deleteAll() instead if it's the desired operation");
 
-        return queryFactory.delete(qdslResource.rowPath()).where(predicate).execute() > 0;
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            rows = StatementControl.controlled(queryFactory.delete(qdslResource.rowPath())).where(predicate).execute();
+
+            return rows > 0;
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.DELETE, startTime, rows);
+        }
     }
 
     /**
@@ -136,6 +485,49 @@ public class QDSLBaseRepository<T extends RelationalPathBase<R>, R> implements B
      */
     @Override
     public boolean deleteAll() {
-        return queryFactory.delete(qdslResource.rowPath()).execute() > 0;
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            rows = StatementControl.controlled(queryFactory.delete(qdslResource.rowPath())).execute();
+
+            return rows > 0;
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.DELETE_ALL, startTime, rows);
+        }
+    }
+
+    /**
+     * @return the time a call to record starts at, or 0 without metrics, so calls are not timed for nothing
+     */
+    final long startTime() {
+        return metrics != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a call of the method started at the given time, which read or wrote the given number of rows, or failed when it is negative.
+     */
+    final void record(RepositoryMethod method, long startTime, long rows) {
+        if (metrics == null) {
+            return;
+        }
+
+        long latency = System.nanoTime() - startTime;
+
+        if (rows < 0) {
+            metrics.method(method).recordFailure(latency);
+        } else {
+            metrics.method(method).recordCall(latency, rows);
+        }
+    }
+
+    /**
+     * Records the number of resources written at once by a call of the method.
+     */
+    final void recordBatchSize(RepositoryMethod method, long batchSize) {
+        if (metrics != null) {
+            metrics.method(method).recordBatchSize(batchSize);
+        }
     }
 }
@@ -2,15 +2,26 @@ package com.blebail.querydsl.crud.sync.repository;
 
 import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
 import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
 import com.querydsl.sql.RelationalPathBase;
 import com.querydsl.sql.SQLQueryFactory;
 import com.querydsl.sql.dml.SQLInsertClause;
 import com.querydsl.sql.dml.SQLUpdateClause;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -20,9 +31,45 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
 
     private final IdentifiableQDSLResource<T, R, ID> qdslResource;
 
+    private final Upsert<T, R, ID> upsert;
+
+    private final GeneratedValues<R> generatedValues;
+
+    private final InChunks<ID> inChunks;
+
+    private final ByIdStatements<T, R, ID> byIdStatements;
+
     public QDSLCrudRepository(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory) {
-        super(qdslResource, queryFactory);
+        this(qdslResource, queryFactory, RepositoryOptions.defaults());
+    }
+
+    public QDSLCrudRepository(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory, RepositoryOptions options) {
+        super(qdslResource, queryFactory, options);
         this.qdslResource = qdslResource;
+        this.upsert = options.saveStrategy() == SaveStrategy.UPSERT ? new Upsert<>(qdslResource, this.queryFactory) : null;
+        checkReturnMode(options.returnMode());
+        this.generatedValues = new GeneratedValues<>(qdslResource.rowPath(), queryFactory.getConfiguration());
+        this.inChunks = new InChunks<>(options);
+        this.byIdStatements = options.cachedStatements() && ByIdStatements.isSupported(qdslResource, this.queryFactory) ?
+                new ByIdStatements<>(qdslResource, this.queryFactory, options.statementCache().orElse(null)) :
+                null;
+    }
+
+    /**
+     * Upsert statements do not tell whether they inserted the row, so they cannot return the values the database generated on insert.
+     *
+     * @throws IllegalArgumentException when upserting with {@link ReturnMode#GENERATED}
+     */
+    private ReturnMode checkReturnMode(ReturnMode returnMode) {
+        if (upsert != null && returnMode == ReturnMode.GENERATED) {
+            throw new IllegalArgumentException("ReturnMode.GENERATED is not supported with SaveStrategy.UPSERT, use REREAD to read the generated values back");
+        }
+
+        return returnMode;
+    }
+
+    IdentifiableQDSLResource<T, R, ID> qdslResource() {
+        return qdslResource;
     }
 
     /**
@@ -30,23 +77,53 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
      */
     @Override
     public R save(R resource) {
+        return save(resource, WriteOptions.returning(options.returnMode()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R save(R resource, WriteOptions writeOptions) {
         Objects.requireNonNull(resource);
+        Objects.requireNonNull(writeOptions);
 
+        ReturnMode returnMode = checkReturnMode(writeOptions.returnMode());
         ID resourceId = qdslResource.idMapping().apply(resource);
+        R savedResource = resource;
+        long startTime = startTime();
+        long rows = -1;
 
-        if (exists(resourceId)) {
-            queryFactory.update(qdslResource.rowPath())
-                    .populate(resource)
-                    .where(qdslResource.idPath().eq(resourceId))
-                    .execute();
-        } else {
-            queryFactory.insert(qdslResource.rowPath())
-                    .populate(resource)
-                    .execute();
+        try {
+            if (upsert != null) {
+                upsert.execute(resource);
+            } else if (resourceId != null && exists(resourceId)) {
+                update(resourceId, resource);
+            } else if (resourceId == null || returnMode == ReturnMode.GENERATED) {
+                savedResource = insertWithGeneratedValues(List.of(resource)).get(0);
+            } else {
+                StatementControl.controlled(queryFactory.insert(qdslResource.rowPath()))
+                        .populate(resource)
+                        .execute();
+            }
+
+            rows = 1;
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.SAVE, startTime, rows);
         }
 
-        return findOne(resourceId)
-                .orElseThrow(NoSuchElementException::new);
+        switch (returnMode) {
+            case INPUT:
+                return resource;
+            case GENERATED:
+                return savedResource;
+            case NONE:
+                return null;
+            default:
+                return findOne(qdslResource.idMapping().apply(savedResource))
+                        .orElseThrow(NoSuchElementException::new);
+        }
     }
 
     /**
@@ -54,43 +131,146 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
      */
     @Override
     public Collection<R> save(Iterable<R> resources) {
+        return save(resources, WriteOptions.returning(options.returnMode()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> save(Iterable<R> resources, WriteOptions writeOptions) {
         Objects.requireNonNull(resources);
+        Objects.requireNonNull(writeOptions);
 
+        ReturnMode returnMode = checkReturnMode(writeOptions.returnMode());
         Collection<R> resourcesAsCollection = Iterables.asCollection(resources);
-        Collection<ID> resourceIds = resourcesAsCollection.stream()
+        Collection<R> savedResources = resourcesAsCollection;
+        long startTime = startTime();
+        long rows = -1;
+
+        recordBatchSize(RepositoryMethod.SAVE_ALL, resourcesAsCollection.size());
+
+        try {
+            if (upsert != null && upsert.isBatchable()) {
+                upsert.execute(resourcesAsCollection, options.batchSize());
+            } else {
+                savedResources = insertOrUpdate(resourcesAsCollection, returnMode);
+            }
+
+            rows = resourcesAsCollection.size();
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.SAVE_ALL, startTime, rows);
+        }
+
+        switch (returnMode) {
+            case INPUT:
+                return resourcesAsCollection;
+            case GENERATED:
+                return savedResources;
+            case NONE:
+                return List.of();
+            default:
+                return find(savedResources.stream()
+                        .map(qdslResource.idMapping())
+                        .collect(Collectors.toList()));
+        }
+    }
+
+    private void update(ID resourceId, R resource) {
+        if (byIdStatements != null) {
+            byIdStatements.update(resourceId, resource);
+        } else {
+            StatementControl.controlled(queryFactory.update(qdslResource.rowPath()))
+                    .populate(resource)
+                    .where(qdslResource.idPath().eq(resourceId))
+                    .execute();
+        }
+    }
+
+    private Collection<R> insertOrUpdate(Collection<R> resources, ReturnMode returnMode) {
+        Collection<ID> foundIds = findIds(resources);
+        Set<ID> existingResourceIds = foundIds instanceof Set ? (Set<ID>) foundIds : new HashSet<>(foundIds);
+        boolean withGeneratedValues = returnMode == ReturnMode.GENERATED || resources.stream()
                 .map(qdslResource.idMapping())
-                .collect(Collectors.toList());
-        Collection<ID> existingResourceIds = findIds(resources);
-        boolean insertBatchShouldBeExecuted = resourceIds.size() > existingResourceIds.size();
-        boolean updateBatchShouldBeExecuted = existingResourceIds.size() > 0;
+                .anyMatch(Objects::isNull);
+
+        SQLInsertClause insertBatch = StatementControl.controlled(queryFactory.insert(qdslResource.rowPath()));
+        SQLUpdateClause updateBatch = StatementControl.controlled(queryFactory.update(qdslResource.rowPath()));
+        List<R> insertedResources = new ArrayList<>();
 
-        SQLInsertClause insertBatch = queryFactory.insert(qdslResource.rowPath());
-        SQLUpdateClause updateBatch = queryFactory.update(qdslResource.rowPath());
+        for (R resource : resources) {
+            ID resourceId = qdslResource.idMapping().apply(resource);
 
-        resources.forEach(resource -> addToBatch(resource, existingResourceIds, insertBatch, updateBatch));
+            if (existingResourceIds.contains(resourceId)) {
+                updateBatch.populate(resource)
+                        .where(qdslResource.idPath().eq(resourceId))
+                        .addBatch();
+            } else if (withGeneratedValues) {
+                insertedResources.add(resource);
+            } else {
+                insertBatch.populate(resource)
+                        .addBatch();
+            }
+        }
 
-        if (insertBatchShouldBeExecuted) {
+        if (!insertBatch.isEmpty()) {
             insertBatch.execute();
         }
 
-        if (updateBatchShouldBeExecuted) {
+        if (!updateBatch.isEmpty()) {
             updateBatch.execute();
         }
 
-        return find(resourceIds);
+        if (insertedResources.isEmpty()) {
+            return resources;
+        }
+
+        Map<R, R> savedByInsertedResource = new IdentityHashMap<>();
+        List<R> savedResources = insertWithGeneratedValues(insertedResources);
+
+        for (int index = 0; index < insertedResources.size(); index++) {
+            savedByInsertedResource.put(insertedResources.get(index), savedResources.get(index));
+        }
+
+        return resources.stream()
+                .map(resource -> savedByInsertedResource.getOrDefault(resource, resource))
+                .collect(Collectors.toList());
     }
 
-    private void addToBatch(R resource, Collection<ID> existingResourceIds, SQLInsertClause insertBatch, SQLUpdateClause updateBatch) {
-        ID resourceId = qdslResource.idMapping().apply(resource);
+    /**
+     * Inserts the resources in one batch per set of non null columns, so each batch reports its generated keys.
+     *
+     * @return the inserted resources completed with their generated values, in the same order
+     */
+    private List<R> insertWithGeneratedValues(List<R> resources) {
+        Map<Set<Path<?>>, List<Integer>> indexesByColumns = new LinkedHashMap<>();
+        List<Map<Path<?>, Object>> rows = new ArrayList<>(resources.size());
 
-        if (existingResourceIds.contains(resourceId)) {
-            updateBatch.populate(resource)
-                    .where(qdslResource.idPath().eq(resourceId))
-                    .addBatch();
-        } else {
-            insertBatch.populate(resource)
-                    .addBatch();
+        for (R resource : resources) {
+            Map<Path<?>, Object> row = Rows.values(qdslResource.rowPath(), resource);
+            indexesByColumns.computeIfAbsent(row.keySet(), columns -> new ArrayList<>()).add(rows.size());
+            rows.add(row);
         }
+
+        List<R> savedResources = new ArrayList<>(resources);
+
+        for (List<Integer> indexes : indexesByColumns.values()) {
+            SQLInsertClause insert = StatementControl.controlled(queryFactory.insert(qdslResource.rowPath()));
+            indexes.forEach(index -> Rows.populate(insert, rows.get(index)).addBatch());
+
+            try (ResultSet generatedKeys = insert.executeWithKeys()) {
+                for (Integer index : indexes) {
+                    if (generatedKeys.next()) {
+                        savedResources.set(index, generatedValues.complete(rows.get(index), generatedKeys));
+                    }
+                }
+            } catch (SQLException e) {
+                throw queryFactory.getConfiguration().translate(e);
+            }
+        }
+
+        return savedResources;
     }
 
     /**
@@ -98,12 +278,46 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
      */
     @Override
     public Optional<R> findOne(ID resourceId) {
+        if (byIdStatements == null) {
+            return findOne(resourceId, qdslResource.rowPath());
+        }
+
         Objects.requireNonNull(resourceId);
 
-        return Optional.ofNullable(queryFactory.select(qdslResource.rowPath())
-                .from(qdslResource.rowPath())
-                .where(qdslResource.idPath().eq(resourceId))
-                .fetchOne());
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Optional<R> resource = byIdStatements.findOne(resourceId);
+            rows = resource.isPresent() ? 1 : 0;
+
+            return resource;
+        } finally {
+            record(RepositoryMethod.FIND_ONE_BY_ID, startTime, rows);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(ID resourceId, Expression<P> projection) {
+        Objects.requireNonNull(resourceId);
+
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Optional<P> resource = Optional.ofNullable(queryFactory.select(Objects.requireNonNull(projection))
+                    .from(qdslResource.rowPath())
+                    .where(qdslResource.idPath().eq(resourceId))
+                    .fetchOne());
+            rows = resource.isPresent() ? 1 : 0;
+
+            return resource;
+        } finally {
+            record(RepositoryMethod.FIND_ONE_BY_ID, startTime, rows);
+        }
     }
 
     /**
@@ -111,12 +325,31 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
      */
     @Override
     public Collection<R> find(Iterable<ID> resourceIds) {
+        return find(resourceIds, qdslResource.rowPath());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Iterable<ID> resourceIds, Expression<P> projection) {
         Objects.requireNonNull(resourceIds);
+        Objects.requireNonNull(projection);
 
-        return queryFactory.select(qdslResource.rowPath())
-                .from(qdslResource.rowPath())
-                .where(qdslResource.idPath().in(Iterables.asCollection(resourceIds)))
-                .fetch();
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Collection<P> resources = inChunks.fetch(Iterables.distinct(resourceIds), ids -> queryFactory.select(projection)
+                    .from(qdslResource.rowPath())
+                    .where(qdslResource.idPath().in(ids))
+                    .fetch());
+            rows = resources.size();
+
+            return resources;
+        } finally {
+            record(RepositoryMethod.FIND_BY_IDS, startTime, rows);
+        }
     }
 
     /**
@@ -126,10 +359,45 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
     public boolean exists(ID resourceId) {
         Objects.requireNonNull(resourceId);
 
-        return queryFactory.select(qdslResource.idPath())
-                .from(qdslResource.rowPath())
-                .where(qdslResource.idPath().eq(resourceId))
-                .fetchOne() != null;
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            boolean exists = byIdStatements != null
+                    ? byIdStatements.exists(resourceId)
+                    : queryFactory.selectOne()
+                            .from(qdslResource.rowPath())
+                            .where(qdslResource.idPath().eq(resourceId))
+                            .fetchFirst() != null;
+            rows = exists ? 1 : 0;
+
+            return exists;
+        } finally {
+            record(RepositoryMethod.EXISTS_BY_ID, startTime, rows);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<ID> existsAll(Iterable<ID> resourceIds) {
+        Objects.requireNonNull(resourceIds);
+
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            Set<ID> existingIds = new HashSet<>(inChunks.fetch(Iterables.distinct(resourceIds), ids -> queryFactory.select(qdslResource.idPath())
+                    .from(qdslResource.rowPath())
+                    .where(qdslResource.idPath().in(ids))
+                    .fetch()));
+            rows = existingIds.size();
+
+            return existingIds;
+        } finally {
+            record(RepositoryMethod.EXISTS_ALL, startTime, rows);
+        }
     }
 
     /**
@@ -139,9 +407,21 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
     public boolean delete(ID resourceId) {
         Objects.requireNonNull(resourceId);
 
-        return queryFactory.delete(qdslResource.rowPath())
-                .where(qdslResource.idPath().eq(resourceId))
-                .execute() == 1;
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            rows = byIdStatements != null
+                    ? byIdStatements.delete(resourceId)
+                    : StatementControl.controlled(queryFactory.delete(qdslResource.rowPath()))
+                            .where(qdslResource.idPath().eq(resourceId))
+                            .execute();
+
+            return rows == 1;
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.DELETE_BY_ID, startTime, rows);
+        }
     }
 
     /**
@@ -151,20 +431,26 @@ public class QDSLCrudRepository<T extends RelationalPathBase<R>, R, ID> extends
     public boolean delete(Iterable<ID> resourceIds) {
         Objects.requireNonNull(resourceIds);
 
-        return queryFactory.delete(qdslResource.rowPath())
-                .where(qdslResource.idPath().in(Iterables.asCollection(resourceIds)))
-                .execute() == Iterables.size(resourceIds);
+        Collection<ID> distinctIds = Iterables.distinct(resourceIds);
+        long startTime = startTime();
+        long rows = -1;
+
+        try {
+            rows = inChunks.execute(distinctIds, ids -> StatementControl.controlled(queryFactory.delete(qdslResource.rowPath()))
+                    .where(qdslResource.idPath().in(ids))
+                    .execute());
+
+            return rows == distinctIds.size();
+        } finally {
+            TableVersions.bump(qdslResource.rowPath());
+            record(RepositoryMethod.DELETE_BY_IDS, startTime, rows);
+        }
     }
 
     protected Collection<ID> findIds(Iterable<R> resources) {
-        Collection<ID> resourceIds = Iterables.asCollection(resources)
+        return existsAll(Iterables.asCollection(resources)
                 .stream()
                 .map(qdslResource.idMapping())
-                .collect(Collectors.toList());
-
-        return queryFactory.select(qdslResource.idPath())
-                .from(qdslResource.rowPath())
-                .where(qdslResource.idPath().in(resourceIds))
-                .fetch();
+                .collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,129 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.cache.CacheStats;
+import com.blebail.querydsl.crud.commons.cache.FrequencyCache;
+import com.google.common.base.MoreObjects;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.RelationalPath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the pages and counts read by repositories, by table, predicate, page request and projection.
+ * Each result is tagged with the version its table had before it was read, and is discarded once a write made through any repository bumped this version,
+ * so a result is never served after a write to its table made in this process. Writes made by other processes are seen once results expire.
+ * Predicates are normalized, so conjunctions or disjunctions of the same operands in another order share their results.
+ * Cached pages are shared between callers, which should not modify them.
+ * Reads made within a transactional {@link RepositorySession} bypass the cache, since they may see writes which are not committed yet.
+ * A cache should only be shared by repositories of the same database.
+ */
+public final class QueryCache {
+
+    private final CacheOptions options;
+
+    private final FrequencyCache<List<Object>, Result> cache;
+
+    public QueryCache(CacheOptions options) {
+        this.options = Objects.requireNonNull(options);
+        this.cache = new FrequencyCache<>(options.withWeigher(result -> options.weigher().applyAsLong(((Result) result).value)));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the cached result of the query on the table for these arguments, or the result of the query once cached
+     */
+    @SuppressWarnings("unchecked")
+    <V> V get(RelationalPath<?> table, List<?> arguments, Supplier<V> query) {
+        List<Object> key = key(table, arguments);
+        long tableVersion = TableVersions.current(table);
+        Optional<Result> cachedResult = cache.get(key, result -> result.tableVersion == tableVersion);
+
+        if (cachedResult.isPresent()) {
+            return (V) cachedResult.get().value;
+        }
+
+        long cacheVersion = cache.version();
+        V value = query.get();
+        cache.put(key, new Result(value, tableVersion), cacheVersion);
+
+        return value;
+    }
+
+    private static List<Object> key(RelationalPath<?> table, List<?> arguments) {
+        List<Object> key = new ArrayList<>(arguments.size() + 1);
+        key.add(table.getSchemaAndTable());
+
+        for (Object argument : arguments) {
+            key.add(argument instanceof Predicate ? normalize((Predicate) argument) : argument);
+        }
+
+        return key;
+    }
+
+    /**
+     * Flattens nested conjunctions and disjunctions, and sorts their operands.
+     */
+    static Predicate normalize(Predicate predicate) {
+        if (!(predicate instanceof Operation) || !isAndOr(((Operation<?>) predicate).getOperator())) {
+            return predicate;
+        }
+
+        Operator operator = ((Operation<?>) predicate).getOperator();
+        List<Predicate> operands = new ArrayList<>();
+        flatten(predicate, operator, operands);
+        operands.sort(Comparator.comparing(Object::toString));
+
+        return operator == Ops.AND ? ExpressionUtils.allOf(operands) : ExpressionUtils.anyOf(operands);
+    }
+
+    private static void flatten(Predicate predicate, Operator operator, List<Predicate> operands) {
+        if (predicate instanceof Operation && ((Operation<?>) predicate).getOperator() == operator) {
+            for (Object operand : ((Operation<?>) predicate).getArgs()) {
+                flatten((Predicate) operand, operator, operands);
+            }
+        } else {
+            operands.add(normalize(predicate));
+        }
+    }
+
+    private static boolean isAndOr(Operator operator) {
+        return operator == Ops.AND || operator == Ops.OR;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("options", options)
+                .add("stats", stats())
+                .toString();
+    }
+
+    private static final class Result {
+
+        private final Object value;
+
+        private final long tableVersion;
+
+        private Result(Object value, long tableVersion) {
+            this.value = value;
+            this.tableVersion = tableVersion;
+        }
+    }
+}
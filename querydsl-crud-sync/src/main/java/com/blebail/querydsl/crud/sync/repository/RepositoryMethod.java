@@ -0,0 +1,103 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+/**
+ * The repository methods whose calls {@link RepositoryMetrics} records, each one covering all the overloads of a method
+ * and their asynchronous twins.
+ */
+public enum RepositoryMethod {
+
+    /**
+     * findOne(Predicate)
+     */
+    FIND_ONE,
+
+    /**
+     * find(Predicate)
+     */
+    FIND,
+
+    /**
+     * find(PageRequest)
+     */
+    FIND_PAGE,
+
+    /**
+     * findSlice(PageRequest)
+     */
+    FIND_SLICE,
+
+    /**
+     * find(KeysetPageRequest)
+     */
+    FIND_CURSOR_PAGE,
+
+    /**
+     * findAll()
+     */
+    FIND_ALL,
+
+    /**
+     * stream(Predicate) and iterate(Predicate), recorded once the stream or iterator is closed, with the rows read until then.
+     */
+    ITERATE,
+
+    /**
+     * count(Predicate), which reads a single row.
+     */
+    COUNT,
+
+    /**
+     * exists(Predicate), which reads a row when a resource matches.
+     */
+    EXISTS,
+
+    /**
+     * delete(Predicate)
+     */
+    DELETE,
+
+    /**
+     * deleteAll()
+     */
+    DELETE_ALL,
+
+    /**
+     * save(resource)
+     */
+    SAVE,
+
+    /**
+     * save(Iterable), which also records the number of resources of each call as its batch size.
+     */
+    SAVE_ALL,
+
+    /**
+     * findOne(id)
+     */
+    FIND_ONE_BY_ID,
+
+    /**
+     * find(Iterable of ids)
+     */
+    FIND_BY_IDS,
+
+    /**
+     * exists(id), which reads a row when the resource exists.
+     */
+    EXISTS_BY_ID,
+
+    /**
+     * existsAll(Iterable of ids)
+     */
+    EXISTS_ALL,
+
+    /**
+     * delete(id)
+     */
+    DELETE_BY_ID,
+
+    /**
+     * delete(Iterable of ids)
+     */
+    DELETE_BY_IDS
+}
@@ -0,0 +1,164 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.sql.RelationalPath;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Records the calls of the repositories whose options have these metrics, per table and {@link RepositoryMethod}:
+ * their number, failures, latencies, rows read or written, batch sizes of saves and, for asynchronous repositories, the time waited for a thread.
+ * Pages and counts served by a {@link QueryCache} are recorded as calls, as are the calls a repository makes to itself, such as the re-reads of saves,
+ * whereas calls answered by a caching decorator never reach the repository.
+ * The stats can be pulled, pushed to a {@link MetricsSink}, or exposed through JMX.
+ * It can be shared by several repositories, the ones of a table sharing its metrics.
+ */
+public final class RepositoryMetrics {
+
+    private static final String DOMAIN = "com.blebail.querydsl.crud";
+
+    private final ConcurrentMap<String, TableMetrics> tables;
+
+    public RepositoryMetrics() {
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the metrics of the table, created on its first call
+     */
+    public TableMetrics table(RelationalPath<?> table) {
+        return tables.computeIfAbsent(table.getTableName(), TableMetrics::new);
+    }
+
+    /**
+     * @return the stats of every method called at least once, ordered by table then method
+     */
+    public List<MethodStats> stats() {
+        List<MethodStats> stats = new ArrayList<>();
+
+        tables.values()
+                .stream()
+                .sorted(Comparator.comparing(TableMetrics::table))
+                .forEach(table -> stats.addAll(table.stats()));
+
+        return stats;
+    }
+
+    /**
+     * @return the stats of the method on the table, or empty if it was not called yet
+     */
+    public Optional<MethodStats> stats(RelationalPath<?> table, RepositoryMethod method) {
+        return Optional.ofNullable(tables.get(table.getTableName()))
+                .flatMap(tableMetrics -> tableMetrics.stats()
+                        .stream()
+                        .filter(stats -> stats.method() == method)
+                        .findFirst());
+    }
+
+    /**
+     * Pushes the current stats to the sink, typically from a scheduled task.
+     */
+    public void report(MetricsSink sink) {
+        Objects.requireNonNull(sink).report(stats());
+    }
+
+    /**
+     * Registers a {@link RepositoryMetricsMXBean} of these metrics in the platform MBean server.
+     *
+     * @param name the name of the metrics within the JMX domain of the library, such as the name of the database
+     * @return the name it was registered with, to unregister it
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=RepositoryMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(new MXBean(), RepositoryMetricsMXBean.class, true), objectName);
+
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the repository metrics " + name, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("tables", tables.keySet())
+                .toString();
+    }
+
+    private final class MXBean implements RepositoryMetricsMXBean {
+
+        @Override
+        public Map<String, Long> getCalls() {
+            return byMethod(MethodStats::calls);
+        }
+
+        @Override
+        public Map<String, Long> getFailures() {
+            return byMethod(MethodStats::failures);
+        }
+
+        @Override
+        public Map<String, Long> getRows() {
+            return byMethod(MethodStats::rows);
+        }
+
+        @Override
+        public Map<String, Long> getLatencyP50Micros() {
+            return byMethod(stats -> TimeUnit.NANOSECONDS.toMicros(stats.latencies().p50()));
+        }
+
+        @Override
+        public Map<String, Long> getLatencyP99Micros() {
+            return byMethod(stats -> TimeUnit.NANOSECONDS.toMicros(stats.latencies().p99()));
+        }
+
+        @Override
+        public Map<String, Long> getLatencyP999Micros() {
+            return byMethod(stats -> TimeUnit.NANOSECONDS.toMicros(stats.latencies().p999()));
+        }
+
+        @Override
+        public Map<String, Long> getMaxBatchSize() {
+            return byMethod(stats -> stats.batchSizes().max());
+        }
+
+        @Override
+        public Map<String, Double> getMeanBatchSize() {
+            Map<String, Double> values = new LinkedHashMap<>();
+            stats().forEach(stats -> values.put(key(stats), stats.batchSizes().mean()));
+
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getQueueWaitP99Micros() {
+            return byMethod(stats -> TimeUnit.NANOSECONDS.toMicros(stats.queueWaits().p99()));
+        }
+
+        private Map<String, Long> byMethod(ToLongFunction<MethodStats> value) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            stats().forEach(stats -> values.put(key(stats), value.applyAsLong(stats)));
+
+            return values;
+        }
+
+        private String key(MethodStats stats) {
+            return stats.table() + "." + stats.method();
+        }
+    }
+}
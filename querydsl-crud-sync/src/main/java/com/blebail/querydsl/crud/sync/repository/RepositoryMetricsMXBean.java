@@ -0,0 +1,27 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link RepositoryMetrics}, whose attributes are keyed by table and method, such as "account.FIND_ONE_BY_ID".
+ */
+public interface RepositoryMetricsMXBean {
+
+    Map<String, Long> getCalls();
+
+    Map<String, Long> getFailures();
+
+    Map<String, Long> getRows();
+
+    Map<String, Long> getLatencyP50Micros();
+
+    Map<String, Long> getLatencyP99Micros();
+
+    Map<String, Long> getLatencyP999Micros();
+
+    Map<String, Long> getMaxBatchSize();
+
+    Map<String, Double> getMeanBatchSize();
+
+    Map<String, Long> getQueueWaitP99Micros();
+}
@@ -0,0 +1,306 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Immutable tuning options of a repository.
+ */
+public final class RepositoryOptions {
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final int DEFAULT_IN_CHUNK_SIZE = 1000;
+
+    private static final RepositoryOptions DEFAULTS = new RepositoryOptions();
+
+    private SaveStrategy saveStrategy = SaveStrategy.EXISTS_CHECK;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private ReturnMode returnMode = ReturnMode.REREAD;
+
+    private int inChunkSize = DEFAULT_IN_CHUNK_SIZE;
+
+    private Executor executor;
+
+    private PaginationMode paginationMode = PaginationMode.COUNT_QUERY;
+
+    private CountStrategy countStrategy = new ExactCountStrategy();
+
+    private int fetchSize;
+
+    private boolean cachedStatements;
+
+    private StatementCache statementCache;
+
+    private QueryCache queryCache;
+
+    private Duration queryTimeout;
+
+    private RepositoryMetrics metrics;
+
+    private RepositoryOptions() {
+    }
+
+    public static RepositoryOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public SaveStrategy saveStrategy() {
+        return saveStrategy;
+    }
+
+    /**
+     * @return the maximum number of rows sent in a single batched statement
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public ReturnMode returnMode() {
+        return returnMode;
+    }
+
+    /**
+     * @return the maximum number of ids bound in a single IN list
+     */
+    public int inChunkSize() {
+        return inChunkSize;
+    }
+
+    /**
+     * @return the executor running the independent statements of a single call concurrently, such as the chunks of a large IN list,
+     * or empty to run them one after the other on the calling thread.
+     * Calls made within a {@link RepositorySession} always run on the calling thread, so on the connection of the session.
+     * The statements run on the executor keep the timeout and cancellation of the {@link StatementControl} of their call
+     */
+    public Optional<Executor> executor() {
+        return Optional.ofNullable(executor);
+    }
+
+    public PaginationMode paginationMode() {
+        return paginationMode;
+    }
+
+    /**
+     * @return the strategy counting the resources for count() and the totals of pages, unless they are read with {@link PaginationMode#WINDOW_COUNT}
+     */
+    public CountStrategy countStrategy() {
+        return countStrategy;
+    }
+
+    /**
+     * @return the number of rows fetched per round trip when streaming resources, or 0 to leave it to the driver
+     */
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @return whether the statements by id of crud repositories are serialized once and reused, rather than built and serialized on every call. Disabled by default
+     */
+    public boolean cachedStatements() {
+        return cachedStatements;
+    }
+
+    /**
+     * @return the cache keeping the prepared statements by id open between calls on the same connection, or empty to prepare them on every call.
+     * Only used with {@link #cachedStatements()}
+     */
+    public Optional<StatementCache> statementCache() {
+        return Optional.ofNullable(statementCache);
+    }
+
+    /**
+     * @return the cache of the pages and counts read by predicate, or empty to always read them from the database
+     */
+    public Optional<QueryCache> queryCache() {
+        return Optional.ofNullable(queryCache);
+    }
+
+    /**
+     * @return the timeout of the statements of each call made through an asynchronous repository, or empty to keep the driver's.
+     * Synchronous calls are bounded with {@link StatementControl#withQueryTimeout(Duration, java.util.function.Supplier)}
+     */
+    public Optional<Duration> queryTimeout() {
+        return Optional.ofNullable(queryTimeout);
+    }
+
+    /**
+     * @return the metrics recording the calls of the repository, or empty to record nothing
+     */
+    public Optional<RepositoryMetrics> metrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    public RepositoryOptions withSaveStrategy(SaveStrategy saveStrategy) {
+        RepositoryOptions options = copy();
+        options.saveStrategy = Objects.requireNonNull(saveStrategy);
+
+        return options;
+    }
+
+    public RepositoryOptions withBatchSize(int batchSize) {
+        RepositoryOptions options = copy();
+        options.batchSize = positive(batchSize, "Batch size");
+
+        return options;
+    }
+
+    public RepositoryOptions withReturnMode(ReturnMode returnMode) {
+        RepositoryOptions options = copy();
+        options.returnMode = Objects.requireNonNull(returnMode);
+
+        return options;
+    }
+
+    public RepositoryOptions withInChunkSize(int inChunkSize) {
+        RepositoryOptions options = copy();
+        options.inChunkSize = positive(inChunkSize, "IN chunk size");
+
+        return options;
+    }
+
+    public RepositoryOptions withExecutor(Executor executor) {
+        RepositoryOptions options = copy();
+        options.executor = Objects.requireNonNull(executor);
+
+        return options;
+    }
+
+    public RepositoryOptions withPaginationMode(PaginationMode paginationMode) {
+        RepositoryOptions options = copy();
+        options.paginationMode = Objects.requireNonNull(paginationMode);
+
+        return options;
+    }
+
+    public RepositoryOptions withCountStrategy(CountStrategy countStrategy) {
+        RepositoryOptions options = copy();
+        options.countStrategy = Objects.requireNonNull(countStrategy);
+
+        return options;
+    }
+
+    public RepositoryOptions withFetchSize(int fetchSize) {
+        RepositoryOptions options = copy();
+        options.fetchSize = positive(fetchSize, "Fetch size");
+
+        return options;
+    }
+
+    public RepositoryOptions withCachedStatements(boolean cachedStatements) {
+        RepositoryOptions options = copy();
+        options.cachedStatements = cachedStatements;
+
+        return options;
+    }
+
+    public RepositoryOptions withStatementCache(StatementCache statementCache) {
+        RepositoryOptions options = copy();
+        options.statementCache = Objects.requireNonNull(statementCache);
+
+        return options;
+    }
+
+    public RepositoryOptions withQueryCache(QueryCache queryCache) {
+        RepositoryOptions options = copy();
+        options.queryCache = Objects.requireNonNull(queryCache);
+
+        return options;
+    }
+
+    public RepositoryOptions withQueryTimeout(Duration queryTimeout) {
+        if (queryTimeout.isNegative() || queryTimeout.isZero()) {
+            throw new IllegalArgumentException("Query timeout should be positive, got " + queryTimeout);
+        }
+
+        RepositoryOptions options = copy();
+        options.queryTimeout = queryTimeout;
+
+        return options;
+    }
+
+    public RepositoryOptions withMetrics(RepositoryMetrics metrics) {
+        RepositoryOptions options = copy();
+        options.metrics = Objects.requireNonNull(metrics);
+
+        return options;
+    }
+
+    private RepositoryOptions copy() {
+        RepositoryOptions options = new RepositoryOptions();
+        options.saveStrategy = saveStrategy;
+        options.batchSize = batchSize;
+        options.returnMode = returnMode;
+        options.inChunkSize = inChunkSize;
+        options.executor = executor;
+        options.paginationMode = paginationMode;
+        options.countStrategy = countStrategy;
+        options.fetchSize = fetchSize;
+        options.cachedStatements = cachedStatements;
+        options.statementCache = statementCache;
+        options.queryCache = queryCache;
+        options.queryTimeout = queryTimeout;
+        options.metrics = metrics;
+
+        return options;
+    }
+
+    private static int positive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " should be positive, got " + value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RepositoryOptions that = (RepositoryOptions) o;
+        return saveStrategy == that.saveStrategy &&
+                batchSize == that.batchSize &&
+                returnMode == that.returnMode &&
+                inChunkSize == that.inChunkSize &&
+                Objects.equals(executor, that.executor) &&
+                paginationMode == that.paginationMode &&
+                Objects.equals(countStrategy, that.countStrategy) &&
+                fetchSize == that.fetchSize &&
+                cachedStatements == that.cachedStatements &&
+                Objects.equals(statementCache, that.statementCache) &&
+                Objects.equals(queryCache, that.queryCache) &&
+                Objects.equals(queryTimeout, that.queryTimeout) &&
+                Objects.equals(metrics, that.metrics);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saveStrategy, batchSize, returnMode, inChunkSize, executor, paginationMode, countStrategy, fetchSize, cachedStatements, statementCache, queryCache, queryTimeout, metrics);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("saveStrategy", saveStrategy)
+                .add("batchSize", batchSize)
+                .add("returnMode", returnMode)
+                .add("inChunkSize", inChunkSize)
+                .add("executor", executor)
+                .add("paginationMode", paginationMode)
+                .add("countStrategy", countStrategy)
+                .add("fetchSize", fetchSize)
+                .add("cachedStatements", cachedStatements)
+                .add("statementCache", statementCache)
+                .add("queryCache", queryCache)
+                .add("queryTimeout", queryTimeout)
+                .add("metrics", metrics)
+                .toString();
+    }
+}
@@ -0,0 +1,440 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.sql.SQLCloseListener;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SchemaAndTable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pins a connection per query factory for the repository calls made within the session, instead of getting one from the factory on every call.
+ * This saves the round trips to the connection pool, lets a {@link StatementCache} reuse its statements, and can run the calls in a single transaction.
+ * A session is bound to the thread which opened it until it is closed, and asynchronous repositories run the calls made within it on its connections,
+ * so they should be awaited one after the other: most drivers do not run statements of the same connection concurrently.
+ * Connections which the factory owns, such as the ones from a DataSource, are closed with the session.
+ * The tables written within a transaction are marked as changed again once it commits or closes, so that the results cached by other sessions meanwhile are discarded.
+ */
+public final class RepositorySession implements AutoCloseable {
+
+    private static final ThreadLocal<RepositorySession> CURRENT = new ThreadLocal<>();
+
+    private final boolean transactional;
+
+    private final Map<SQLQueryFactory, PinnedConnection> connections;
+
+    private final RepositorySession previous;
+
+    private final Set<SchemaAndTable> writtenTables;
+
+    private final List<Runnable> completionActions;
+
+    private boolean closed;
+
+    private RepositorySession(boolean transactional, RepositorySession previous) {
+        this.transactional = transactional;
+        this.connections = new IdentityHashMap<>();
+        this.previous = previous;
+        this.writtenTables = new LinkedHashSet<>();
+        this.completionActions = new ArrayList<>();
+    }
+
+    /**
+     * Opens a session in auto-commit mode, bound to the current thread until it is closed.
+     */
+    public static RepositorySession open() {
+        return open(false);
+    }
+
+    /**
+     * Opens a session running its calls in a transaction, bound to the current thread until it is closed.
+     * What was not committed yet is rolled back on close.
+     */
+    public static RepositorySession openTransaction() {
+        return open(true);
+    }
+
+    /**
+     * Runs the call within the session of the current thread, or else within a new one.
+     */
+    public static <V> V withConnection(Supplier<V> call) {
+        if (CURRENT.get() != null) {
+            return call.get();
+        }
+
+        try (RepositorySession session = open()) {
+            return session.run(call);
+        }
+    }
+
+    /**
+     * Runs the call within the session of the current thread, or else within a new transaction, committed once the call returns and rolled back if it throws.
+     */
+    public static <V> V inTransaction(Supplier<V> call) {
+        if (CURRENT.get() != null) {
+            return call.get();
+        }
+
+        try (RepositorySession session = openTransaction()) {
+            V result = call.get();
+            session.commit();
+
+            return result;
+        }
+    }
+
+    /**
+     * @return the session bound to the current thread, if any
+     */
+    public static Optional<RepositorySession> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return a factory getting the connections of the current session, or else the ones of the given factory,
+     * whose queries run within the {@link StatementControl} of their call
+     */
+    static SQLQueryFactory sessionAware(SQLQueryFactory queryFactory) {
+        return new SQLQueryFactory(queryFactory.getConfiguration(), () -> {
+            RepositorySession session = CURRENT.get();
+
+            return session != null ? session.connection(queryFactory) : queryFactory.getConnection();
+        }) {
+            @Override
+            public SQLQuery<?> query() {
+                return StatementControl.controlled(super.query());
+            }
+        };
+    }
+
+    /**
+     * @return whether the current thread runs its calls within a transaction, whose writes other sessions may not see yet
+     */
+    static boolean isInTransaction() {
+        RepositorySession session = CURRENT.get();
+
+        return session != null && session.transactional;
+    }
+
+    /**
+     * Marks the table as written by the transaction of the current thread, if any, to bump its version again once the transaction ends.
+     */
+    static void written(SchemaAndTable table) {
+        RepositorySession session = CURRENT.get();
+
+        if (session != null && session.transactional) {
+            synchronized (session) {
+                if (!session.closed) {
+                    session.writtenTables.add(table);
+                }
+            }
+        }
+    }
+
+    private static RepositorySession open(boolean transactional) {
+        RepositorySession session = new RepositorySession(transactional, CURRENT.get());
+        CURRENT.set(session);
+
+        return session;
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    /**
+     * @return the number of connections pinned so far, one per query factory used within the session
+     */
+    public synchronized int connections() {
+        return connections.size();
+    }
+
+    /**
+     * Runs the call on the current thread within this session, as asynchronous repositories do for the calls made within it.
+     */
+    public <V> V run(Supplier<V> call) {
+        RepositorySession bound = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            return call.get();
+        } finally {
+            if (bound != null) {
+                CURRENT.set(bound);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs the action once the transaction of the session ends, after the next commit or on close, such as to discard what other sessions cached
+     * while the writes of this one were not visible to them yet.
+     * The action runs right away when the session is not transactional, or already closed.
+     */
+    public void afterCompletion(Runnable action) {
+        Objects.requireNonNull(action);
+
+        synchronized (this) {
+            if (transactional && !closed) {
+                completionActions.add(action);
+
+                return;
+            }
+        }
+
+        action.run();
+    }
+
+    /**
+     * Commits the transaction of every pinned connection, one after the other.
+     */
+    public void commit() {
+        checkTransactional();
+
+        synchronized (this) {
+            for (Map.Entry<SQLQueryFactory, PinnedConnection> entry : connections.entrySet()) {
+                try {
+                    entry.getValue().connection.commit();
+                } catch (SQLException e) {
+                    throw entry.getKey().getConfiguration().translate(e);
+                }
+            }
+        }
+
+        complete();
+    }
+
+    /**
+     * Rolls back the transaction of every pinned connection.
+     */
+    public synchronized void rollback() {
+        checkTransactional();
+
+        RuntimeException failure = null;
+
+        for (Map.Entry<SQLQueryFactory, PinnedConnection> entry : connections.entrySet()) {
+            try {
+                entry.getValue().connection.rollback();
+            } catch (SQLException e) {
+                failure = failure == null ? entry.getKey().getConfiguration().translate(e) : failure;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Rolls back what was not committed yet, then releases the pinned connections and unbinds the session from the current thread.
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        List<RuntimeException> failures = new ArrayList<>();
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            if (transactional) {
+                try {
+                    rollback();
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }
+
+            for (Map.Entry<SQLQueryFactory, PinnedConnection> entry : connections.entrySet()) {
+                try {
+                    entry.getValue().release();
+                } catch (SQLException e) {
+                    failures.add(entry.getKey().getConfiguration().translate(e));
+                }
+            }
+
+            connections.clear();
+        }
+
+        try {
+            complete();
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+
+        if (!failures.isEmpty()) {
+            RuntimeException failure = failures.get(0);
+            failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+
+            throw failure;
+        }
+    }
+
+    /**
+     * Bumps the versions of the tables written so far, then runs the completion actions.
+     */
+    private void complete() {
+        List<SchemaAndTable> tables;
+        List<Runnable> actions;
+
+        synchronized (this) {
+            tables = new ArrayList<>(writtenTables);
+            actions = new ArrayList<>(completionActions);
+            writtenTables.clear();
+            completionActions.clear();
+        }
+
+        tables.forEach(TableVersions::bump);
+
+        RuntimeException failure = null;
+
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkTransactional() {
+        if (!transactional) {
+            throw new IllegalStateException("Session is not transactional");
+        }
+    }
+
+    private synchronized Connection connection(SQLQueryFactory queryFactory) {
+        if (closed) {
+            throw new IllegalStateException("Session is closed");
+        }
+
+        PinnedConnection pinnedConnection = connections.get(queryFactory);
+
+        if (pinnedConnection == null) {
+            pinnedConnection = pin(queryFactory);
+            connections.put(queryFactory, pinnedConnection);
+        }
+
+        return pinnedConnection.proxy;
+    }
+
+    private PinnedConnection pin(SQLQueryFactory queryFactory) {
+        Connection connection = queryFactory.getConnection();
+        boolean owned = queryFactory.getConfiguration().getListeners().getListeners().contains(SQLCloseListener.DEFAULT);
+
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+
+            if (transactional && autoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            return new PinnedConnection(connection, owned, autoCommit);
+        } catch (SQLException e) {
+            if (owned) {
+                try {
+                    connection.close();
+                } catch (SQLException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+
+            throw queryFactory.getConfiguration().translate(e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("transactional", transactional)
+                .add("connections", connections.size())
+                .add("closed", closed)
+                .toString();
+    }
+
+    /**
+     * A connection handed out to the statements of the session through a proxy ignoring close(), which QueryDSL calls once each statement ends.
+     */
+    private static final class PinnedConnection {
+
+        private final Connection connection;
+
+        private final Connection proxy;
+
+        private final boolean owned;
+
+        private final boolean autoCommit;
+
+        private PinnedConnection(Connection connection, boolean owned, boolean autoCommit) {
+            this.connection = connection;
+            this.owned = owned;
+            this.autoCommit = autoCommit;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, arguments) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                return null;
+                            case "equals":
+                                return proxy == arguments[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+
+                        try {
+                            return method.invoke(connection, arguments);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+            );
+        }
+
+        private void release() throws SQLException {
+            try {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } finally {
+                if (owned) {
+                    connection.close();
+                }
+            }
+        }
+    }
+}
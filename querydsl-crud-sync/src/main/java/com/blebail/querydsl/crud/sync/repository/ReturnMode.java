@@ -0,0 +1,29 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+/**
+ * What a {@link CrudRepository} returns after saving resources.
+ */
+public enum ReturnMode {
+
+    /**
+     * Reads the saved resources back from the database, one extra query per save.
+     */
+    REREAD,
+
+    /**
+     * Returns the resources that were passed to the save, as is.
+     */
+    INPUT,
+
+    /**
+     * Returns the resources that were passed to the save, completed with the values generated by the database on insert,
+     * such as identity columns, read from the statement's generated keys instead of an extra query.
+     * Updated resources are returned as is. Not supported with {@link SaveStrategy#UPSERT}, whose saves throw an {@link IllegalArgumentException}.
+     */
+    GENERATED,
+
+    /**
+     * Returns nothing: {@code null} for a single resource, an empty collection for several.
+     */
+    NONE
+}
@@ -0,0 +1,33 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.core.dml.StoreClause;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.dml.DefaultMapper;
+
+import java.util.Map;
+
+/**
+ * Column values of resources, as bound by QueryDSL's default populate().
+ */
+final class Rows {
+
+    private Rows() {
+    }
+
+    /**
+     * @return the non null column values of the resource, by column path
+     */
+    static Map<Path<?>, Object> values(RelationalPath<?> rowPath, Object resource) {
+        return DefaultMapper.DEFAULT.createMap(rowPath, resource);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <C extends StoreClause<C>> C populate(C clause, Map<Path<?>, Object> values) {
+        for (Map.Entry<Path<?>, Object> entry : values.entrySet()) {
+            clause.set((Path<Object>) entry.getKey(), entry.getValue());
+        }
+
+        return clause;
+    }
+}
@@ -0,0 +1,19 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+/**
+ * How a {@link CrudRepository} decides between an insert and an update when saving resources.
+ */
+public enum SaveStrategy {
+
+    /**
+     * Checks whether the resource exists, then issues either an UPDATE or an INSERT.
+     */
+    EXISTS_CHECK,
+
+    /**
+     * Issues a single upsert statement, chosen according to the SQL dialect:
+     * MERGE when natively supported, INSERT ... ON CONFLICT for PostgreSQL,
+     * INSERT ... ON DUPLICATE KEY UPDATE for MySQL, and QueryDSL's emulated merge otherwise.
+     */
+    UPSERT
+}
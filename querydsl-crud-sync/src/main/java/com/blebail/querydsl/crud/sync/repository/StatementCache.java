@@ -0,0 +1,215 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the prepared statements by id of repositories open between calls, per connection and SQL text.
+ * Statements are only reused while their connection stays open: when the factory hands out a new connection per call and closes it afterwards,
+ * its statements are dropped at the end of the call, so the cache only pays off when the same connection serves several calls, such as within a transaction.
+ * A statement is taken out of the cache while it is executed, so a connection shared by several threads never runs the same statement twice at once.
+ * It can be shared by several repositories.
+ */
+public final class StatementCache {
+
+    private final int maxStatementsPerConnection;
+
+    private final Map<Connection, LinkedHashMap<String, PreparedStatement>> statementsByConnection;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder evictions;
+
+    /**
+     * @param maxStatementsPerConnection the number of statements kept open per connection, the least recently used ones being closed first
+     */
+    public StatementCache(int maxStatementsPerConnection) {
+        if (maxStatementsPerConnection <= 0) {
+            throw new IllegalArgumentException("Max statements per connection should be positive, got " + maxStatementsPerConnection);
+        }
+
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+        this.statementsByConnection = new IdentityHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * @return the number of statements reused from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of statements prepared because none was cached for the connection
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of statements closed to make room for others
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of statements currently kept open
+     */
+    public synchronized int size() {
+        return statementsByConnection.values()
+                .stream()
+                .mapToInt(Map::size)
+                .sum();
+    }
+
+    /**
+     * Closes every cached statement, for instance before closing connections which are not managed by the repositories.
+     */
+    public void clear() {
+        List<PreparedStatement> statements = new ArrayList<>();
+
+        synchronized (this) {
+            statementsByConnection.values().forEach(cached -> statements.addAll(cached.values()));
+            statementsByConnection.clear();
+        }
+
+        statements.forEach(StatementCache::closeQuietly);
+    }
+
+    /**
+     * @return a cached statement of the connection for this SQL, or a newly prepared one
+     */
+    PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = null;
+
+        synchronized (this) {
+            Map<String, PreparedStatement> statements = statementsByConnection.get(connection);
+
+            if (statements != null) {
+                statement = statements.remove(sql);
+            }
+        }
+
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+
+            return statement;
+        }
+
+        misses.increment();
+
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Puts back a statement prepared by {@link #prepare(Connection, String)} once it was executed successfully.
+     */
+    void release(Connection connection, String sql, PreparedStatement statement) throws SQLException {
+        if (connection.isClosed()) {
+            statement.close();
+
+            return;
+        }
+
+        statement.clearParameters();
+        List<PreparedStatement> closedStatements = new ArrayList<>();
+
+        synchronized (this) {
+            LinkedHashMap<String, PreparedStatement> statements = statementsByConnection.get(connection);
+
+            if (statements == null) {
+                closedStatements.addAll(removeClosedConnections());
+                statements = new LinkedHashMap<>(16, 0.75f, true);
+                statementsByConnection.put(connection, statements);
+            }
+
+            PreparedStatement replaced = statements.put(sql, statement);
+
+            if (replaced != null && replaced != statement) {
+                closedStatements.add(replaced);
+            }
+
+            if (statements.size() > maxStatementsPerConnection) {
+                Iterator<PreparedStatement> leastRecentlyUsed = statements.values().iterator();
+                closedStatements.add(leastRecentlyUsed.next());
+                leastRecentlyUsed.remove();
+                evictions.increment();
+            }
+        }
+
+        closedStatements.forEach(StatementCache::closeQuietly);
+    }
+
+    /**
+     * Drops the statements of the connection once it is closed, as it is when the factory hands out a connection per call.
+     */
+    void releaseIfClosed(Connection connection) {
+        List<PreparedStatement> closedStatements = new ArrayList<>();
+
+        synchronized (this) {
+            if (statementsByConnection.containsKey(connection) && isClosed(connection)) {
+                closedStatements.addAll(statementsByConnection.remove(connection).values());
+            }
+        }
+
+        closedStatements.forEach(StatementCache::closeQuietly);
+    }
+
+    private List<PreparedStatement> removeClosedConnections() {
+        List<PreparedStatement> closedStatements = new ArrayList<>();
+        Iterator<Map.Entry<Connection, LinkedHashMap<String, PreparedStatement>>> entries = statementsByConnection.entrySet().iterator();
+
+        while (entries.hasNext()) {
+            Map.Entry<Connection, LinkedHashMap<String, PreparedStatement>> entry = entries.next();
+
+            if (isClosed(entry.getKey())) {
+                closedStatements.addAll(entry.getValue().values());
+                entries.remove();
+            }
+        }
+
+        return closedStatements;
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // the statement is discarded either way
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxStatementsPerConnection", maxStatementsPerConnection)
+                .add("hits", hits())
+                .add("misses", misses())
+                .add("evictions", evictions())
+                .toString();
+    }
+}
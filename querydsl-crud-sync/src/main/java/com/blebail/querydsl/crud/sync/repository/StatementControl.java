@@ -0,0 +1,243 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.sql.AbstractSQLQuery;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLListeners;
+import com.querydsl.sql.dml.AbstractSQLClause;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Controls the statements that repositories run during a call on the current thread:
+ * they get its query timeout, rounded up to the second as JDBC requires, and are cancelled by {@link #cancel()}, even from another thread.
+ * Asynchronous repositories run each call within a control, cancelled when their future is cancelled or completed otherwise.
+ */
+public final class StatementControl {
+
+    private static final ThreadLocal<StatementControl> CURRENT = new ThreadLocal<>();
+
+    private static final StatementListener LISTENER = new StatementListener();
+
+    private final Duration queryTimeout;
+
+    private final Map<Statement, Boolean> runningStatements;
+
+    private volatile boolean cancelled;
+
+    public StatementControl() {
+        this(null);
+    }
+
+    /**
+     * @param queryTimeout the timeout of each statement, or null to keep the driver's
+     */
+    public StatementControl(Duration queryTimeout) {
+        if (queryTimeout != null && (queryTimeout.isNegative() || queryTimeout.isZero())) {
+            throw new IllegalArgumentException("Query timeout should be positive, got " + queryTimeout);
+        }
+
+        this.queryTimeout = queryTimeout;
+        this.runningStatements = new IdentityHashMap<>();
+    }
+
+    /**
+     * Runs the call with a timeout on each of its statements.
+     */
+    public static <V> V withQueryTimeout(Duration queryTimeout, Supplier<V> call) {
+        return new StatementControl(queryTimeout).run(call);
+    }
+
+    /**
+     * @return the control of the call running on the current thread, if any
+     */
+    public static Optional<StatementControl> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Lets the control see the statements of the query, which repositories do for each query they build,
+     * leaving the configuration, which other factories may share, untouched.
+     */
+    static <Q extends AbstractSQLQuery<?, ?>> Q controlled(Q query) {
+        query.addListener(LISTENER);
+
+        return query;
+    }
+
+    /**
+     * Same as {@link #controlled(AbstractSQLQuery)} for the inserts, updates, deletes and merges.
+     */
+    static <C extends AbstractSQLClause<C>> C controlled(C clause) {
+        clause.addListener(LISTENER);
+
+        return clause;
+    }
+
+    /**
+     * @return the listeners of the configuration, including the ones added later, followed by the one letting the control see the statements,
+     * for the statements which repositories run without a query or clause
+     */
+    static SQLListeners controlledListeners(Configuration configuration) {
+        SQLListeners listeners = new SQLListeners(configuration.getListeners());
+        listeners.add(LISTENER);
+
+        return listeners;
+    }
+
+    /**
+     * @return the call running within the control of the current thread, if any, for the statements a call hands over to other threads
+     */
+    static <V> Supplier<V> carried(Supplier<V> call) {
+        StatementControl control = CURRENT.get();
+
+        return control != null ? () -> control.run(call) : call;
+    }
+
+    public Optional<Duration> queryTimeout() {
+        return Optional.ofNullable(queryTimeout);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Runs the call on the current thread within this control, which the statements prepared meanwhile get.
+     */
+    public <V> V run(Supplier<V> call) {
+        StatementControl previous = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Cancels the running statements of the call, and fails the next ones with a {@link CancellationException}.
+     */
+    public void cancel() {
+        List<Statement> statements;
+
+        synchronized (this) {
+            cancelled = true;
+            statements = new ArrayList<>(runningStatements.keySet());
+        }
+
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // the statement already ended or cannot be cancelled
+            }
+        }
+    }
+
+    private void prepared(Collection<? extends Statement> statements) throws SQLException {
+        synchronized (this) {
+            if (cancelled) {
+                throw new CancellationException("Call was cancelled");
+            }
+
+            statements.forEach(statement -> runningStatements.put(statement, true));
+        }
+
+        if (queryTimeout != null) {
+            int seconds = (int) Math.max(1, (queryTimeout.toMillis() + 999) / 1000);
+
+            for (Statement statement : statements) {
+                statement.setQueryTimeout(seconds);
+            }
+        }
+    }
+
+    private void ended(Collection<? extends Statement> statements) {
+        synchronized (this) {
+            statements.forEach(runningStatements::remove);
+        }
+
+        if (queryTimeout != null) {
+            for (Statement statement : statements) {
+                try {
+                    if (!statement.isClosed()) {
+                        statement.setQueryTimeout(0);
+                    }
+                } catch (SQLException e) {
+                    // the statement is not reused
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("queryTimeout", queryTimeout)
+                .add("cancelled", cancelled)
+                .toString();
+    }
+
+    /**
+     * Hands the statements prepared on a thread over to the control of its call, and takes them back when they end.
+     */
+    private static final class StatementListener extends SQLBaseListener {
+
+        private static final String CONTROL = StatementControl.class.getName();
+
+        @Override
+        public void prepared(SQLListenerContext context) {
+            StatementControl control = CURRENT.get();
+
+            if (control == null) {
+                return;
+            }
+
+            Collection<? extends Statement> statements = statements(context);
+            context.setData(CONTROL, control);
+
+            try {
+                control.prepared(statements);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not set the query timeout", e);
+            }
+        }
+
+        @Override
+        public void end(SQLListenerContext context) {
+            Object control = context.getData(CONTROL);
+
+            if (control != null) {
+                ((StatementControl) control).ended(statements(context));
+            }
+        }
+
+        private static Collection<? extends Statement> statements(SQLListenerContext context) {
+            Collection<? extends Statement> statements = context.getPreparedStatements();
+
+            if (statements != null && !statements.isEmpty()) {
+                return statements;
+            }
+
+            return context.getPreparedStatement() != null ? List.of(context.getPreparedStatement()) : List.of();
+        }
+    }
+}
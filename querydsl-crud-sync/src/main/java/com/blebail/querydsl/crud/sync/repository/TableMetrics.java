@@ -0,0 +1,64 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@link MethodMetrics} of a table, created on the first call of each method.
+ */
+public final class TableMetrics {
+
+    private static final RepositoryMethod[] METHODS = RepositoryMethod.values();
+
+    private final String table;
+
+    private final AtomicReferenceArray<MethodMetrics> methods;
+
+    TableMetrics(String table) {
+        this.table = table;
+        this.methods = new AtomicReferenceArray<>(METHODS.length);
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public MethodMetrics method(RepositoryMethod method) {
+        MethodMetrics metrics = methods.get(method.ordinal());
+
+        if (metrics == null) {
+            methods.compareAndSet(method.ordinal(), null, new MethodMetrics(table, method));
+            metrics = methods.get(method.ordinal());
+        }
+
+        return metrics;
+    }
+
+    /**
+     * @return the stats of the methods called at least once, in the order of {@link RepositoryMethod}
+     */
+    public List<MethodStats> stats() {
+        List<MethodStats> stats = new ArrayList<>();
+
+        for (RepositoryMethod method : METHODS) {
+            MethodMetrics metrics = methods.get(method.ordinal());
+
+            if (metrics != null) {
+                stats.add(metrics.stats());
+            }
+        }
+
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("table", table)
+                .add("stats", stats())
+                .toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SchemaAndTable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of every table, bumped by each write made through a repository, whatever its options.
+ * Writes made within a transactional {@link RepositorySession} bump their table again once the transaction commits or closes,
+ * since results read by other sessions in between do not see them yet.
+ * Results read at an older version of their table are stale.
+ */
+final class TableVersions {
+
+    private static final Map<SchemaAndTable, AtomicLong> VERSIONS = new ConcurrentHashMap<>();
+
+    private TableVersions() {
+    }
+
+    static long current(RelationalPath<?> table) {
+        return version(table).get();
+    }
+
+    static void bump(RelationalPath<?> table) {
+        bump(table.getSchemaAndTable());
+        RepositorySession.written(table.getSchemaAndTable());
+    }
+
+    static void bump(SchemaAndTable table) {
+        version(table).incrementAndGet();
+    }
+
+    private static AtomicLong version(RelationalPath<?> table) {
+        return version(table.getSchemaAndTable());
+    }
+
+    private static AtomicLong version(SchemaAndTable table) {
+        return VERSIONS.computeIfAbsent(table, schemaAndTable -> new AtomicLong());
+    }
+}
@@ -0,0 +1,254 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+import com.querydsl.sql.ForeignKey;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SchemaAndTable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Records saves and deletes made through several repositories, then writes them at once on {@link #commit()}:
+ * one batch of saves and one delete per table, in a single transaction.
+ * Saves of the same id are coalesced, the last one winning, and a delete cancels the previous saves of its id.
+ * Tables are ordered by their foreign keys, as declared by the generated query types: saves run parents first, then deletes run children first.
+ * Repositories should share their query factory, otherwise each factory commits its own transaction one after the other.
+ */
+public final class UnitOfWork {
+
+    private final Map<SchemaAndTable, TableWrites<?, ?>> writesByTable;
+
+    public UnitOfWork() {
+        this.writesByTable = new LinkedHashMap<>();
+    }
+
+    /**
+     * Records the save of the resource, written on commit.
+     */
+    public synchronized <T extends RelationalPathBase<R>, R, ID> void save(QDSLCrudRepository<T, R, ID> repository, R resource) {
+        writes(repository).save(Objects.requireNonNull(resource));
+    }
+
+    /**
+     * Records the saves of the resources, written on commit.
+     */
+    public synchronized <T extends RelationalPathBase<R>, R, ID> void save(QDSLCrudRepository<T, R, ID> repository, Iterable<R> resources) {
+        TableWrites<R, ID> writes = writes(repository);
+        Objects.requireNonNull(resources).forEach(resource -> writes.save(Objects.requireNonNull(resource)));
+    }
+
+    /**
+     * Records the delete of the resource, written on commit.
+     */
+    public synchronized <T extends RelationalPathBase<R>, R, ID> void delete(QDSLCrudRepository<T, R, ID> repository, ID resourceId) {
+        writes(repository).delete(Objects.requireNonNull(resourceId));
+    }
+
+    /**
+     * @return the number of saves and deletes left to write, once coalesced
+     */
+    public synchronized int pendingWrites() {
+        return writesByTable.values()
+                .stream()
+                .mapToInt(TableWrites::size)
+                .sum();
+    }
+
+    /**
+     * Discards the writes recorded so far.
+     */
+    public synchronized void clear() {
+        writesByTable.clear();
+    }
+
+    /**
+     * Writes the recorded saves and deletes in a single transaction, or within the current {@link RepositorySession} if any.
+     * The writes are discarded once written, and kept if the transaction fails, so they can be committed again or cleared.
+     */
+    public synchronized void commit() {
+        if (writesByTable.isEmpty()) {
+            return;
+        }
+
+        List<TableWrites<?, ?>> orderedWrites = dependencyOrder(writesByTable.values());
+
+        RepositorySession.inTransaction(() -> {
+            orderedWrites.forEach(TableWrites::flushSaves);
+
+            for (int index = orderedWrites.size() - 1; index >= 0; index--) {
+                orderedWrites.get(index).flushDeletes();
+            }
+
+            return null;
+        });
+
+        writesByTable.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends RelationalPathBase<R>, R, ID> TableWrites<R, ID> writes(QDSLCrudRepository<T, R, ID> repository) {
+        T table = Objects.requireNonNull(repository).qdslResource().rowPath();
+
+        return (TableWrites<R, ID>) writesByTable.computeIfAbsent(table.getSchemaAndTable(), schemaAndTable -> new TableWrites<>(
+                repository,
+                table,
+                repository.qdslResource().idMapping()
+        ));
+    }
+
+    /**
+     * Orders the tables so each one comes after the tables it references, keeping the recording order otherwise.
+     * References within a table, or in a cycle, are ignored.
+     */
+    private static List<TableWrites<?, ?>> dependencyOrder(Collection<TableWrites<?, ?>> tableWrites) {
+        Map<Class<?>, List<TableWrites<?, ?>>> writesByRowType = new IdentityHashMap<>();
+        tableWrites.forEach(writes -> writesByRowType.computeIfAbsent(writes.table.getType(), rowType -> new ArrayList<>()).add(writes));
+
+        List<TableWrites<?, ?>> orderedWrites = new ArrayList<>(tableWrites.size());
+        Set<TableWrites<?, ?>> visitedWrites = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (TableWrites<?, ?> writes : tableWrites) {
+            visit(writes, writesByRowType, visitedWrites, orderedWrites);
+        }
+
+        return orderedWrites;
+    }
+
+    private static void visit(TableWrites<?, ?> writes, Map<Class<?>, List<TableWrites<?, ?>>> writesByRowType,
+                              Set<TableWrites<?, ?>> visitedWrites, List<TableWrites<?, ?>> orderedWrites) {
+        if (!visitedWrites.add(writes)) {
+            return;
+        }
+
+        for (Class<?> referencedType : referencedRowTypes(writes.table)) {
+            for (TableWrites<?, ?> referencedWrites : writesByRowType.getOrDefault(referencedType, List.of())) {
+                visit(referencedWrites, writesByRowType, visitedWrites, orderedWrites);
+            }
+        }
+
+        orderedWrites.add(writes);
+    }
+
+    /**
+     * A foreign key only names the columns it references, so the referenced table is found by the row type of its declaration,
+     * such as {@code ForeignKey<BAccount>} in generated query types.
+     *
+     * @throws IllegalStateException if a foreign key cannot be read, such as when its query type is not public, since its table could not be ordered
+     */
+    private static Set<Class<?>> referencedRowTypes(RelationalPath<?> table) {
+        Set<ForeignKey<?>> foreignKeys = Collections.newSetFromMap(new IdentityHashMap<>());
+        foreignKeys.addAll(table.getForeignKeys());
+        Set<Class<?>> referencedTypes = new HashSet<>();
+
+        for (Class<?> type = table.getClass(); type != null && type != RelationalPathBase.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getType() != ForeignKey.class || !Modifier.isPublic(field.getModifiers()) || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+
+                Type fieldType = field.getGenericType();
+
+                try {
+                    if (fieldType instanceof ParameterizedType && foreignKeys.contains(field.get(table))) {
+                        Type referencedType = ((ParameterizedType) fieldType).getActualTypeArguments()[0];
+
+                        if (referencedType instanceof Class && referencedType != table.getType()) {
+                            referencedTypes.add((Class<?>) referencedType);
+                        }
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Could not read the foreign key " + field.getName() + " of table " + table.getTableName()
+                            + " to order its writes", e);
+                }
+            }
+        }
+
+        return referencedTypes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("tables", writesByTable.keySet())
+                .add("pendingWrites", pendingWrites())
+                .toString();
+    }
+
+    private static final class TableWrites<R, ID> {
+
+        private final QDSLCrudRepository<?, R, ID> repository;
+
+        private final RelationalPathBase<R> table;
+
+        private final Function<R, ID> idMapping;
+
+        private final Map<ID, R> savesById;
+
+        private final List<R> savesWithoutId;
+
+        private final Set<ID> deletes;
+
+        private TableWrites(QDSLCrudRepository<?, R, ID> repository, RelationalPathBase<R> table, Function<R, ID> idMapping) {
+            this.repository = repository;
+            this.table = table;
+            this.idMapping = idMapping;
+            this.savesById = new LinkedHashMap<>();
+            this.savesWithoutId = new ArrayList<>();
+            this.deletes = new LinkedHashSet<>();
+        }
+
+        private void save(R resource) {
+            ID resourceId = idMapping.apply(resource);
+
+            if (resourceId == null) {
+                savesWithoutId.add(resource);
+            } else {
+                deletes.remove(resourceId);
+                savesById.put(resourceId, resource);
+            }
+        }
+
+        private void delete(ID resourceId) {
+            savesById.remove(resourceId);
+            deletes.add(resourceId);
+        }
+
+        private int size() {
+            return savesById.size() + savesWithoutId.size() + deletes.size();
+        }
+
+        private void flushSaves() {
+            if (savesById.isEmpty() && savesWithoutId.isEmpty()) {
+                return;
+            }
+
+            List<R> saves = new ArrayList<>(savesById.size() + savesWithoutId.size());
+            saves.addAll(savesById.values());
+            saves.addAll(savesWithoutId);
+
+            repository.save(saves, WriteOptions.RETURN_NONE);
+        }
+
+        private void flushDeletes() {
+            if (!deletes.isEmpty()) {
+                repository.delete(new ArrayList<>(deletes));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.dml.SQLMergeClause;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Writes resources in a single statement, whether they already exist or not.
+ */
+final class Upsert<T extends RelationalPathBase<R>, R, ID> {
+
+    private enum Dialect {
+        NATIVE_MERGE, ON_CONFLICT, ON_DUPLICATE_KEY, EMULATED_MERGE
+    }
+
+    private final IdentifiableQDSLResource<T, R, ID> qdslResource;
+
+    private final SQLQueryFactory queryFactory;
+
+    private final Path<ID> idPath;
+
+    private final Dialect dialect;
+
+    Upsert(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory) {
+        this.qdslResource = Objects.requireNonNull(qdslResource);
+        this.queryFactory = Objects.requireNonNull(queryFactory);
+        this.idPath = idPath(qdslResource);
+        this.dialect = dialect(queryFactory.getConfiguration().getTemplates());
+    }
+
+    long execute(R resource) {
+        Map<Path<?>, Object> values = Rows.values(qdslResource.rowPath(), resource);
+
+        if (dialect == Dialect.NATIVE_MERGE || dialect == Dialect.EMULATED_MERGE) {
+            return Rows.populate(merge(), values).execute();
+        }
+
+        return Rows.populate(insert(values.keySet()), values).execute();
+    }
+
+    /**
+     * QueryDSL emulates MERGE one row at a time, so only the other dialects can write several rows in a single batch.
+     */
+    boolean isBatchable() {
+        return dialect != Dialect.EMULATED_MERGE;
+    }
+
+    /**
+     * Sends the resources in batches of at most batchSize rows.
+     * Rows of a batch share the same statement, so they are grouped by set of non null columns first.
+     */
+    long execute(Collection<R> resources, int batchSize) {
+        if (!isBatchable()) {
+            throw new IllegalStateException("Batched upserts are not supported by " + queryFactory.getConfiguration().getTemplates());
+        }
+
+        long affectedRows = 0;
+        List<Map<Path<?>, Object>> chunk = new ArrayList<>(Math.min(batchSize, resources.size()));
+
+        for (R resource : resources) {
+            chunk.add(Rows.values(qdslResource.rowPath(), resource));
+
+            if (chunk.size() == batchSize) {
+                affectedRows += executeChunk(chunk);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            affectedRows += executeChunk(chunk);
+        }
+
+        return affectedRows;
+    }
+
+    private long executeChunk(List<Map<Path<?>, Object>> chunk) {
+        Map<Set<Path<?>>, List<Map<Path<?>, Object>>> rowsByColumns = new LinkedHashMap<>();
+
+        for (Map<Path<?>, Object> row : chunk) {
+            rowsByColumns.computeIfAbsent(row.keySet(), columns -> new ArrayList<>()).add(row);
+        }
+
+        long affectedRows = 0;
+
+        for (Map.Entry<Set<Path<?>>, List<Map<Path<?>, Object>>> rows : rowsByColumns.entrySet()) {
+            if (dialect == Dialect.NATIVE_MERGE) {
+                SQLMergeClause merge = merge();
+                rows.getValue().forEach(row -> Rows.populate(merge, row).addBatch());
+                affectedRows += merge.execute();
+            } else {
+                SQLInsertClause insert = insert(rows.getKey());
+                rows.getValue().forEach(row -> Rows.populate(insert, row).addBatch());
+                affectedRows += insert.execute();
+            }
+        }
+
+        return affectedRows;
+    }
+
+    private SQLMergeClause merge() {
+        return StatementControl.controlled(queryFactory.merge(qdslResource.rowPath())).keys(idPath);
+    }
+
+    private SQLInsertClause insert(Set<Path<?>> columns) {
+        return StatementControl.controlled(queryFactory.insert(qdslResource.rowPath()))
+                .addFlag(QueryFlag.Position.END, onConflict(columns));
+    }
+
+    private String onConflict(Set<Path<?>> columns) {
+        SQLTemplates templates = queryFactory.getConfiguration().getTemplates();
+        String idColumn = templates.quoteIdentifier(columnName(idPath));
+        StringJoiner assignments = new StringJoiner(", ");
+
+        for (Path<?> path : columns) {
+            if (!path.equals(idPath)) {
+                String column = templates.quoteIdentifier(columnName(path));
+
+                assignments.add(dialect == Dialect.ON_CONFLICT ?
+                        column + " = excluded." + column :
+                        column + " = values(" + column + ")");
+            }
+        }
+
+        if (dialect == Dialect.ON_CONFLICT) {
+            return assignments.length() == 0 ?
+                    " on conflict (" + idColumn + ") do nothing" :
+                    " on conflict (" + idColumn + ") do update set " + assignments;
+        }
+
+        return " on duplicate key update " + (assignments.length() == 0 ? idColumn + " = " + idColumn : assignments);
+    }
+
+    private String columnName(Path<?> path) {
+        return qdslResource.rowPath().getMetadata(path).getName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ID> Path<ID> idPath(IdentifiableQDSLResource<?, ?, ID> qdslResource) {
+        if (!(qdslResource.idPath() instanceof Path)) {
+            throw new IllegalArgumentException("Upserting requires the id expression to be a column path, got " + qdslResource.idPath());
+        }
+
+        return (Path<ID>) qdslResource.idPath();
+    }
+
+    private static Dialect dialect(SQLTemplates templates) {
+        if (templates.isNativeMerge()) {
+            return Dialect.NATIVE_MERGE;
+        }
+
+        if (templates instanceof PostgreSQLTemplates) {
+            return Dialect.ON_CONFLICT;
+        }
+
+        if (templates instanceof MySQLTemplates) {
+            return Dialect.ON_DUPLICATE_KEY;
+        }
+
+        return Dialect.EMULATED_MERGE;
+    }
+}
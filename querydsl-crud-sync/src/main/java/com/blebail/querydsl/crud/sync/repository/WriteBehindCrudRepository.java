@@ -0,0 +1,799 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.blebail.querydsl.crud.commons.utils.Iterables;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Buffers the saves made through another repository in memory, keeping only the latest resource per id,
+ * and writes them with a single save(Iterable) every {@link WriteBehindOptions#flushInterval()}, on {@link #flush()} and on {@link #close()}.
+ * Once the buffer holds {@link WriteBehindOptions#maxBufferedResources()} resources, it is flushed right away on the background thread,
+ * so the save filling it does not wait for the flush.
+ *
+ * <p>Buffered saves are not durable: they are lost if the process stops before they are flushed.
+ * A save(Iterable) failing because of the data, such as a constraint violation, is split in halves until the resources which fail on their own are isolated,
+ * so that the others are still written. Those are buffered again for the next flush unless saved again meanwhile,
+ * and dropped once they failed {@link WriteBehindOptions#maxFlushAttempts()} flushes in a row,
+ * each dropped resource being counted in the stats and reported with its last failure to the handler given at creation.
+ * Any other failure, such as a lost connection, stops the flush at once and buffers the resources not written yet again, without counting it as an attempt.
+ * Failures only surface to the callers of {@link #flush()}, {@link #close()} and of the reads and deletes flushing first, never to the saves filling the buffer.
+ * Only the saves returning their input or nothing are buffered: the other saves, and the saves of resources without id, flush the buffer then go to the other repository.</p>
+ *
+ * <p>Reads by id see the buffered resources, including the ones of a flush in progress, every other read and every delete flushes the buffer first,
+ * so this repository always reads its own writes. Other repositories only see them once flushed.</p>
+ *
+ * @param <R>  row type
+ * @param <ID> id type
+ */
+public final class WriteBehindCrudRepository<R, ID> implements CrudRepository<R, ID>, AutoCloseable {
+
+    private final CrudRepository<R, ID> repository;
+
+    private final Function<R, ID> idMapping;
+
+    private final WriteBehindOptions options;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object flushLock;
+
+    private final AtomicBoolean flushRequested;
+
+    private LinkedHashMap<ID, R> buffer;
+
+    private Map<ID, R> flushing;
+
+    private final Map<ID, Integer> failedFlushAttempts;
+
+    private final BiConsumer<R, RuntimeException> droppedResourceHandler;
+
+    private boolean closed;
+
+    private final LongAdder saves;
+
+    private final LongAdder coalescedSaves;
+
+    private final LongAdder flushes;
+
+    private final LongAdder failedFlushes;
+
+    private final LongAdder flushedResources;
+
+    private final LongAdder droppedResources;
+
+    private final LongAdder totalFlushNanos;
+
+    private final LongAccumulator maxFlushNanos;
+
+    public WriteBehindCrudRepository(CrudRepository<R, ID> repository, Function<R, ID> idMapping, WriteBehindOptions options) {
+        this(repository, idMapping, options, (resource, failure) -> {});
+    }
+
+    /**
+     * @param droppedResourceHandler called with each resource dropped after {@link WriteBehindOptions#maxFlushAttempts()} failed flushes, and its last failure
+     */
+    public WriteBehindCrudRepository(CrudRepository<R, ID> repository, Function<R, ID> idMapping, WriteBehindOptions options,
+                                     BiConsumer<R, RuntimeException> droppedResourceHandler) {
+        this.repository = Objects.requireNonNull(repository);
+        this.idMapping = Objects.requireNonNull(idMapping);
+        this.options = Objects.requireNonNull(options);
+        this.droppedResourceHandler = Objects.requireNonNull(droppedResourceHandler);
+        this.flushLock = new Object();
+        this.flushRequested = new AtomicBoolean();
+        this.buffer = new LinkedHashMap<>();
+        this.flushing = Collections.emptyMap();
+        this.failedFlushAttempts = new HashMap<>();
+        this.saves = new LongAdder();
+        this.coalescedSaves = new LongAdder();
+        this.flushes = new LongAdder();
+        this.failedFlushes = new LongAdder();
+        this.flushedResources = new LongAdder();
+        this.droppedResources = new LongAdder();
+        this.totalFlushNanos = new LongAdder();
+        this.maxFlushNanos = new LongAccumulator(Math::max, 0);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "querydsl-crud-write-behind");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long flushIntervalNanos = options.flushInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::flushInBackground, flushIntervalNanos, flushIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public WriteBehindStats stats() {
+        int bufferedResources;
+
+        synchronized (this) {
+            bufferedResources = buffer.size();
+        }
+
+        return new WriteBehindStats(saves.sum(), coalescedSaves.sum(), flushes.sum(), failedFlushes.sum(), flushedResources.sum(),
+                droppedResources.sum(), bufferedResources, Duration.ofNanos(totalFlushNanos.sum()), Duration.ofNanos(maxFlushNanos.get()));
+    }
+
+    /**
+     * Writes the buffered resources with a single save(Iterable), split in halves if it fails because of the data.
+     *
+     * @throws RuntimeException the first failure of the resources which could not be written, after buffering them again or dropping them
+     */
+    public void flush() {
+        RuntimeException failure = flushBuffer();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return the first failure of the resources which could not be written, counted in the stats, or null
+     */
+    private RuntimeException flushBuffer() {
+        synchronized (flushLock) {
+            LinkedHashMap<ID, R> batch;
+
+            synchronized (this) {
+                if (buffer.isEmpty()) {
+                    return null;
+                }
+
+                batch = buffer;
+                flushing = batch;
+                buffer = new LinkedHashMap<>();
+            }
+
+            long start = System.nanoTime();
+            Map<ID, RuntimeException> failures = new LinkedHashMap<>();
+
+            try {
+                write(new ArrayList<>(batch.values()), failures);
+            } finally {
+                long flushNanos = System.nanoTime() - start;
+                totalFlushNanos.add(flushNanos);
+                maxFlushNanos.accumulate(flushNanos);
+            }
+
+            Map<R, RuntimeException> dropped = flushed(batch, failures);
+
+            if (failures.isEmpty()) {
+                flushes.increment();
+
+                return null;
+            }
+
+            failedFlushes.increment();
+            droppedResources.add(dropped.size());
+            dropped.forEach(droppedResourceHandler);
+
+            return failures.values().iterator().next();
+        }
+    }
+
+    /**
+     * Saves the resources, or each half of them if it fails because of the data, until the resources failing on their own are isolated.
+     *
+     * @return the failure unrelated to the data which stopped the writes, all the resources not written yet having failed with it, or null
+     */
+    private RuntimeException write(List<R> resources, Map<ID, RuntimeException> failures) {
+        try {
+            repository.save(resources, WriteOptions.RETURN_NONE);
+            flushedResources.add(resources.size());
+
+            return null;
+        } catch (RuntimeException e) {
+            if (!isCausedByTheData(e)) {
+                resources.forEach(resource -> failures.put(idMapping.apply(resource), e));
+
+                return e;
+            }
+
+            if (resources.size() == 1) {
+                failures.put(idMapping.apply(resources.get(0)), e);
+
+                return null;
+            }
+
+            int half = resources.size() / 2;
+            List<R> secondHalf = resources.subList(half, resources.size());
+            RuntimeException stop = write(resources.subList(0, half), failures);
+
+            if (stop != null) {
+                secondHalf.forEach(resource -> failures.put(idMapping.apply(resource), stop));
+
+                return stop;
+            }
+
+            return write(secondHalf, failures);
+        }
+    }
+
+    /**
+     * @return whether the failure comes from the data written, such as a constraint violation or a value the column cannot hold,
+     * rather than from the connection or the database
+     */
+    private static boolean isCausedByTheData(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                for (SQLException exception = (SQLException) cause; exception != null; exception = exception.getNextException()) {
+                    String sqlState = exception.getSQLState();
+
+                    if (exception instanceof SQLIntegrityConstraintViolationException || exception instanceof SQLDataException
+                            || (sqlState != null && (sqlState.startsWith("22") || sqlState.startsWith("23")))) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stops the background flushes then flushes the buffered resources. Later saves are rejected.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+
+        scheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * Flushes on the background thread, whose failures are counted in the stats. Other exceptions, thrown by the dropped resource handler,
+     * go to the uncaught exception handler of the thread without stopping the next flushes.
+     */
+    private void flushInBackground() {
+        flushRequested.set(false);
+
+        try {
+            flushBuffer();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Flushes the full buffer on the background thread, unless a flush is already requested.
+     */
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushInBackground);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+                // the repository is closing, and close() flushes the buffer
+            }
+        }
+    }
+
+    /**
+     * Puts back the resources which failed, unless they were saved again meanwhile or failed too many flushes in a row because of their data.
+     *
+     * @return the dropped resources, with their last failure
+     */
+    private synchronized Map<R, RuntimeException> flushed(LinkedHashMap<ID, R> batch, Map<ID, RuntimeException> failures) {
+        flushing = Collections.emptyMap();
+
+        if (failures.isEmpty() && failedFlushAttempts.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<R, RuntimeException> dropped = new LinkedHashMap<>();
+        LinkedHashMap<ID, R> rebuffered = new LinkedHashMap<>();
+
+        for (ID resourceId : batch.keySet()) {
+            RuntimeException failure = failures.get(resourceId);
+
+            if (failure == null || buffer.containsKey(resourceId)) {
+                failedFlushAttempts.remove(resourceId);
+            } else if (!isCausedByTheData(failure)) {
+                rebuffered.put(resourceId, batch.get(resourceId));
+            } else if (failedFlushAttempts.merge(resourceId, 1, Integer::sum) >= options.maxFlushAttempts()) {
+                failedFlushAttempts.remove(resourceId);
+                dropped.put(batch.get(resourceId), failure);
+            } else {
+                rebuffered.put(resourceId, batch.get(resourceId));
+            }
+        }
+
+        rebuffered.putAll(buffer);
+        buffer = rebuffered;
+
+        return dropped;
+    }
+
+    /**
+     * @return the latest resource saved with this id which may not be written yet, or null. Callers hold the lock of this repository
+     */
+    private R buffered(ID resourceId) {
+        R bufferedResource = buffer.get(resourceId);
+
+        return bufferedResource != null ? bufferedResource : flushing.get(resourceId);
+    }
+
+    /**
+     * @return whether the resources could be buffered, which requires all of them to have an id
+     */
+    private boolean buffer(Collection<R> resources) {
+        boolean full;
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Write-behind repository is closed");
+            }
+
+            for (R resource : resources) {
+                if (resource == null || idMapping.apply(resource) == null) {
+                    return false;
+                }
+            }
+
+            for (R resource : resources) {
+                saves.increment();
+
+                if (buffer.put(idMapping.apply(resource), resource) != null) {
+                    coalescedSaves.increment();
+                }
+            }
+
+            full = buffer.size() >= options.maxBufferedResources();
+        }
+
+        if (full) {
+            requestFlush();
+        }
+
+        return true;
+    }
+
+    private static boolean isBufferable(WriteOptions writeOptions) {
+        return writeOptions.returnMode() == ReturnMode.INPUT || writeOptions.returnMode() == ReturnMode.NONE;
+    }
+
+    /**
+     * Buffers the resource and returns it.
+     */
+    @Override
+    public R save(R resource) {
+        return save(resource, WriteOptions.RETURN_INPUT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R save(R resource, WriteOptions writeOptions) {
+        Objects.requireNonNull(resource);
+        Objects.requireNonNull(writeOptions);
+
+        if (isBufferable(writeOptions) && buffer(List.of(resource))) {
+            return writeOptions.returnMode() == ReturnMode.INPUT ? resource : null;
+        }
+
+        flush();
+
+        return repository.save(resource, writeOptions);
+    }
+
+    /**
+     * Buffers the resources and returns them.
+     */
+    @Override
+    public Collection<R> save(Iterable<R> resources) {
+        return save(resources, WriteOptions.RETURN_INPUT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> save(Iterable<R> resources, WriteOptions writeOptions) {
+        Objects.requireNonNull(resources);
+        Objects.requireNonNull(writeOptions);
+
+        Collection<R> resourcesAsCollection = Iterables.asCollection(resources);
+
+        if (isBufferable(writeOptions) && buffer(resourcesAsCollection)) {
+            return writeOptions.returnMode() == ReturnMode.INPUT ? resourcesAsCollection : List.of();
+        }
+
+        flush();
+
+        return repository.save(resourcesAsCollection, writeOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<R> findOne(ID resourceId) {
+        Objects.requireNonNull(resourceId);
+
+        R bufferedResource;
+
+        synchronized (this) {
+            bufferedResource = buffered(resourceId);
+        }
+
+        return bufferedResource != null ? Optional.of(bufferedResource) : repository.findOne(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(ID resourceId, Expression<P> projection) {
+        flush();
+
+        return repository.findOne(resourceId, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> find(Iterable<ID> resourceIds) {
+        Objects.requireNonNull(resourceIds);
+
+        List<R> resources = new ArrayList<>();
+        List<ID> unbufferedIds = new ArrayList<>();
+
+        synchronized (this) {
+            for (ID resourceId : Iterables.distinct(resourceIds)) {
+                R bufferedResource = buffered(resourceId);
+
+                if (bufferedResource != null) {
+                    resources.add(bufferedResource);
+                } else {
+                    unbufferedIds.add(resourceId);
+                }
+            }
+        }
+
+        if (!unbufferedIds.isEmpty()) {
+            resources.addAll(repository.find(unbufferedIds));
+        }
+
+        return resources;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Iterable<ID> resourceIds, Expression<P> projection) {
+        flush();
+
+        return repository.find(resourceIds, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(ID resourceId) {
+        Objects.requireNonNull(resourceId);
+
+        synchronized (this) {
+            if (buffered(resourceId) != null) {
+                return true;
+            }
+        }
+
+        return repository.exists(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<ID> existsAll(Iterable<ID> resourceIds) {
+        Objects.requireNonNull(resourceIds);
+
+        Set<ID> existingIds = new HashSet<>();
+        List<ID> unbufferedIds = new ArrayList<>();
+
+        synchronized (this) {
+            for (ID resourceId : Iterables.distinct(resourceIds)) {
+                if (buffered(resourceId) != null) {
+                    existingIds.add(resourceId);
+                } else {
+                    unbufferedIds.add(resourceId);
+                }
+            }
+        }
+
+        if (!unbufferedIds.isEmpty()) {
+            existingIds.addAll(repository.existsAll(unbufferedIds));
+        }
+
+        return existingIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(ID resourceId) {
+        flush();
+
+        return repository.delete(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(Iterable<ID> resourceIds) {
+        flush();
+
+        return repository.delete(resourceIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<R> findOne(Predicate predicate) {
+        flush();
+
+        return repository.findOne(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Optional<P> findOne(Predicate predicate, Expression<P> projection) {
+        flush();
+
+        return repository.findOne(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> find(Predicate predicate) {
+        flush();
+
+        return repository.find(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Collection<P> find(Predicate predicate, Expression<P> projection) {
+        flush();
+
+        return repository.find(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<R> find(PageRequest pageRequest) {
+        flush();
+
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<R> find(Predicate predicate, PageRequest pageRequest) {
+        flush();
+
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Page<P> find(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        flush();
+
+        return repository.find(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<R> findSlice(PageRequest pageRequest) {
+        flush();
+
+        return repository.findSlice(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<R> findSlice(Predicate predicate, PageRequest pageRequest) {
+        flush();
+
+        return repository.findSlice(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Slice<P> findSlice(Predicate predicate, PageRequest pageRequest, Expression<P> projection) {
+        flush();
+
+        return repository.findSlice(predicate, pageRequest, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<R> find(KeysetPageRequest pageRequest) {
+        flush();
+
+        return repository.find(pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<R> find(Predicate predicate, KeysetPageRequest pageRequest) {
+        flush();
+
+        return repository.find(predicate, pageRequest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<R> findAll() {
+        flush();
+
+        return repository.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> stream(Predicate predicate) {
+        flush();
+
+        return repository.stream(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> Stream<P> stream(Predicate predicate, Expression<P> projection) {
+        flush();
+
+        return repository.stream(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<R> streamAll() {
+        flush();
+
+        return repository.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloseableIterator<R> iterate(Predicate predicate) {
+        flush();
+
+        return repository.iterate(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <P> CloseableIterator<P> iterate(Predicate predicate, Expression<P> projection) {
+        flush();
+
+        return repository.iterate(predicate, projection);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count(Predicate predicate) {
+        flush();
+
+        return repository.count(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(Predicate predicate) {
+        flush();
+
+        return repository.exists(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count() {
+        flush();
+
+        return repository.count();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(Predicate predicate) {
+        flush();
+
+        return repository.delete(predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteAll() {
+        flush();
+
+        return repository.deleteAll();
+    }
+}
@@ -0,0 +1,120 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Immutable thresholds of a {@link WriteBehindCrudRepository}.
+ */
+public final class WriteBehindOptions {
+
+    private static final int DEFAULT_MAX_BUFFERED_RESOURCES = 1_000;
+
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private static final int DEFAULT_MAX_FLUSH_ATTEMPTS = 3;
+
+    private static final WriteBehindOptions DEFAULTS = new WriteBehindOptions();
+
+    private int maxBufferedResources = DEFAULT_MAX_BUFFERED_RESOURCES;
+
+    private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    private int maxFlushAttempts = DEFAULT_MAX_FLUSH_ATTEMPTS;
+
+    private WriteBehindOptions() {
+    }
+
+    public static WriteBehindOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return the number of distinct resources buffered before the save which reaches it flushes them
+     */
+    public int maxBufferedResources() {
+        return maxBufferedResources;
+    }
+
+    /**
+     * @return the delay between two flushes of the buffered resources in the background
+     */
+    public Duration flushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @return the number of flushes in a row a resource may fail before being dropped
+     */
+    public int maxFlushAttempts() {
+        return maxFlushAttempts;
+    }
+
+    public WriteBehindOptions withMaxBufferedResources(int maxBufferedResources) {
+        if (maxBufferedResources <= 0) {
+            throw new IllegalArgumentException("Max buffered resources should be positive, got " + maxBufferedResources);
+        }
+
+        WriteBehindOptions options = copy();
+        options.maxBufferedResources = maxBufferedResources;
+
+        return options;
+    }
+
+    public WriteBehindOptions withFlushInterval(Duration flushInterval) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval should be positive, got " + flushInterval);
+        }
+
+        WriteBehindOptions options = copy();
+        options.flushInterval = flushInterval;
+
+        return options;
+    }
+
+    public WriteBehindOptions withMaxFlushAttempts(int maxFlushAttempts) {
+        if (maxFlushAttempts <= 0) {
+            throw new IllegalArgumentException("Max flush attempts should be positive, got " + maxFlushAttempts);
+        }
+
+        WriteBehindOptions options = copy();
+        options.maxFlushAttempts = maxFlushAttempts;
+
+        return options;
+    }
+
+    private WriteBehindOptions copy() {
+        WriteBehindOptions options = new WriteBehindOptions();
+        options.maxBufferedResources = maxBufferedResources;
+        options.flushInterval = flushInterval;
+        options.maxFlushAttempts = maxFlushAttempts;
+
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WriteBehindOptions that = (WriteBehindOptions) o;
+        return maxBufferedResources == that.maxBufferedResources &&
+                Objects.equals(flushInterval, that.flushInterval) &&
+                maxFlushAttempts == that.maxFlushAttempts;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxBufferedResources, flushInterval, maxFlushAttempts);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxBufferedResources", maxBufferedResources)
+                .add("flushInterval", flushInterval)
+                .add("maxFlushAttempts", maxFlushAttempts)
+                .toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Counters of a {@link WriteBehindCrudRepository} since its creation.
+ */
+public final class WriteBehindStats {
+
+    private final long saves;
+
+    private final long coalescedSaves;
+
+    private final long flushes;
+
+    private final long failedFlushes;
+
+    private final long flushedResources;
+
+    private final long droppedResources;
+
+    private final int bufferedResources;
+
+    private final Duration totalFlushTime;
+
+    private final Duration maxFlushTime;
+
+    public WriteBehindStats(long saves, long coalescedSaves, long flushes, long failedFlushes, long flushedResources,
+                            long droppedResources, int bufferedResources, Duration totalFlushTime, Duration maxFlushTime) {
+        this.saves = saves;
+        this.coalescedSaves = coalescedSaves;
+        this.flushes = flushes;
+        this.failedFlushes = failedFlushes;
+        this.flushedResources = flushedResources;
+        this.droppedResources = droppedResources;
+        this.bufferedResources = bufferedResources;
+        this.totalFlushTime = Objects.requireNonNull(totalFlushTime);
+        this.maxFlushTime = Objects.requireNonNull(maxFlushTime);
+    }
+
+    /**
+     * @return the number of resources buffered by saves
+     */
+    public long saves() {
+        return saves;
+    }
+
+    /**
+     * @return the number of buffered resources replaced by a later save of the same id before being flushed
+     */
+    public long coalescedSaves() {
+        return coalescedSaves;
+    }
+
+    /**
+     * @return the share of saves which never reached the database, 0 when there was no save yet
+     */
+    public double coalesceRatio() {
+        return saves == 0 ? 0.0 : (double) coalescedSaves / saves;
+    }
+
+    public long flushes() {
+        return flushes;
+    }
+
+    public long failedFlushes() {
+        return failedFlushes;
+    }
+
+    /**
+     * @return the number of resources written by flushes, including the ones written by the halves of a failed save(Iterable)
+     */
+    public long flushedResources() {
+        return flushedResources;
+    }
+
+    /**
+     * @return the number of resources dropped after failing too many flushes in a row
+     */
+    public long droppedResources() {
+        return droppedResources;
+    }
+
+    /**
+     * @return the number of resources currently waiting for a flush
+     */
+    public int bufferedResources() {
+        return bufferedResources;
+    }
+
+    /**
+     * @return the time spent writing buffered resources, failed flushes included
+     */
+    public Duration totalFlushTime() {
+        return totalFlushTime;
+    }
+
+    public Duration maxFlushTime() {
+        return maxFlushTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WriteBehindStats that = (WriteBehindStats) o;
+        return saves == that.saves &&
+                coalescedSaves == that.coalescedSaves &&
+                flushes == that.flushes &&
+                failedFlushes == that.failedFlushes &&
+                flushedResources == that.flushedResources &&
+                droppedResources == that.droppedResources &&
+                bufferedResources == that.bufferedResources &&
+                Objects.equals(totalFlushTime, that.totalFlushTime) &&
+                Objects.equals(maxFlushTime, that.maxFlushTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saves, coalescedSaves, flushes, failedFlushes, flushedResources, droppedResources, bufferedResources, totalFlushTime, maxFlushTime);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("saves", saves)
+                .add("coalescedSaves", coalescedSaves)
+                .add("coalesceRatio", coalesceRatio())
+                .add("flushes", flushes)
+                .add("failedFlushes", failedFlushes)
+                .add("flushedResources", flushedResources)
+                .add("droppedResources", droppedResources)
+                .add("bufferedResources", bufferedResources)
+                .add("totalFlushTime", totalFlushTime)
+                .add("maxFlushTime", maxFlushTime)
+                .toString();
+    }
+}
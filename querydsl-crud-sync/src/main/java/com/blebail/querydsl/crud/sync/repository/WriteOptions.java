@@ -0,0 +1,62 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+/**
+ * Options of a single save, overriding the repository's {@link RepositoryOptions}.
+ */
+public final class WriteOptions {
+
+    public static final WriteOptions RETURN_REREAD = new WriteOptions(ReturnMode.REREAD);
+
+    public static final WriteOptions RETURN_INPUT = new WriteOptions(ReturnMode.INPUT);
+
+    public static final WriteOptions RETURN_GENERATED = new WriteOptions(ReturnMode.GENERATED);
+
+    public static final WriteOptions RETURN_NONE = new WriteOptions(ReturnMode.NONE);
+
+    private final ReturnMode returnMode;
+
+    private WriteOptions(ReturnMode returnMode) {
+        this.returnMode = Objects.requireNonNull(returnMode);
+    }
+
+    public static WriteOptions returning(ReturnMode returnMode) {
+        switch (Objects.requireNonNull(returnMode)) {
+            case INPUT:
+                return RETURN_INPUT;
+            case GENERATED:
+                return RETURN_GENERATED;
+            case NONE:
+                return RETURN_NONE;
+            default:
+                return RETURN_REREAD;
+        }
+    }
+
+    public ReturnMode returnMode() {
+        return returnMode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WriteOptions that = (WriteOptions) o;
+        return returnMode == that.returnMode;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(returnMode);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("returnMode", returnMode)
+                .toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.blebail.querydsl.crud.sync.fixtures;
+
+import com.blebail.querydsl.crud.BAccountRole;
+import com.blebail.querydsl.crud.QAccountRole;
+import com.ninja_squad.dbsetup.Operations;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+public final class AccountRoleFixtures {
+
+    public static BAccountRole systemOwner() {
+        return build("0001", AccountFixtures.system().getId(), "owner");
+    }
+
+    public static BAccountRole adminEditor() {
+        return build("0002", AccountFixtures.admin().getId(), "editor");
+    }
+
+    public static BAccountRole johnDoeViewer() {
+        return build("0003", AccountFixtures.johnDoe().getId(), "viewer");
+    }
+
+    private static BAccountRole build(String id, String accountId, String role) {
+        return new BAccountRole(accountId, id, role);
+    }
+
+    public static Operation deleteAllAccountRoles() {
+        return Operations.deleteAllFrom(QAccountRole.accountRole.getTableName());
+    }
+
+    public static Operation insertSystemOwner() {
+        return insert(systemOwner());
+    }
+
+    private static Operation insert(BAccountRole accountRole) {
+        return Operations.insertInto(QAccountRole.accountRole.getTableName())
+                .columns("id", "account_id", "role")
+                .values(accountRole.getId(), accountRole.getAccountId(), accountRole.getRole())
+                .build();
+    }
+}
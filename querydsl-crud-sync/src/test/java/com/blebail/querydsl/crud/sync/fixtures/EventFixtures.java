@@ -0,0 +1,17 @@
+package com.blebail.querydsl.crud.sync.fixtures;
+
+import com.blebail.querydsl.crud.BEvent;
+import com.blebail.querydsl.crud.QEvent;
+import com.ninja_squad.dbsetup.Operations;
+import com.ninja_squad.dbsetup.operation.Operation;
+
+public final class EventFixtures {
+
+    public static BEvent newEvent(String name) {
+        return new BEvent(null, null, name);
+    }
+
+    public static Operation deleteAllEvents() {
+        return Operations.deleteAllFrom(QEvent.event.getTableName());
+    }
+}
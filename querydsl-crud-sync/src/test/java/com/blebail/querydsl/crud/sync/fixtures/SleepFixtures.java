@@ -0,0 +1,53 @@
+package com.blebail.querydsl.crud.sync.fixtures;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow statements built on the SLEEP_MILLIS alias of the test schema.
+ */
+public final class SleepFixtures {
+
+    /**
+     * Matches every row after scanning a range of a row per millisecond, as the database checks for timeouts and cancellations between rows.
+     */
+    public static Predicate sleepingFor(long millis) {
+        return Expressions.booleanTemplate("NOT EXISTS (SELECT 1 FROM SYSTEM_RANGE(1, {0}) WHERE SLEEP_MILLIS(1) IS NOT NULL)", millis);
+    }
+
+    /**
+     * @return whether another session started a statement calling SLEEP_MILLIS before the timeout
+     */
+    public static boolean awaitSleepingStatement(DataSource dataSource, Duration timeout) throws SQLException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (!isSleeping(dataSource)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        return true;
+    }
+
+    private static boolean isSleeping(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS"
+                     + " WHERE ID <> SESSION_ID() AND STATEMENT LIKE '%SLEEP_MILLIS%'")) {
+            resultSet.next();
+
+            return resultSet.getInt(1) > 0;
+        }
+    }
+}
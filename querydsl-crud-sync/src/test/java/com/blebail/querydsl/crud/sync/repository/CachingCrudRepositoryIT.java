@@ -0,0 +1,178 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.cache.CacheStats;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingCrudRepositoryIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    List<List<Object>> executedBindings;
+
+    CachingCrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        executedBindings = new ArrayList<>();
+
+        Configuration configuration = new Configuration(SQLTemplates.DEFAULT);
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void executed(SQLListenerContext context) {
+                executedBindings.add(context.getSQLBindings().getNullFriendlyBindings());
+            }
+        });
+
+        CrudRepository<BAccount, String> repository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                new SQLQueryFactory(configuration, sqlMemoryDb.dataSource())
+        );
+
+        tested = new CachingCrudRepository<>(repository, BAccount::getId, CacheOptions.defaults());
+    }
+
+    @Test
+    void shouldReadAResourceOnce() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.findOne(system().getId())).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.findOne(system().getId())).usingFieldByFieldValueComparator().contains(system());
+
+        assertThat(executedBindings).hasSize(1);
+        assertThat(tested.cacheStats()).isEqualTo(new CacheStats(1, 1, 0));
+    }
+
+    @Test
+    void shouldNotCacheMissingResources() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.findOne("9999")).isEmpty();
+        assertThat(tested.findOne("9999")).isEmpty();
+
+        assertThat(executedBindings).hasSize(2);
+    }
+
+    @Test
+    void shouldOnlyReadTheMissingResources_whenFindingSeveralIds() {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId());
+        executedBindings.clear();
+
+        assertThat(tested.find(List.of(system().getId(), admin().getId())))
+                .usingFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(system(), admin());
+
+        assertThat(executedBindings).hasSize(1);
+        assertThat(executedBindings.get(0)).containsOnly(admin().getId());
+
+        executedBindings.clear();
+        tested.find(List.of(system().getId(), admin().getId()));
+
+        assertThat(executedBindings).isEmpty();
+    }
+
+    @Test
+    void shouldTellThatACachedResourceExists_withoutReadingIt() {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId());
+        executedBindings.clear();
+
+        assertThat(tested.exists(system().getId())).isTrue();
+        assertThat(tested.existsAll(List.of(system().getId(), admin().getId(), "9999"))).containsOnly(system().getId(), admin().getId());
+
+        assertThat(executedBindings).hasSize(1);
+    }
+
+    @Test
+    void shouldInvalidateAResource_whenSavingIt() {
+        tested.findOne(admin().getId());
+
+        BAccount updatedAdmin = new BAccount("newmail@test.com", admin().getId(), admin().getUsername());
+        tested.save(updatedAdmin);
+
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(updatedAdmin);
+    }
+
+    @Test
+    void shouldInvalidateResources_whenSavingSeveralOfThem() {
+        tested.find(List.of(system().getId(), admin().getId()));
+
+        BAccount updatedAdmin = new BAccount("newmail@test.com", admin().getId(), admin().getUsername());
+        tested.save(List.of(updatedAdmin));
+
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(updatedAdmin);
+    }
+
+    @Test
+    void shouldInvalidateAResource_whenDeletingIt() {
+        tested.findOne(admin().getId());
+
+        tested.delete(admin().getId());
+
+        assertThat(tested.findOne(admin().getId())).isEmpty();
+        assertThat(tested.exists(admin().getId())).isFalse();
+    }
+
+    @Test
+    void shouldInvalidateEverything_whenDeletingByPredicate() {
+        tested.find(List.of(system().getId(), admin().getId()));
+
+        tested.delete(QAccount.account.username.eq(admin().getUsername()));
+
+        assertThat(tested.findOne(admin().getId())).isEmpty();
+        assertThat(tested.findOne(system().getId())).isPresent();
+    }
+
+    @Test
+    void shouldInvalidateEverything_whenDeletingAll() {
+        tested.find(List.of(system().getId(), admin().getId()));
+
+        tested.deleteAll();
+
+        assertThat(tested.find(List.of(system().getId(), admin().getId()))).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheTheResourcesRead_withinATransaction() {
+        sqlFixture.readOnly();
+
+        BAccount renamedAdmin = new BAccount(admin().getEmail(), admin().getId(), "renamed");
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(renamedAdmin);
+
+            assertThat(tested.findOne(admin().getId())).map(BAccount::getUsername).contains("renamed");
+            assertThat(tested.find(List.of(admin().getId()))).extracting(BAccount::getUsername).containsExactly("renamed");
+        }
+
+        assertThat(tested.findOne(admin().getId())).map(BAccount::getUsername).contains(admin().getUsername());
+        assertThat(tested.cacheStats().hits()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.resource.QDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertAdmin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLBaseRepositoryCountIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    @Test
+    void shouldFlagTotalItemsAsExact_whenCountingExactly() {
+        sqlFixture.readOnly();
+
+        Page<BAccount> page = tested(new ExactCountStrategy()).find(new PageRequest());
+
+        assertThat(page.totalItems()).isEqualTo(2);
+        assertThat(page.totalItemsExact()).isTrue();
+    }
+
+    @Test
+    void shouldServeCachedCount_untilItExpires() {
+        AtomicLong nanoClock = new AtomicLong();
+        BaseRepository<BAccount> tested = tested(new CachedCountStrategy(new ExactCountStrategy(), Duration.ofSeconds(10), 10, nanoClock::get));
+
+        assertThat(tested.find(new PageRequest()).totalItemsExact()).isTrue();
+
+        sqlFixture.exec(insertAdmin2());
+        Page<BAccount> cachedPage = tested.find(new PageRequest());
+
+        assertThat(cachedPage.totalItems()).isEqualTo(2);
+        assertThat(cachedPage.totalItemsExact()).isFalse();
+
+        nanoClock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(tested.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCacheCountsPerPredicate() {
+        BaseRepository<BAccount> tested = tested(new CachedCountStrategy(new ExactCountStrategy(), Duration.ofMinutes(1)));
+
+        assertThat(tested.count(QAccount.account.username.eq("admin"))).isEqualTo(1);
+
+        sqlFixture.exec(insertAdmin2());
+
+        assertThat(tested.count(QAccount.account.username.eq("admin"))).isEqualTo(1);
+        assertThat(tested.count(QAccount.account.username.startsWith("admin"))).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedCounts_whenCacheIsFull() {
+        BaseRepository<BAccount> tested = tested(new CachedCountStrategy(new ExactCountStrategy(), Duration.ofMinutes(1), 1));
+
+        assertThat(tested.count()).isEqualTo(2);
+        assertThat(tested.count(QAccount.account.username.eq("admin"))).isEqualTo(1);
+
+        sqlFixture.exec(insertAdmin2());
+
+        assertThat(tested.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldEstimateTheWholeTableCount_fromCatalogStatistics() {
+        sqlFixture.readOnly();
+
+        SQLQueryFactory queryFactory = Factories.queryFactory(sqlMemoryDb.dataSource(), H2Templates.DEFAULT);
+        Count count = new EstimatedCountStrategy().count(queryFactory, QAccount.account, null);
+
+        assertThat(count.isExact()).isFalse();
+        assertThat(count.value()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void shouldCountExactly_whenEstimatingWithAPredicate() {
+        sqlFixture.readOnly();
+
+        BaseRepository<BAccount> tested = new QDSLBaseRepository<>(
+                new QDSLResource<>(QAccount.account),
+                Factories.queryFactory(sqlMemoryDb.dataSource(), H2Templates.DEFAULT),
+                RepositoryOptions.defaults().withCountStrategy(new EstimatedCountStrategy())
+        );
+
+        Page<BAccount> page = tested.find(QAccount.account.username.eq("admin"), new PageRequest());
+
+        assertThat(page.totalItems()).isEqualTo(1);
+        assertThat(page.totalItemsExact()).isTrue();
+    }
+
+    @Test
+    void shouldFallBack_whenDatabaseHasNoKnownStatistics() {
+        sqlFixture.readOnly();
+
+        Count count = new EstimatedCountStrategy().count(Factories.defaultQueryFactory(sqlMemoryDb.dataSource()), QAccount.account, null);
+
+        assertThat(count).isEqualTo(Count.exact(2));
+    }
+
+    private BaseRepository<BAccount> tested(CountStrategy countStrategy) {
+        return new QDSLBaseRepository<>(
+                new QDSLResource<>(QAccount.account),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                RepositoryOptions.defaults().withCountStrategy(countStrategy)
+        );
+    }
+}
@@ -4,8 +4,11 @@ import com.blebail.junit.SqlFixture;
 import com.blebail.junit.SqlMemoryDb;
 import com.blebail.querydsl.crud.BAccount;
 import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.CursorPage;
+import com.blebail.querydsl.crud.commons.page.KeysetPageRequest;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
 import com.blebail.querydsl.crud.commons.page.Sort;
 import com.blebail.querydsl.crud.commons.resource.QDSLResource;
 import com.blebail.querydsl.crud.commons.utils.Factories;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -69,6 +73,21 @@ class QDSLBaseRepositoryIT {
         assertThat(tested.count(noMatchPredicate)).isEqualTo(0);
     }
 
+    @Test
+    public void shouldCheckIfResourcesExist_accordingToPredicate() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.exists(QAccount.account.username.eq("system"))).isTrue();
+        assertThat(tested.exists(QAccount.account.username.eq("nobody"))).isFalse();
+    }
+
+    @Test
+    public void shouldCheckIfAnyResourceExists_whenPredicateIsNull() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.exists(null)).isTrue();
+    }
+
     @Test
     public void shouldCountResourcesWithPredicate() {
         sqlFixture.readOnly();
@@ -190,6 +209,94 @@ class QDSLBaseRepositoryIT {
         assertThat(page.totalPages()).isEqualTo(2);
     }
 
+    @Test
+    public void shouldWalkKeysetPages_followingTheNextCursor() {
+        sqlFixture.exec(insertAdminClone());
+
+        List<Sort> sorts = Arrays.asList(new Sort("username", Sort.Direction.ASC), new Sort("email", Sort.Direction.DESC));
+        KeysetPageRequest pageRequest = new KeysetPageRequest(1, sorts);
+        List<BAccount> items = new ArrayList<>();
+        CursorPage<BAccount> page;
+
+        do {
+            page = tested.find(pageRequest);
+            items.addAll(page.items());
+            pageRequest = page.nextCursor().map(pageRequest::after).orElse(null);
+        } while (page.hasNext());
+
+        assertThat(items)
+                .usingFieldByFieldElementComparator()
+                .containsExactly(
+                        adminClone(),
+                        admin(),
+                        system()
+                );
+    }
+
+    @Test
+    public void shouldBreakTiesOnPrimaryKey_whenFindingKeysetPages() {
+        sqlFixture.exec(insertAdminClone());
+
+        KeysetPageRequest firstPageRequest = new KeysetPageRequest(1, List.of(new Sort("username", Sort.Direction.ASC)));
+        CursorPage<BAccount> firstPage = tested.find(firstPageRequest);
+        CursorPage<BAccount> secondPage = tested.find(firstPageRequest.after(firstPage.nextCursor().orElseThrow()));
+
+        assertThat(firstPage.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(secondPage.items()).usingFieldByFieldElementComparator().containsExactly(adminClone());
+        assertThat(secondPage.hasNext()).isTrue();
+    }
+
+    @Test
+    public void shouldFindSliceWithNext_whenMoreResourcesFollow() {
+        sqlFixture.exec(insertAdmin2());
+
+        Slice<BAccount> slice = tested.findSlice(new PageRequest(0, 2, List.of(new Sort("id", Sort.Direction.DESC))));
+
+        assertThat(slice.items()).usingFieldByFieldElementComparator().containsExactly(admin2(), admin());
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    public void shouldFindLastSliceWithPredicate() {
+        sqlFixture.exec(insertAdmin2());
+        sqlFixture.exec(insertAdmin3());
+
+        Predicate predicate = QAccount.account.username.contains("admin");
+        Slice<BAccount> slice = tested.findSlice(predicate, new PageRequest(1, 2, List.of(new Sort("id", Sort.Direction.DESC))));
+
+        assertThat(slice.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldFindKeysetPageWithPredicate() {
+        sqlFixture.exec(insertAdmin2());
+        sqlFixture.exec(insertAdmin3());
+
+        Predicate predicate = QAccount.account.username.contains("admin");
+        KeysetPageRequest pageRequest = new KeysetPageRequest(2, List.of(new Sort("id", Sort.Direction.DESC)));
+
+        CursorPage<BAccount> firstPage = tested.find(predicate, pageRequest);
+        CursorPage<BAccount> lastPage = tested.find(predicate, pageRequest.after(firstPage.nextCursor().orElseThrow()));
+
+        assertThat(firstPage.items()).usingFieldByFieldElementComparator().containsExactly(admin3(), admin2());
+        assertThat(lastPage.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.nextCursor()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowException_whenCursorWasIssuedForOtherSorts() {
+        sqlFixture.readOnly();
+
+        KeysetPageRequest pageRequest = new KeysetPageRequest(1, List.of(new Sort("email", Sort.Direction.ASC)));
+        String cursor = tested.find(pageRequest).nextCursor().orElseThrow();
+
+        KeysetPageRequest otherSorts = new KeysetPageRequest(1, List.of(new Sort("username", Sort.Direction.ASC)), cursor);
+
+        assertThrows(IllegalArgumentException.class, () -> tested.find(otherSorts));
+    }
+
     @Test
     public void shouldThrowException_whenDeletingWithNullPredicate() {
         sqlFixture.readOnly();
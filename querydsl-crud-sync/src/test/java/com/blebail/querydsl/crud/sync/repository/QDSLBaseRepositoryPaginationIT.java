@@ -0,0 +1,114 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.blebail.querydsl.crud.commons.resource.QDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin3;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertAdmin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertAdmin3;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLBaseRepositoryPaginationIT {
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    static Stream<Arguments> configurations() {
+        return Stream.of(
+                Arguments.of(H2Templates.DEFAULT, RepositoryOptions.defaults().withPaginationMode(PaginationMode.WINDOW_COUNT)),
+                Arguments.of(SQLTemplates.DEFAULT, RepositoryOptions.defaults().withPaginationMode(PaginationMode.WINDOW_COUNT)),
+                Arguments.of(SQLTemplates.DEFAULT, RepositoryOptions.defaults().withExecutor(executor))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    void shouldFindPageWithPredicate(SQLTemplates templates, RepositoryOptions options) {
+        sqlFixture.exec(insertAdmin2());
+        sqlFixture.exec(insertAdmin3());
+
+        Predicate predicate = QAccount.account.username.contains("admin");
+        PageRequest pageRequest = new PageRequest(0, 2, List.of(new Sort("id", Sort.Direction.DESC)));
+
+        Page<BAccount> page = tested(templates, options).find(predicate, pageRequest);
+
+        assertThat(page.items()).usingFieldByFieldElementComparator().containsExactly(admin3(), admin2());
+        assertThat(page.totalItems()).isEqualTo(3);
+        assertThat(page.totalPages()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    void shouldFindLastPage(SQLTemplates templates, RepositoryOptions options) {
+        sqlFixture.exec(insertAdmin2());
+
+        Page<BAccount> page = tested(templates, options).find(new PageRequest(1, 2, List.of(new Sort("id", Sort.Direction.DESC))));
+
+        assertThat(page.items()).usingFieldByFieldElementComparator().containsExactly(system());
+        assertThat(page.totalItems()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    void shouldCountTotalItems_whenPageIsPastTheLastOne(SQLTemplates templates, RepositoryOptions options) {
+        sqlFixture.readOnly();
+
+        Page<BAccount> page = tested(templates, options).find(new PageRequest(5, 2));
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.totalItems()).isEqualTo(2);
+        assertThat(page.totalPages()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    void shouldFindEmptyPage_whenPredicateDoesntMatchAnyResource(SQLTemplates templates, RepositoryOptions options) {
+        sqlFixture.readOnly();
+
+        Page<BAccount> page = tested(templates, options).find(QAccount.account.username.eq("nobody"), new PageRequest());
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.totalItems()).isZero();
+    }
+
+    private BaseRepository<BAccount> tested(SQLTemplates templates, RepositoryOptions options) {
+        return new QDSLBaseRepository<>(
+                new QDSLResource<>(QAccount.account),
+                Factories.queryFactory(sqlMemoryDb.dataSource(), templates),
+                options
+        );
+    }
+}
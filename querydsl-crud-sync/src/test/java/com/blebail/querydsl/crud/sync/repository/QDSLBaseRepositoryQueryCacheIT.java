@@ -0,0 +1,181 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLBaseRepositoryQueryCacheIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    AtomicInteger executedQueries;
+
+    SQLQueryFactory queryFactory;
+
+    QueryCache queryCache;
+
+    QDSLCrudRepository<QAccount, BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        executedQueries = new AtomicInteger();
+
+        Configuration configuration = new Configuration(SQLTemplates.DEFAULT);
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void executed(SQLListenerContext context) {
+                executedQueries.incrementAndGet();
+            }
+        });
+
+        queryFactory = new SQLQueryFactory(configuration, sqlMemoryDb.dataSource());
+        queryCache = new QueryCache(CacheOptions.defaults());
+        tested = repository(RepositoryOptions.defaults().withQueryCache(queryCache));
+    }
+
+    private QDSLCrudRepository<QAccount, BAccount, String> repository(RepositoryOptions options) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory,
+                options
+        );
+    }
+
+    @Test
+    void shouldReadAPageOnce() {
+        sqlFixture.readOnly();
+
+        Page<BAccount> page = tested.find(QAccount.account.username.startsWith("s"), new PageRequest(0, 10));
+        int executedQueriesOnFirstRead = executedQueries.get();
+        Page<BAccount> cachedPage = tested.find(QAccount.account.username.startsWith("s"), new PageRequest(0, 10));
+
+        assertThat(cachedPage).isSameAs(page);
+        assertThat(cachedPage.items()).usingFieldByFieldElementComparator().containsExactly(system());
+        assertThat(executedQueries.get()).isEqualTo(executedQueriesOnFirstRead);
+    }
+
+    @Test
+    void shouldReadAPageAgain_whenTheSortsAreInAnotherOrder() {
+        sqlFixture.readOnly();
+
+        Sort byIdDesc = new Sort("id", Sort.Direction.DESC);
+        Sort byUsernameDesc = new Sort("username", Sort.Direction.DESC);
+
+        Page<BAccount> byIdFirst = tested.find(null, new PageRequest(0, 1, List.of(byIdDesc, byUsernameDesc)));
+        Page<BAccount> byUsernameFirst = tested.find(null, new PageRequest(0, 1, List.of(byUsernameDesc, byIdDesc)));
+
+        assertThat(byIdFirst.items()).usingFieldByFieldElementComparator().containsExactly(admin());
+        assertThat(byUsernameFirst.items()).usingFieldByFieldElementComparator().containsExactly(system());
+    }
+
+    @Test
+    void shouldReadAPageAgain_whenThePageRequestDiffers() {
+        sqlFixture.readOnly();
+
+        tested.find(null, new PageRequest(0, 1));
+        int executedQueriesOnFirstRead = executedQueries.get();
+        Page<BAccount> secondPage = tested.find(null, new PageRequest(1, 1));
+
+        assertThat(secondPage.items()).hasSize(1);
+        assertThat(executedQueries.get()).isGreaterThan(executedQueriesOnFirstRead);
+    }
+
+    @Test
+    void shouldShareCounts_ofPredicatesWithOperandsInAnotherOrder() {
+        sqlFixture.readOnly();
+
+        Predicate predicate = QAccount.account.username.startsWith("a").and(QAccount.account.email.endsWith(".com"));
+        Predicate reordered = QAccount.account.email.endsWith(".com").and(QAccount.account.username.startsWith("a"));
+
+        assertThat(tested.count(predicate)).isEqualTo(1);
+        assertThat(tested.count(reordered)).isEqualTo(1);
+
+        assertThat(executedQueries.get()).isEqualTo(1);
+        assertThat(queryCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReadACountAgain_afterASave() {
+        assertThat(tested.count()).isEqualTo(2);
+
+        tested.save(admin2());
+
+        assertThat(tested.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadAPageAgain_afterADelete() {
+        assertThat(tested.find(new PageRequest(0, 10)).totalItems()).isEqualTo(2);
+
+        tested.delete(admin().getId());
+
+        Page<BAccount> page = tested.find(new PageRequest(0, 10));
+
+        assertThat(page.totalItems()).isEqualTo(1);
+        assertThat(page.items()).usingFieldByFieldElementComparator().containsExactly(system());
+    }
+
+    @Test
+    void shouldReadACountAgain_afterAWriteThroughAnotherRepositoryOfTheTable() {
+        QDSLCrudRepository<QAccount, BAccount, String> otherRepository = repository(RepositoryOptions.defaults());
+
+        assertThat(tested.count()).isEqualTo(2);
+
+        otherRepository.deleteAll();
+
+        assertThat(tested.count()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldNotCacheAResult_readWhileTheTableWasWritten() {
+        sqlFixture.readOnly();
+
+        long countBeforeWrite = queryCache.get(QAccount.account, List.of("count"), () -> {
+            TableVersions.bump(QAccount.account);
+
+            return 2L;
+        });
+
+        assertThat(countBeforeWrite).isEqualTo(2);
+        assertThat(queryCache.<Long>get(QAccount.account, List.of("count"), () -> 3L)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadACountAgain_whenInvalidated() {
+        sqlFixture.readOnly();
+
+        tested.count();
+        queryCache.invalidateAll();
+        tested.count();
+
+        assertThat(executedQueries.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BEvent;
+import com.blebail.querydsl.crud.QEvent;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.mysema.commons.lang.CloseableIterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.deleteAllEvents;
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.newEvent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLBaseRepositoryStreamIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, deleteAllEvents());
+
+    CrudRepository<BEvent, Long> tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QEvent.event, QEvent.event.id, BEvent::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                RepositoryOptions.defaults().withFetchSize(10).withReturnMode(ReturnMode.NONE)
+        );
+
+        tested.save(IntStream.range(0, 25)
+                .mapToObj(index -> newEvent("event" + index))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldStreamAllResources() {
+        try (Stream<BEvent> events = tested.streamAll()) {
+            assertThat(events.count()).isEqualTo(25);
+        }
+    }
+
+    @Test
+    void shouldStreamResources_accordingToPredicate() {
+        try (Stream<BEvent> events = tested.stream(QEvent.event.name.in("event1", "event2"))) {
+            assertThat(events.map(BEvent::getName)).containsExactlyInAnyOrder("event1", "event2");
+        }
+    }
+
+    @Test
+    void shouldReleaseTheConnection_whenClosingAPartiallyReadStream() throws SQLException {
+        int sessions = openSessions();
+
+        try (Stream<BEvent> events = tested.streamAll()) {
+            List<BEvent> firstEvents = events.limit(3).collect(Collectors.toList());
+
+            assertThat(firstEvents).hasSize(3);
+            assertThat(openSessions()).isEqualTo(sessions + 1);
+        }
+
+        assertThat(openSessions()).isEqualTo(sessions);
+    }
+
+    @Test
+    void shouldIterateOverResources_untilClosed() throws SQLException {
+        int sessions = openSessions();
+        int count = 0;
+
+        try (CloseableIterator<BEvent> events = tested.iterate(null)) {
+            while (events.hasNext()) {
+                events.next();
+                count++;
+            }
+        }
+
+        assertThat(count).isEqualTo(25);
+        assertThat(openSessions()).isEqualTo(sessions);
+    }
+
+    private int openSessions() throws SQLException {
+        try (Connection connection = sqlMemoryDb.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from INFORMATION_SCHEMA.SESSIONS")) {
+            resultSet.next();
+
+            return resultSet.getInt(1) - 1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Consumer;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+
+/**
+ * CPU time spent per call by the statements by id, with and without cached statements.
+ * Run with mvn verify -Dbenchmark=true -Dit.test=QDSLCrudRepositoryByIdBenchmarkIT
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QDSLCrudRepositoryByIdBenchmarkIT {
+
+    private static final int WARMUP_CALLS = 20_000;
+
+    private static final int MEASURED_CALLS = 100_000;
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    @Test
+    void measureCpuTimePerCall() {
+        sqlFixture.readOnly();
+
+        CrudRepository<BAccount, String> uncached = tested(false);
+        CrudRepository<BAccount, String> cached = tested(true);
+
+        measure("findOne", uncached, cached, repository -> repository.findOne(system().getId()));
+        measure("exists", uncached, cached, repository -> repository.exists(admin().getId()));
+    }
+
+    private void measure(String operation, CrudRepository<BAccount, String> uncached, CrudRepository<BAccount, String> cached,
+                         Consumer<CrudRepository<BAccount, String>> call) {
+        run(uncached, call, WARMUP_CALLS);
+        run(cached, call, WARMUP_CALLS);
+
+        long uncachedNanos = run(uncached, call, MEASURED_CALLS);
+        long cachedNanos = run(cached, call, MEASURED_CALLS);
+
+        System.out.printf("%s: %d ns/call serialized per call, %d ns/call cached, %d ns/call saved%n",
+                operation, uncachedNanos, cachedNanos, uncachedNanos - cachedNanos);
+    }
+
+    private long run(CrudRepository<BAccount, String> repository, Consumer<CrudRepository<BAccount, String>> call, int calls) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+
+        for (int index = 0; index < calls; index++) {
+            call.accept(repository);
+        }
+
+        return (threads.getCurrentThreadCpuTime() - start) / calls;
+    }
+
+    private CrudRepository<BAccount, String> tested(boolean cachedStatements) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                RepositoryOptions.defaults().withCachedStatements(cachedStatements)
+        );
+    }
+}
@@ -0,0 +1,153 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.types.JSR310InstantType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QDSLCrudRepositoryCachedStatementsIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    List<String> executedStatements;
+
+    int endedStatements;
+
+    RuntimeException startFailure;
+
+    CrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        executedStatements = new ArrayList<>();
+
+        Configuration configuration = new Configuration(SQLTemplates.DEFAULT);
+        configuration.register(new JSR310InstantType());
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void start(SQLListenerContext context) {
+                if (startFailure != null) {
+                    throw startFailure;
+                }
+            }
+
+            @Override
+            public void executed(SQLListenerContext context) {
+                executedStatements.add(context.getSQL());
+            }
+
+            @Override
+            public void end(SQLListenerContext context) {
+                endedStatements++;
+            }
+        });
+
+        tested = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                new SQLQueryFactory(configuration, sqlMemoryDb.dataSource()),
+                RepositoryOptions.defaults().withReturnMode(ReturnMode.NONE).withCachedStatements(true)
+        );
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        assertThat(RepositoryOptions.defaults().cachedStatements()).isFalse();
+    }
+
+    @Test
+    void shouldFindOneResource_withTheSameStatementForEveryId() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.findOne(system().getId())).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(admin());
+        assertThat(tested.findOne("9999")).isEmpty();
+
+        assertThat(executedStatements).hasSize(3);
+        assertThat(executedStatements).containsOnly(executedStatements.get(0));
+        assertThat(executedStatements.get(0)).contains("?").doesNotContain(system().getId());
+    }
+
+    @Test
+    void shouldTellIfAResourceExists() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.exists(system().getId())).isTrue();
+        assertThat(tested.exists("9999")).isFalse();
+    }
+
+    @Test
+    void shouldUpdateTheNonNullColumns_whenSavingAnExistingResource() {
+        BAccount accountToUpdate = new BAccount("newmail@test.com", admin().getId(), null);
+
+        tested.save(accountToUpdate);
+
+        BAccount expectedAccount = new BAccount("newmail@test.com", admin().getId(), admin().getUsername());
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(expectedAccount);
+    }
+
+    @Test
+    void shouldDeleteAResource() {
+        assertThat(tested.delete(admin().getId())).isTrue();
+        assertThat(tested.delete(admin().getId())).isFalse();
+        assertThat(tested.exists(admin().getId())).isFalse();
+    }
+
+    @Test
+    void shouldEndTheStatement_whenAListenerFailsToStartIt() {
+        sqlFixture.readOnly();
+
+        startFailure = new IllegalStateException("listener failure");
+
+        assertThatThrownBy(() -> tested.findOne(system().getId())).isSameAs(startFailure);
+        assertThat(endedStatements).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseTheConnections() throws SQLException {
+        sqlFixture.readOnly();
+
+        int sessions = openSessions();
+
+        tested.findOne(system().getId());
+        tested.exists(system().getId());
+
+        assertThat(openSessions()).isEqualTo(sessions);
+    }
+
+    private int openSessions() throws SQLException {
+        try (Connection connection = sqlMemoryDb.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from INFORMATION_SCHEMA.SESSIONS")) {
+            resultSet.next();
+
+            return resultSet.getInt(1) - 1;
+        }
+    }
+}
@@ -164,7 +164,36 @@ class QDSLCrudRepositoryIT {
     void shouldThrowExceptionWhenChekingIfNullIdExist() {
         sqlFixture.readOnly();
 
-        assertThrows(NullPointerException.class, () -> tested.exists(null));
+        assertThrows(NullPointerException.class, () -> tested.exists((String) null));
+    }
+
+    @Test
+    void shouldReturnExistingIds_whenCheckingSeveralIds() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.existsAll(Arrays.asList(system().getId(), "1234", admin().getId(), null)))
+                .containsOnly(system().getId(), admin().getId());
+    }
+
+    @Test
+    void shouldReturnExistingIds_whenCheckingIdsInSeveralChunks() {
+        sqlFixture.readOnly();
+
+        CrudRepository<BAccount, String> chunkedRepository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                RepositoryOptions.defaults().withInChunkSize(1)
+        );
+
+        assertThat(chunkedRepository.existsAll(List.of(system().getId(), "1234", admin().getId())))
+                .containsOnly(system().getId(), admin().getId());
+    }
+
+    @Test
+    void shouldReturnNoIds_whenCheckingNoIds() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.existsAll(List.of())).isEmpty();
     }
 
     @Test
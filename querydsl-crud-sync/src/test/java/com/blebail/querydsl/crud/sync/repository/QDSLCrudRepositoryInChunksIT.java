@@ -0,0 +1,173 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BEvent;
+import com.blebail.querydsl.crud.QEvent;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.deleteAllEvents;
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.newEvent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLCrudRepositoryInChunksIT {
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, deleteAllEvents());
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdown();
+    }
+
+    static Stream<RepositoryOptions> options() {
+        return Stream.of(
+                RepositoryOptions.defaults().withInChunkSize(4),
+                RepositoryOptions.defaults().withInChunkSize(4).withExecutor(executor)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldFindAllResources_whenIdsSpanSeveralChunks(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = ids(tested.save(newEvents(11)));
+
+        Collection<BEvent> events = tested.find(ids);
+
+        assertThat(ids(events)).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldIgnoreDuplicateAndNullIds_whenFindingInChunks(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = ids(tested.save(newEvents(5)));
+        List<Long> idsWithDuplicates = new ArrayList<>(ids);
+        idsWithDuplicates.addAll(ids);
+        idsWithDuplicates.add(null);
+
+        Collection<BEvent> events = tested.find(idsWithDuplicates);
+
+        assertThat(ids(events)).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldDeleteAllResources_whenIdsSpanSeveralChunks(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = ids(tested.save(newEvents(9)));
+
+        boolean deleted = tested.delete(ids.subList(0, 7));
+
+        assertThat(deleted).isTrue();
+        assertThat(ids(tested.findAll())).containsExactlyInAnyOrderElementsOf(ids.subList(7, 9));
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldReturnTrue_whenDeletingEachDistinctId_givenDuplicateAndNullIds(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = ids(tested.save(newEvents(5)));
+        List<Long> idsWithDuplicates = new ArrayList<>(ids);
+        idsWithDuplicates.addAll(ids);
+        idsWithDuplicates.add(null);
+
+        assertThat(tested.delete(idsWithDuplicates)).isTrue();
+        assertThat(tested.count()).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldReturnFalse_whenSomeIdsDontExistInChunks(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = new ArrayList<>(ids(tested.save(newEvents(6))));
+        ids.add(-1L);
+
+        assertThat(tested.delete(ids)).isFalse();
+        assertThat(tested.count()).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldUpdateExistingResources_whenSavingThemInChunks(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        Collection<BEvent> savedEvents = tested.save(newEvents(7));
+        List<BEvent> renamedEvents = savedEvents.stream()
+                .map(event -> new BEvent(event.getCreatedAt(), event.getId(), "renamed"))
+                .collect(Collectors.toList());
+
+        tested.save(renamedEvents);
+
+        assertThat(tested.count()).isEqualTo(7);
+        assertThat(tested.findAll()).extracting(BEvent::getName).containsOnly("renamed");
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldRollBackChunkedDeletes_withTheTransactionOfTheSession(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+        List<Long> ids = ids(tested.save(newEvents(9)));
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            assertThat(tested.delete(ids)).isTrue();
+            assertThat(tested.count()).isZero();
+        }
+
+        assertThat(tested.count()).isEqualTo(9);
+    }
+
+    @ParameterizedTest
+    @MethodSource("options")
+    void shouldCountTheUncommittedResources_ofTheSession_whenFindingAPage(RepositoryOptions options) {
+        CrudRepository<BEvent, Long> tested = tested(options);
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(newEvents(5));
+
+            assertThat(tested.find(new PageRequest(0, 2)).totalItems()).isEqualTo(5);
+        }
+
+        assertThat(tested.count()).isZero();
+    }
+
+    private CrudRepository<BEvent, Long> tested(RepositoryOptions options) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QEvent.event, QEvent.event.id, BEvent::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                options
+        );
+    }
+
+    private static List<BEvent> newEvents(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> newEvent("event" + index))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(Collection<BEvent> events) {
+        return events.stream()
+                .map(BEvent::getId)
+                .collect(Collectors.toList());
+    }
+}
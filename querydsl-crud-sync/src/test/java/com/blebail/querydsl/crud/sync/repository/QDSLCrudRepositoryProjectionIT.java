@@ -0,0 +1,120 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Slice;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertAdmin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QDSLCrudRepositoryProjectionIT {
+
+    private static final QAccount account = QAccount.account;
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    IdentifiableQDSLResource<QAccount, BAccount, String> accountResource;
+
+    CrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        accountResource = new IdentifiableQDSLResource<>(account, account.id, BAccount::getId);
+        accountResource.addProjection("summary", Projections.tuple(account.id, account.username));
+
+        tested = new QDSLCrudRepository<>(accountResource, Factories.defaultQueryFactory(sqlMemoryDb.dataSource()));
+    }
+
+    @Test
+    void shouldFindProjectedResources_accordingToPredicate() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.find(account.username.eq("admin"), account.email)).containsExactly(admin().getEmail());
+    }
+
+    @Test
+    void shouldFindOneProjectedResource() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.findOne(account.id.eq(system().getId()), account.username)).contains(system().getUsername());
+        assertThat(tested.findOne(admin().getId(), account.email)).contains(admin().getEmail());
+    }
+
+    @Test
+    void shouldFindProjectedResources_byIds() {
+        sqlFixture.readOnly();
+
+        assertThat(tested.find(List.of(admin().getId(), system().getId()), account.username))
+                .containsExactlyInAnyOrder(admin().getUsername(), system().getUsername());
+    }
+
+    @Test
+    void shouldFindPageOfProjectedResources() {
+        sqlFixture.exec(insertAdmin2());
+
+        PageRequest pageRequest = new PageRequest(0, 2, List.of(new Sort("id", Sort.Direction.DESC)));
+        Page<String> page = tested.find(null, pageRequest, account.email);
+
+        assertThat(page.items()).containsExactly(admin2().getEmail(), admin().getEmail());
+        assertThat(page.totalItems()).isEqualTo(3);
+
+        Slice<String> slice = tested.findSlice(null, pageRequest, account.email);
+
+        assertThat(slice.items()).containsExactly(admin2().getEmail(), admin().getEmail());
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldStreamProjectedResources() {
+        sqlFixture.readOnly();
+
+        try (Stream<String> usernames = tested.stream(null, account.username)) {
+            assertThat(usernames.collect(Collectors.toList())).containsExactlyInAnyOrder(admin().getUsername(), system().getUsername());
+        }
+    }
+
+    @Test
+    void shouldReadNamedProjection() {
+        sqlFixture.readOnly();
+
+        Expression<Tuple> summary = accountResource.projection("summary");
+        Tuple adminSummary = tested.findOne(admin().getId(), summary).orElseThrow();
+
+        assertThat(adminSummary.get(account.id)).isEqualTo(admin().getId());
+        assertThat(adminSummary.get(account.username)).isEqualTo(admin().getUsername());
+        assertThat(adminSummary.get(account.email)).isNull();
+    }
+
+    @Test
+    void shouldThrowException_whenProjectionIsUnknown() {
+        sqlFixture.readOnly();
+
+        assertThrows(IllegalArgumentException.class, () -> accountResource.projection("unknown"));
+    }
+}
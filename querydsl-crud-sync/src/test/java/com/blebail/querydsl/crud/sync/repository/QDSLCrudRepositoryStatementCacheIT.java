@@ -0,0 +1,141 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QDSLCrudRepositoryStatementCacheIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = sqlMemoryDb.dataSource().getConnection();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldThrowException_whenMaxStatementsIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new StatementCache(0));
+    }
+
+    @Test
+    void shouldReuseStatements_whenTheConnectionStaysOpen() {
+        sqlFixture.readOnly();
+
+        StatementCache statementCache = new StatementCache(10);
+        CrudRepository<BAccount, String> tested = tested(sharedConnectionFactory(), statementCache);
+
+        assertThat(tested.findOne(system().getId())).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(admin());
+        assertThat(tested.exists(admin().getId())).isTrue();
+        assertThat(tested.exists("9999")).isFalse();
+
+        assertThat(statementCache.misses()).isEqualTo(2);
+        assertThat(statementCache.hits()).isEqualTo(2);
+        assertThat(statementCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropStatements_whenTheConnectionIsClosedAfterEachCall() {
+        sqlFixture.readOnly();
+
+        StatementCache statementCache = new StatementCache(10);
+        CrudRepository<BAccount, String> tested = tested(Factories.defaultQueryFactory(sqlMemoryDb.dataSource()), statementCache);
+
+        assertThat(tested.findOne(system().getId())).usingFieldByFieldValueComparator().contains(system());
+        assertThat(tested.findOne(admin().getId())).usingFieldByFieldValueComparator().contains(admin());
+
+        assertThat(statementCache.hits()).isZero();
+        assertThat(statementCache.misses()).isEqualTo(2);
+        assertThat(statementCache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedStatement_whenFull() {
+        sqlFixture.readOnly();
+
+        StatementCache statementCache = new StatementCache(1);
+        CrudRepository<BAccount, String> tested = tested(sharedConnectionFactory(), statementCache);
+
+        tested.findOne(system().getId());
+        tested.exists(system().getId());
+        tested.findOne(system().getId());
+
+        assertThat(statementCache.hits()).isZero();
+        assertThat(statementCache.misses()).isEqualTo(3);
+        assertThat(statementCache.evictions()).isEqualTo(2);
+        assertThat(statementCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCloseTheCachedStatements_whenCleared() {
+        sqlFixture.readOnly();
+
+        StatementCache statementCache = new StatementCache(10);
+        CrudRepository<BAccount, String> tested = tested(sharedConnectionFactory(), statementCache);
+
+        tested.findOne(system().getId());
+        statementCache.clear();
+        tested.findOne(system().getId());
+
+        assertThat(statementCache.hits()).isZero();
+        assertThat(statementCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepUpdatingResources_whenReusingStatements() {
+        StatementCache statementCache = new StatementCache(10);
+        CrudRepository<BAccount, String> tested = tested(sharedConnectionFactory(), statementCache);
+
+        tested.save(new BAccount("first@test.com", admin().getId(), admin().getUsername()));
+        tested.save(new BAccount("second@test.com", admin().getId(), admin().getUsername()));
+
+        assertThat(tested.findOne(admin().getId()).map(BAccount::getEmail)).contains("second@test.com");
+        assertThat(statementCache.hits()).isPositive();
+    }
+
+    private SQLQueryFactory sharedConnectionFactory() {
+        return new SQLQueryFactory(new Configuration(SQLTemplates.DEFAULT), () -> connection);
+    }
+
+    private CrudRepository<BAccount, String> tested(SQLQueryFactory queryFactory, StatementCache statementCache) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory,
+                RepositoryOptions.defaults()
+                        .withReturnMode(ReturnMode.NONE)
+                        .withCachedStatements(true)
+                        .withStatementCache(statementCache)
+        );
+    }
+}
@@ -0,0 +1,155 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertJohnDoe;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QDSLCrudRepositoryUpsertIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    static Stream<SQLTemplates> templates() {
+        return Stream.of(H2Templates.DEFAULT, SQLTemplates.DEFAULT);
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldThrowException_whenUpsertingNull(SQLTemplates templates) {
+        sqlFixture.readOnly();
+
+        assertThrows(NullPointerException.class, () -> tested(templates).save((BAccount) null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldInsertAResource_whenItDoesntExist(SQLTemplates templates) {
+        BAccount newAccount = new BAccount("tom@test.com", "1234", "tomsearle");
+        long accountCount = countRows();
+
+        BAccount savedAccount = tested(templates).save(newAccount);
+
+        assertThat(countRows()).isEqualTo(accountCount + 1);
+        assertThat(savedAccount).usingRecursiveComparison().isEqualTo(newAccount);
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldUpdateAResource_whenItExists(SQLTemplates templates) {
+        BAccount accountToUpdate = new BAccount("newmail@test.com", admin().getId(), admin().getUsername());
+        long accountCount = countRows();
+
+        CrudRepository<BAccount, String> tested = tested(templates);
+        tested.save(accountToUpdate);
+
+        Optional<BAccount> maybeUpdatedAccount = tested.findOne(accountToUpdate.getId());
+
+        assertThat(countRows()).isEqualTo(accountCount);
+        assertThat(maybeUpdatedAccount).usingFieldByFieldValueComparator().contains(accountToUpdate);
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldInsertAndUpdateResources_whenUpsertingInSeveralBatches(SQLTemplates templates) {
+        sqlFixture.exec(insertJohnDoe());
+
+        BAccount accountToUpdate1 = new BAccount("newmail1@test.com", system().getId(), system().getUsername());
+        BAccount accountToUpdate2 = new BAccount("newmail2@test.com", admin().getId(), admin().getUsername());
+        BAccount newAccount = new BAccount("tom@test.com", "1234", "tomsearle");
+        long accountCount = countRows();
+
+        CrudRepository<BAccount, String> tested = tested(templates, RepositoryOptions.defaults().withBatchSize(2));
+        Collection<BAccount> savedAccounts = tested.save(List.of(accountToUpdate1, newAccount, accountToUpdate2));
+
+        assertThat(countRows()).isEqualTo(accountCount + 1);
+        assertThat(savedAccounts).usingFieldByFieldElementComparator().containsOnly(accountToUpdate1, newAccount, accountToUpdate2);
+        assertThat(tested.findOne(johnDoe().getId())).usingFieldByFieldValueComparator().contains(johnDoe());
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldReturnTheInputResources_whenReturnModeIsInput(SQLTemplates templates) {
+        BAccount newAccount = new BAccount("tom@test.com", "1234", "tomsearle");
+        List<BAccount> newAccounts = List.of(newAccount);
+
+        CrudRepository<BAccount, String> tested = tested(templates, RepositoryOptions.defaults().withReturnMode(ReturnMode.INPUT));
+
+        assertThat(tested.save(newAccount)).isSameAs(newAccount);
+        assertThat(tested.save(newAccounts)).isSameAs(newAccounts);
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldReturnNothing_whenReturnModeIsNone(SQLTemplates templates) {
+        BAccount newAccount1 = new BAccount("tom@test.com", "1234", "tomsearle");
+        BAccount newAccount2 = new BAccount("dan@test.com", "2345", "dansearle");
+        long accountCount = countRows();
+
+        CrudRepository<BAccount, String> tested = tested(templates, RepositoryOptions.defaults().withReturnMode(ReturnMode.NONE));
+
+        assertThat(tested.save(newAccount1)).isNull();
+        assertThat(tested.save(List.of(newAccount2))).isEmpty();
+        assertThat(countRows()).isEqualTo(accountCount + 2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldRejectSaves_returningGeneratedValues(SQLTemplates templates) {
+        sqlFixture.readOnly();
+
+        CrudRepository<BAccount, String> tested = tested(templates);
+
+        assertThrows(IllegalArgumentException.class, () -> tested.save(johnDoe(), WriteOptions.RETURN_GENERATED));
+        assertThrows(IllegalArgumentException.class, () -> tested.save(List.of(johnDoe()), WriteOptions.RETURN_GENERATED));
+        assertThat(tested.exists(johnDoe().getId())).isFalse();
+    }
+
+    @ParameterizedTest
+    @MethodSource("templates")
+    void shouldRejectOptions_returningGeneratedValues(SQLTemplates templates) {
+        assertThrows(IllegalArgumentException.class, () -> tested(templates, RepositoryOptions.defaults().withReturnMode(ReturnMode.GENERATED)));
+    }
+
+    private CrudRepository<BAccount, String> tested(SQLTemplates templates) {
+        return tested(templates, RepositoryOptions.defaults());
+    }
+
+    private CrudRepository<BAccount, String> tested(SQLTemplates templates, RepositoryOptions options) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.queryFactory(sqlMemoryDb.dataSource(), templates),
+                options.withSaveStrategy(SaveStrategy.UPSERT)
+        );
+    }
+
+    private long countRows() {
+        return Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+                .select(QAccount.account)
+                .from(QAccount.account)
+                .fetchCount();
+    }
+}
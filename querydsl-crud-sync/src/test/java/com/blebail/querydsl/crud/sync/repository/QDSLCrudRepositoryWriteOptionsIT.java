@@ -0,0 +1,93 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BEvent;
+import com.blebail.querydsl.crud.QEvent;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.deleteAllEvents;
+import static com.blebail.querydsl.crud.sync.fixtures.EventFixtures.newEvent;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QDSLCrudRepositoryWriteOptionsIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, deleteAllEvents());
+
+    CrudRepository<BEvent, Long> tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QEvent.event, QEvent.event.id, BEvent::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+        );
+    }
+
+    @Test
+    void shouldRereadTheInsertedResource_whenItsIdIsGenerated() {
+        BEvent savedEvent = tested.save(newEvent("signup"));
+
+        assertThat(savedEvent.getId()).isNotNull();
+        assertThat(savedEvent.getName()).isEqualTo("signup");
+        assertThat(savedEvent.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldReturnTheGeneratedValues_whenReturnModeIsGenerated() {
+        BEvent event = newEvent("signup");
+
+        BEvent savedEvent = tested.save(event, WriteOptions.RETURN_GENERATED);
+
+        assertThat(savedEvent).isNotSameAs(event);
+        assertThat(savedEvent.getId()).isNotNull();
+        assertThat(savedEvent.getName()).isEqualTo("signup");
+        assertThat(tested.findOne(savedEvent.getId())).isPresent();
+    }
+
+    @Test
+    void shouldReturnTheGeneratedValuesOfEachResource_whenReturnModeIsGenerated() {
+        Collection<BEvent> savedEvents = tested.save(List.of(newEvent("signup"), newEvent("login")), WriteOptions.RETURN_GENERATED);
+
+        assertThat(savedEvents).extracting(BEvent::getName).containsExactly("signup", "login");
+        assertThat(savedEvents).extracting(BEvent::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(tested.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnTheUpdatedResourceAsIs_whenReturnModeIsGenerated() {
+        BEvent savedEvent = tested.save(newEvent("signup"));
+        BEvent eventToUpdate = new BEvent(savedEvent.getCreatedAt(), savedEvent.getId(), "login");
+
+        assertThat(tested.save(eventToUpdate, WriteOptions.RETURN_GENERATED)).isSameAs(eventToUpdate);
+        assertThat(tested.findOne(savedEvent.getId())).map(BEvent::getName).contains("login");
+    }
+
+    @Test
+    void shouldReturnTheInputResource_whenReturnModeIsInput() {
+        BEvent event = newEvent("signup");
+        List<BEvent> events = List.of(newEvent("login"));
+
+        assertThat(tested.save(event, WriteOptions.RETURN_INPUT)).isSameAs(event);
+        assertThat(tested.save(events, WriteOptions.RETURN_INPUT)).isSameAs(events);
+        assertThat(tested.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnNothing_whenReturnModeIsNone() {
+        assertThat(tested.save(newEvent("signup"), WriteOptions.RETURN_NONE)).isNull();
+        assertThat(tested.save(List.of(newEvent("login")), WriteOptions.RETURN_NONE)).isEmpty();
+        assertThat(tested.count()).isEqualTo(2);
+    }
+}
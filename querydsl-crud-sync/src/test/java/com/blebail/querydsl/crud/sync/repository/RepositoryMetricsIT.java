@@ -0,0 +1,223 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.NonUniqueResultException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryMetricsIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    RepositoryMetrics metrics;
+
+    CrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new RepositoryMetrics();
+        tested = repository(RepositoryOptions.defaults().withMetrics(metrics));
+    }
+
+    private CrudRepository<BAccount, String> repository(RepositoryOptions options) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                options
+        );
+    }
+
+    private MethodStats stats(RepositoryMethod method) {
+        return metrics.stats(QAccount.account, method).orElseThrow();
+    }
+
+    @Test
+    void shouldRecordTheCallsOfEachMethod() {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId());
+        tested.findOne(johnDoe().getId());
+        tested.find(QAccount.account.id.isNotNull());
+        tested.count();
+
+        assertThat(stats(RepositoryMethod.FIND_ONE_BY_ID).calls()).isEqualTo(2);
+        assertThat(stats(RepositoryMethod.FIND_ONE_BY_ID).rows()).isEqualTo(1);
+        assertThat(stats(RepositoryMethod.FIND).rows()).isEqualTo(2);
+        assertThat(stats(RepositoryMethod.COUNT).calls()).isEqualTo(1);
+        assertThat(stats(RepositoryMethod.COUNT).rows()).isEqualTo(1);
+        assertThat(metrics.stats(QAccount.account, RepositoryMethod.DELETE_ALL)).isEmpty();
+    }
+
+    @Test
+    void shouldRecordTheLatencyOfEachCall() {
+        sqlFixture.readOnly();
+
+        for (int i = 0; i < 10; i++) {
+            tested.findAll();
+        }
+
+        MethodStats stats = stats(RepositoryMethod.FIND_ALL);
+
+        assertThat(stats.latencies().count()).isEqualTo(10);
+        assertThat(stats.latencies().p50()).isPositive();
+        assertThat(stats.latencies().p999()).isLessThanOrEqualTo(stats.latencies().max());
+        assertThat(stats.queueWaits().count()).isZero();
+    }
+
+    @Test
+    void shouldRecordTheRowsRead_whenTheIteratorIsClosed() throws Exception {
+        sqlFixture.readOnly();
+
+        try (CloseableIterator<BAccount> iterator = tested.iterate(null)) {
+            iterator.next();
+            Thread.sleep(20);
+
+            assertThat(metrics.stats(QAccount.account, RepositoryMethod.ITERATE)).isEmpty();
+        }
+
+        try (Stream<BAccount> accounts = tested.streamAll()) {
+            assertThat(accounts.count()).isEqualTo(2);
+        }
+
+        MethodStats stats = stats(RepositoryMethod.ITERATE);
+
+        assertThat(stats.calls()).isEqualTo(2);
+        assertThat(stats.rows()).isEqualTo(3);
+        assertThat(stats.latencies().max()).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    void shouldRecordTheRowsRead_byExistenceChecks() {
+        sqlFixture.readOnly();
+
+        tested.exists(admin().getId());
+        tested.exists(johnDoe().getId());
+        tested.exists(QAccount.account.id.isNotNull());
+        tested.exists(QAccount.account.id.isNull());
+
+        assertThat(stats(RepositoryMethod.EXISTS_BY_ID).rows()).isEqualTo(1);
+        assertThat(stats(RepositoryMethod.EXISTS).rows()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordTheBatchSizesAndTheRowsWritten_bySaves() {
+        BAccount renamedAdmin = new BAccount(admin().getEmail(), admin().getId(), "renamed");
+
+        tested.save(List.of(johnDoe(), renamedAdmin), WriteOptions.RETURN_NONE);
+        tested.save(List.of(johnDoe()), WriteOptions.RETURN_NONE);
+
+        MethodStats stats = stats(RepositoryMethod.SAVE_ALL);
+
+        assertThat(stats.calls()).isEqualTo(2);
+        assertThat(stats.rows()).isEqualTo(3);
+        assertThat(stats.batchSizes().count()).isEqualTo(2);
+        assertThat(stats.batchSizes().max()).isEqualTo(2);
+        assertThat(stats.batchSizes().mean()).isEqualTo(1.5);
+    }
+
+    @Test
+    void shouldRecordTheRowsAffectedByDeletes() {
+        tested.delete(List.of(admin().getId(), system().getId(), johnDoe().getId()));
+
+        assertThat(stats(RepositoryMethod.DELETE_BY_IDS).rows()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordFailedCalls() {
+        sqlFixture.readOnly();
+
+        assertThatThrownBy(() -> tested.findOne(QAccount.account.id.isNotNull())).isInstanceOf(NonUniqueResultException.class);
+
+        MethodStats stats = stats(RepositoryMethod.FIND_ONE);
+
+        assertThat(stats.calls()).isEqualTo(1);
+        assertThat(stats.failures()).isEqualTo(1);
+        assertThat(stats.rows()).isZero();
+    }
+
+    @Test
+    void shouldShareTheMetricsOfATable_betweenRepositories() {
+        sqlFixture.readOnly();
+
+        CrudRepository<BAccount, String> otherRepository = repository(RepositoryOptions.defaults().withMetrics(metrics));
+
+        tested.exists(admin().getId());
+        otherRepository.exists(system().getId());
+
+        assertThat(stats(RepositoryMethod.EXISTS_BY_ID).calls()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReportTheStatsOfTheCalledMethods_toTheSink() {
+        sqlFixture.readOnly();
+
+        List<MethodStats> reportedStats = new ArrayList<>();
+
+        tested.count();
+        tested.exists(admin().getId());
+        metrics.report(reportedStats::addAll);
+
+        assertThat(reportedStats).extracting(MethodStats::method)
+                .containsExactly(RepositoryMethod.COUNT, RepositoryMethod.EXISTS_BY_ID);
+        assertThat(reportedStats).extracting(MethodStats::table).containsOnly("account");
+    }
+
+    @Test
+    void shouldExposeTheStatsThroughJmx() throws Exception {
+        sqlFixture.readOnly();
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = metrics.registerMBean("metrics-it-" + System.nanoTime());
+
+        try {
+            tested.count();
+            tested.count();
+
+            TabularData calls = (TabularData) mBeanServer.getAttribute(name, "Calls");
+            TabularData latencies = (TabularData) mBeanServer.getAttribute(name, "LatencyP99Micros");
+
+            assertThat(calls.get(new Object[]{"account.COUNT"}).get("value")).isEqualTo(2L);
+            assertThat(latencies.get(new Object[]{"account.COUNT"})).isNotNull();
+        } finally {
+            mBeanServer.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void shouldRecordNothing_withoutMetrics() {
+        sqlFixture.readOnly();
+
+        Collection<BAccount> accounts = repository(RepositoryOptions.defaults()).findAll();
+
+        assertThat(accounts).hasSize(2);
+        assertThat(metrics.stats()).isEmpty();
+    }
+}
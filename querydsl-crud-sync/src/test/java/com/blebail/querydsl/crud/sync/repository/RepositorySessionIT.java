@@ -0,0 +1,271 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.cache.CacheOptions;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositorySessionIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    Set<Connection> usedConnections;
+
+    SQLQueryFactory queryFactory;
+
+    CrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        usedConnections = Collections.newSetFromMap(new IdentityHashMap<>());
+        queryFactory = Factories.defaultQueryFactory(sqlMemoryDb.dataSource());
+        queryFactory.getConfiguration().addListener(new SQLBaseListener() {
+            @Override
+            public void start(SQLListenerContext context) {
+                usedConnections.add(context.getConnection());
+            }
+        });
+
+        tested = repository(RepositoryOptions.defaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        assertThat(RepositorySession.current()).isEmpty();
+    }
+
+    private CrudRepository<BAccount, String> repository(RepositoryOptions options) {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory,
+                options
+        );
+    }
+
+    private CrudRepository<BAccount, String> outsideOfSessions() {
+        return new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+        );
+    }
+
+    @Test
+    void shouldGetAConnectionPerCall_outsideOfSessions() {
+        sqlFixture.readOnly();
+
+        tested.findOne(system().getId());
+        tested.exists(admin().getId());
+        tested.count();
+
+        assertThat(usedConnections).hasSize(3);
+    }
+
+    @Test
+    void shouldRunTheCallsOnASingleConnection_withinASession() {
+        sqlFixture.readOnly();
+
+        try (RepositorySession session = RepositorySession.open()) {
+            tested.findOne(system().getId());
+            tested.exists(admin().getId());
+            tested.count();
+
+            assertThat(session.connections()).isEqualTo(1);
+            assertThat(RepositorySession.current()).contains(session);
+        }
+
+        assertThat(usedConnections).hasSize(1);
+    }
+
+    @Test
+    void shouldShareTheConnection_betweenRepositoriesOfTheSameFactory() {
+        sqlFixture.readOnly();
+
+        CrudRepository<BAccount, String> otherRepository = repository(RepositoryOptions.defaults());
+
+        long count = RepositorySession.withConnection(() -> tested.count() + otherRepository.count());
+
+        assertThat(count).isEqualTo(4);
+        assertThat(usedConnections).hasSize(1);
+    }
+
+    @Test
+    void shouldCloseThePinnedConnection_whenTheSessionIsClosed() throws Exception {
+        sqlFixture.readOnly();
+
+        try (RepositorySession session = RepositorySession.open()) {
+            tested.count();
+        }
+
+        Connection pinnedConnection = usedConnections.iterator().next();
+
+        assertThat(pinnedConnection.isClosed()).isTrue();
+    }
+
+    @Test
+    void shouldReuseCachedStatements_withinASession() {
+        sqlFixture.readOnly();
+
+        StatementCache statementCache = new StatementCache(10);
+        CrudRepository<BAccount, String> cachingStatements = repository(RepositoryOptions.defaults()
+                .withReturnMode(ReturnMode.NONE)
+                .withCachedStatements(true)
+                .withStatementCache(statementCache));
+
+        try (RepositorySession session = RepositorySession.open()) {
+            cachingStatements.findOne(system().getId());
+            cachingStatements.findOne(admin().getId());
+            cachingStatements.findOne(johnDoe().getId());
+        }
+
+        assertThat(statementCache.misses()).isEqualTo(1);
+        assertThat(statementCache.hits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCommitTheWrites_whenTheTransactionIsCommitted() {
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(johnDoe());
+            session.commit();
+        }
+
+        assertThat(outsideOfSessions().exists(johnDoe().getId())).isTrue();
+    }
+
+    @Test
+    void shouldRollBackTheWrites_whenTheTransactionIsNotCommitted() {
+        sqlFixture.readOnly();
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            tested.save(johnDoe());
+            tested.delete(system().getId());
+
+            assertThat(tested.exists(johnDoe().getId())).isTrue();
+            assertThat(outsideOfSessions().exists(johnDoe().getId())).isFalse();
+        }
+
+        assertThat(outsideOfSessions().exists(johnDoe().getId())).isFalse();
+        assertThat(outsideOfSessions().exists(system().getId())).isTrue();
+    }
+
+    @Test
+    void shouldRollBackTheWrites_whenTheTransactionalCallThrows() {
+        sqlFixture.readOnly();
+
+        assertThatThrownBy(() -> RepositorySession.inTransaction(() -> {
+            tested.save(johnDoe());
+
+            throw new IllegalStateException("failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(outsideOfSessions().exists(johnDoe().getId())).isFalse();
+    }
+
+    @Test
+    void shouldCommitTheWrites_whenTheTransactionalCallReturns() {
+        boolean saved = RepositorySession.inTransaction(() -> tested.save(johnDoe()) != null);
+
+        assertThat(saved).isTrue();
+        assertThat(outsideOfSessions().exists(johnDoe().getId())).isTrue();
+    }
+
+    @Test
+    void shouldDiscardTheCountsCachedByOtherSessions_onceTheTransactionCommits() {
+        CrudRepository<BAccount, String> cachingQueries = repository(RepositoryOptions.defaults()
+                .withQueryCache(new QueryCache(CacheOptions.defaults())));
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            cachingQueries.delete(system().getId());
+
+            assertThat(onAnotherThread(() -> cachingQueries.count()).longValue()).isEqualTo(2);
+
+            session.commit();
+        }
+
+        assertThat(onAnotherThread(() -> cachingQueries.count()).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateTheResourcesCachedByOtherSessions_onceTheTransactionCommits() {
+        CachingCrudRepository<BAccount, String> cachingResources = new CachingCrudRepository<>(tested, BAccount::getId, CacheOptions.defaults());
+        BAccount renamedAdmin = new BAccount(admin().getEmail(), admin().getId(), "renamed");
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            cachingResources.save(renamedAdmin);
+
+            assertThat(onAnotherThread(() -> cachingResources.findOne(admin().getId())))
+                    .map(BAccount::getUsername)
+                    .contains(admin().getUsername());
+
+            session.commit();
+        }
+
+        assertThat(cachingResources.findOne(admin().getId())).map(BAccount::getUsername).contains("renamed");
+    }
+
+    @Test
+    void shouldRunTheCompletionActions_onceTheTransactionEnds() {
+        List<String> completions = new ArrayList<>();
+
+        try (RepositorySession session = RepositorySession.openTransaction()) {
+            session.afterCompletion(() -> completions.add("committed"));
+            session.commit();
+            session.afterCompletion(() -> completions.add("closed"));
+
+            assertThat(completions).containsExactly("committed");
+        }
+
+        assertThat(completions).containsExactly("committed", "closed");
+    }
+
+    @Test
+    void shouldRunTheCompletionActionsRightAway_whenTheSessionIsNotTransactional() {
+        List<String> completions = new ArrayList<>();
+
+        try (RepositorySession session = RepositorySession.open()) {
+            session.afterCompletion(() -> completions.add("completed"));
+
+            assertThat(completions).containsExactly("completed");
+        }
+    }
+
+    private static <V> V onAnotherThread(Supplier<V> call) {
+        return CompletableFuture.supplyAsync(call).join();
+    }
+
+    @Test
+    void shouldThrowException_whenCommittingASessionWhichIsNotTransactional() {
+        try (RepositorySession session = RepositorySession.open()) {
+            assertThatThrownBy(session::commit).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
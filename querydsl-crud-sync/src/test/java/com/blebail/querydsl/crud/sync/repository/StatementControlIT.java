@@ -0,0 +1,168 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.querydsl.core.QueryException;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLDetailedListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.SleepFixtures.awaitSleepingStatement;
+import static com.blebail.querydsl.crud.sync.fixtures.SleepFixtures.sleepingFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementControlIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    QDSLCrudRepository<QAccount, BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        tested = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
+        );
+    }
+
+    @Test
+    void shouldBindTheControlToTheCurrentThread_whileRunningACall() {
+        StatementControl statementControl = new StatementControl(Duration.ofSeconds(5));
+
+        assertThat(StatementControl.current()).isEmpty();
+        assertThat(statementControl.run(StatementControl::current)).contains(statementControl);
+        assertThat(StatementControl.current()).isEmpty();
+    }
+
+    @Test
+    void shouldRunStatements_withinTheirQueryTimeout() {
+        sqlFixture.readOnly();
+
+        long count = StatementControl.withQueryTimeout(Duration.ofSeconds(5), () -> tested.count());
+
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailStatements_runningLongerThanTheQueryTimeout() {
+        sqlFixture.readOnly();
+
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> StatementControl.withQueryTimeout(Duration.ofSeconds(1), () -> tested.find(sleepingFor(3000))))
+                .isInstanceOf(QueryException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2900));
+    }
+
+    @Test
+    void shouldFailNextStatements_whenCancelled() {
+        sqlFixture.readOnly();
+
+        StatementControl statementControl = new StatementControl();
+        statementControl.cancel();
+
+        assertThat(statementControl.isCancelled()).isTrue();
+        assertThatThrownBy(() -> statementControl.run(() -> tested.count()))
+                .isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void shouldCancelRunningStatements_fromAnotherThread() throws Exception {
+        sqlFixture.readOnly();
+
+        StatementControl statementControl = new StatementControl();
+        CompletableFuture<Object> call = CompletableFuture.supplyAsync(() -> statementControl.run(() -> tested.find(sleepingFor(3000))));
+        assertThat(awaitSleepingStatement(sqlMemoryDb.dataSource(), Duration.ofSeconds(2))).isTrue();
+
+        long start = System.nanoTime();
+        statementControl.cancel();
+
+        assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2500));
+    }
+
+    @Test
+    void shouldLeaveTheConfigurationOfTheGivenFactoryUntouched_whileNotifyingItsListeners() {
+        sqlFixture.readOnly();
+
+        SQLQueryFactory queryFactory = Factories.defaultQueryFactory(sqlMemoryDb.dataSource());
+        Set<SQLDetailedListener> listeners = Set.copyOf(queryFactory.getConfiguration().getListeners().getListeners());
+        QDSLCrudRepository<QAccount, BAccount, String> repository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory
+        );
+
+        AtomicInteger executions = new AtomicInteger();
+        queryFactory.getConfiguration().addListener(new SQLBaseListener() {
+            @Override
+            public void executed(SQLListenerContext context) {
+                executions.incrementAndGet();
+            }
+        });
+
+        long count = StatementControl.withQueryTimeout(Duration.ofSeconds(5), repository::count);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(queryFactory.getConfiguration().getListeners().getListeners()).hasSize(listeners.size() + 1).containsAll(listeners);
+        assertThat(executions).hasValue(1);
+        assertThatThrownBy(() -> StatementControl.withQueryTimeout(Duration.ofMillis(500), () -> repository.find(sleepingFor(3000))))
+                .isInstanceOf(QueryException.class);
+        assertThatThrownBy(() -> StatementControl.withQueryTimeout(Duration.ofMillis(500), () -> repository.delete(sleepingFor(3000))))
+                .isInstanceOf(QueryException.class);
+    }
+
+    @Test
+    void shouldApplyTheQueryTimeout_toTheStatementsRunOnTheExecutor() throws Exception {
+        sqlFixture.readOnly();
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+
+        try {
+            QDSLCrudRepository<QAccount, BAccount, String> repository = new QDSLCrudRepository<>(
+                    new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                    Factories.defaultQueryFactory(sqlMemoryDb.dataSource()),
+                    RepositoryOptions.defaults().withExecutor(executor)
+            );
+            long start = System.nanoTime();
+
+            assertThatThrownBy(() -> StatementControl.withQueryTimeout(Duration.ofSeconds(1), () -> repository.find(sleepingFor(3000), new PageRequest())))
+                    .isInstanceOf(QueryException.class);
+
+            while (executor.getActiveCount() > 0 && System.nanoTime() - start < Duration.ofSeconds(5).toNanos()) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+
+            assertThat(executor.getActiveCount()).isZero();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2500));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
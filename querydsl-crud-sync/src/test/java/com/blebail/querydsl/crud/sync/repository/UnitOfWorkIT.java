@@ -0,0 +1,167 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.BAccountRole;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.QAccountRole;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.blebail.querydsl.crud.commons.utils.Factories;
+import com.ninja_squad.dbsetup.Operations;
+import com.querydsl.core.QueryException;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.johnDoe;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.system;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountRoleFixtures.adminEditor;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountRoleFixtures.deleteAllAccountRoles;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountRoleFixtures.insertSystemOwner;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountRoleFixtures.johnDoeViewer;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountRoleFixtures.systemOwner;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UnitOfWorkIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource,
+            Operations.sequenceOf(deleteAllAccountRoles(), insertDefaultAccounts(), insertSystemOwner()));
+
+    List<String> executedStatements;
+
+    QDSLCrudRepository<QAccount, BAccount, String> accountRepository;
+
+    QDSLCrudRepository<QAccountRole, BAccountRole, String> accountRoleRepository;
+
+    UnitOfWork tested;
+
+    @BeforeEach
+    void setUp() {
+        executedStatements = Collections.synchronizedList(new ArrayList<>());
+
+        SQLQueryFactory queryFactory = Factories.defaultQueryFactory(sqlMemoryDb.dataSource());
+        queryFactory.getConfiguration().addListener(new SQLBaseListener() {
+            @Override
+            public void executed(SQLListenerContext context) {
+                executedStatements.add(context.getSQL());
+            }
+        });
+
+        accountRepository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                queryFactory
+        );
+        accountRoleRepository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccountRole.accountRole, QAccountRole.accountRole.id, BAccountRole::getId),
+                queryFactory
+        );
+        tested = new UnitOfWork();
+    }
+
+    @Test
+    void shouldNotWriteAnything_untilCommitted() {
+        sqlFixture.readOnly();
+
+        tested.save(accountRepository, johnDoe());
+        tested.delete(accountRoleRepository, systemOwner().getId());
+
+        assertThat(tested.pendingWrites()).isEqualTo(2);
+        assertThat(executedStatements).isEmpty();
+    }
+
+    @Test
+    void shouldSaveReferencedTablesFirst_whateverTheRecordingOrder() {
+        tested.save(accountRoleRepository, johnDoeViewer());
+        tested.save(accountRepository, johnDoe());
+
+        tested.commit();
+
+        assertThat(accountRepository.exists(johnDoe().getId())).isTrue();
+        assertThat(accountRoleRepository.exists(johnDoeViewer().getId())).isTrue();
+        assertThat(tested.pendingWrites()).isZero();
+    }
+
+    @Test
+    void shouldDeleteReferencingTablesFirst_whateverTheRecordingOrder() {
+        tested.delete(accountRepository, system().getId());
+        tested.delete(accountRoleRepository, systemOwner().getId());
+
+        tested.commit();
+
+        assertThat(accountRepository.exists(system().getId())).isFalse();
+        assertThat(accountRoleRepository.exists(systemOwner().getId())).isFalse();
+    }
+
+    @Test
+    void shouldWriteEachTableInABatch() {
+        BAccount renamedAdmin = new BAccount(admin().getEmail(), admin().getId(), "renamed");
+        tested.save(accountRoleRepository, johnDoeViewer());
+        tested.save(accountRepository, johnDoe());
+        tested.save(accountRoleRepository, adminEditor());
+        tested.save(accountRepository, renamedAdmin);
+        executedStatements.clear();
+
+        tested.commit();
+
+        assertThat(executedStatements).filteredOn(sql -> sql.startsWith("insert into account ")).hasSize(1);
+        assertThat(executedStatements).filteredOn(sql -> sql.startsWith("update account\n")).hasSize(1);
+        assertThat(executedStatements).filteredOn(sql -> sql.startsWith("insert into account_role ")).hasSize(1);
+        assertThat(accountRepository.findOne(admin().getId()).map(BAccount::getUsername)).contains("renamed");
+        assertThat(accountRoleRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCoalesceTheWritesOfAnId() {
+        tested.save(accountRepository, johnDoe());
+        tested.save(accountRepository, new BAccount("renamed@test.com", johnDoe().getId(), johnDoe().getUsername()));
+        tested.save(accountRoleRepository, johnDoeViewer());
+        tested.delete(accountRoleRepository, johnDoeViewer().getId());
+
+        assertThat(tested.pendingWrites()).isEqualTo(2);
+
+        tested.commit();
+
+        assertThat(accountRepository.findOne(johnDoe().getId()).map(BAccount::getEmail)).contains("renamed@test.com");
+        assertThat(accountRoleRepository.exists(johnDoeViewer().getId())).isFalse();
+    }
+
+    @Test
+    void shouldRollBackEveryWrite_andKeepThem_whenAWriteFails() {
+        sqlFixture.readOnly();
+
+        tested.save(accountRepository, johnDoe());
+        tested.save(accountRoleRepository, new BAccountRole("9999", "0009", "viewer"));
+
+        assertThatThrownBy(tested::commit).isInstanceOf(QueryException.class);
+
+        assertThat(accountRepository.exists(johnDoe().getId())).isFalse();
+        assertThat(tested.pendingWrites()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDiscardTheWrites_whenCleared() {
+        sqlFixture.readOnly();
+
+        tested.save(accountRepository, johnDoe());
+        tested.clear();
+        tested.commit();
+
+        assertThat(executedStatements).isEmpty();
+        assertThat(accountRepository.exists(johnDoe().getId())).isFalse();
+    }
+}
@@ -0,0 +1,338 @@
+package com.blebail.querydsl.crud.sync.repository;
+
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import com.blebail.querydsl.crud.BAccount;
+import com.blebail.querydsl.crud.QAccount;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.querydsl.core.QueryException;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin2;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.admin3;
+import static com.blebail.querydsl.crud.sync.fixtures.AccountFixtures.insertDefaultAccounts;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindCrudRepositoryIT {
+
+    @RegisterExtension
+    static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    SqlFixture sqlFixture = new SqlFixture(sqlMemoryDb::dataSource, insertDefaultAccounts());
+
+    volatile CountDownLatch heldStatement;
+
+    volatile CountDownLatch releasedStatement;
+
+    volatile RuntimeException statementFailure;
+
+    AtomicInteger startedStatements;
+
+    CrudRepository<BAccount, String> repository;
+
+    WriteBehindCrudRepository<BAccount, String> tested;
+
+    @BeforeEach
+    void setUp() {
+        startedStatements = new AtomicInteger();
+
+        Configuration configuration = new Configuration(SQLTemplates.DEFAULT);
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void start(SQLListenerContext context) {
+                startedStatements.incrementAndGet();
+
+                if (statementFailure != null) {
+                    throw statementFailure;
+                }
+
+                CountDownLatch held = heldStatement;
+
+                if (held != null) {
+                    heldStatement = null;
+                    held.countDown();
+                    Uninterruptibles.awaitUninterruptibly(releasedStatement);
+                }
+            }
+        });
+
+        repository = new QDSLCrudRepository<>(
+                new IdentifiableQDSLResource<>(QAccount.account, QAccount.account.id, BAccount::getId),
+                new SQLQueryFactory(configuration, sqlMemoryDb.dataSource())
+        );
+
+        tested = writeBehind(WriteBehindOptions.defaults().withFlushInterval(Duration.ofHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tested.close();
+    }
+
+    private WriteBehindCrudRepository<BAccount, String> writeBehind(WriteBehindOptions options) {
+        return new WriteBehindCrudRepository<>(repository, BAccount::getId, options);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static BAccount renamedAdmin(int index) {
+        return new BAccount(admin().getEmail(), admin().getId(), "admin-" + index);
+    }
+
+    @Test
+    void shouldKeepOnlyTheLatestSaveOfAResource() {
+        for (int index = 0; index < 10; index++) {
+            assertThat(tested.save(renamedAdmin(index))).usingRecursiveComparison().isEqualTo(renamedAdmin(index));
+        }
+
+        assertThat(repository.findOne(admin().getId()).map(BAccount::getUsername)).contains("admin");
+
+        tested.flush();
+
+        assertThat(repository.findOne(admin().getId()).map(BAccount::getUsername)).contains("admin-9");
+
+        WriteBehindStats stats = tested.stats();
+        assertThat(stats.saves()).isEqualTo(10);
+        assertThat(stats.coalescedSaves()).isEqualTo(9);
+        assertThat(stats.coalesceRatio()).isEqualTo(0.9);
+        assertThat(stats.flushes()).isEqualTo(1);
+        assertThat(stats.flushedResources()).isEqualTo(1);
+        assertThat(stats.bufferedResources()).isZero();
+    }
+
+    @Test
+    void shouldFlush_whenTheBufferIsFull() throws InterruptedException {
+        tested.close();
+        tested = writeBehind(WriteBehindOptions.defaults().withMaxBufferedResources(2).withFlushInterval(Duration.ofHours(1)));
+
+        tested.save(admin2());
+        assertThat(repository.exists(admin2().getId())).isFalse();
+
+        tested.save(admin3());
+        await(() -> tested.stats().flushes() == 1);
+
+        assertThat(repository.existsAll(List.of(admin2().getId(), admin3().getId()))).hasSize(2);
+    }
+
+    @Test
+    void shouldNotWaitForTheFlush_whenFillingTheBuffer() throws Exception {
+        tested.close();
+        tested = writeBehind(WriteBehindOptions.defaults().withMaxBufferedResources(1).withFlushInterval(Duration.ofHours(1)));
+
+        CountDownLatch held = new CountDownLatch(1);
+        releasedStatement = new CountDownLatch(1);
+        heldStatement = held;
+
+        try {
+            CompletableFuture.runAsync(() -> tested.save(admin2())).get(5, TimeUnit.SECONDS);
+
+            assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            releasedStatement.countDown();
+        }
+
+        await(() -> tested.stats().flushes() == 1);
+
+        assertThat(repository.exists(admin2().getId())).isTrue();
+    }
+
+    @Test
+    void shouldFlushInTheBackground() throws InterruptedException {
+        tested.close();
+        tested = writeBehind(WriteBehindOptions.defaults().withFlushInterval(Duration.ofMillis(10)));
+
+        tested.save(admin2());
+
+        for (int attempt = 0; attempt < 500 && !repository.exists(admin2().getId()); attempt++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(repository.exists(admin2().getId())).isTrue();
+    }
+
+    @Test
+    void shouldReadBufferedResourcesById() {
+        tested.save(admin2());
+
+        assertThat(tested.findOne(admin2().getId())).usingValueComparator((a, b) -> a.getId().compareTo(b.getId())).contains(admin2());
+        assertThat(tested.exists(admin2().getId())).isTrue();
+        assertThat(tested.existsAll(List.of(admin().getId(), admin2().getId()))).containsOnly(admin().getId(), admin2().getId());
+        assertThat(tested.find(List.of(admin().getId(), admin2().getId()))).extracting(BAccount::getId).containsOnly(admin().getId(), admin2().getId());
+        assertThat(tested.stats().flushes()).isZero();
+    }
+
+    @Test
+    void shouldFlush_beforeOtherReads() {
+        tested.save(admin2());
+
+        assertThat(tested.count()).isEqualTo(3);
+        assertThat(tested.stats().flushes()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlush_beforeDeletes() {
+        tested.save(admin2());
+
+        assertThat(tested.delete(admin2().getId())).isTrue();
+        assertThat(repository.exists(admin2().getId())).isFalse();
+    }
+
+    @Test
+    void shouldWriteThrough_whenTheSaveReturnsGeneratedValues() {
+        tested.save(admin3());
+
+        tested.save(admin2(), WriteOptions.RETURN_REREAD);
+
+        assertThat(repository.existsAll(List.of(admin2().getId(), admin3().getId()))).hasSize(2);
+        assertThat(tested.stats().saves()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBufferResourcesAgain_whenAFlushFails() {
+        tested.save(new BAccount(null, admin2().getId(), "admin2"));
+
+        assertThatThrownBy(() -> tested.flush()).isInstanceOf(RuntimeException.class);
+
+        WriteBehindStats stats = tested.stats();
+        assertThat(stats.failedFlushes()).isEqualTo(1);
+        assertThat(stats.bufferedResources()).isEqualTo(1);
+
+        tested.save(admin2());
+        tested.flush();
+
+        assertThat(repository.findOne(admin2().getId()).map(BAccount::getEmail)).contains(admin2().getEmail());
+    }
+
+    @Test
+    void shouldFlushAndRejectSaves_whenClosed() {
+        tested.save(admin2());
+
+        tested.close();
+
+        assertThat(repository.exists(admin2().getId())).isTrue();
+        assertThatThrownBy(() -> tested.save(admin3())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldReadTheResourcesOfAFlushInProgressById() throws Exception {
+        tested.save(admin2());
+
+        CountDownLatch held = new CountDownLatch(1);
+        releasedStatement = new CountDownLatch(1);
+        heldStatement = held;
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(tested::flush);
+
+        try {
+            assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(tested.findOne(admin2().getId())).isPresent();
+            assertThat(tested.exists(admin2().getId())).isTrue();
+            assertThat(tested.find(List.of(admin2().getId()))).hasSize(1);
+            assertThat(tested.existsAll(List.of(admin2().getId()))).containsOnly(admin2().getId());
+        } finally {
+            releasedStatement.countDown();
+        }
+
+        flush.get(5, TimeUnit.SECONDS);
+
+        assertThat(tested.findOne(admin2().getId())).isPresent();
+        assertThat(tested.stats().bufferedResources()).isZero();
+    }
+
+    @Test
+    void shouldWriteTheOtherResources_andDropTheOnesWhichKeepFailing() {
+        tested.close();
+
+        Map<BAccount, RuntimeException> droppedResources = new LinkedHashMap<>();
+        tested = new WriteBehindCrudRepository<>(repository, BAccount::getId,
+                WriteBehindOptions.defaults().withMaxFlushAttempts(2).withFlushInterval(Duration.ofHours(1)), droppedResources::put);
+
+        BAccount invalidAdmin2 = new BAccount(null, admin2().getId(), "admin2");
+        tested.save(List.of(admin(), invalidAdmin2, admin3()));
+
+        assertThatThrownBy(() -> tested.flush()).isInstanceOf(RuntimeException.class);
+
+        assertThat(repository.existsAll(List.of(admin2().getId(), admin3().getId()))).containsOnly(admin3().getId());
+        assertThat(tested.stats().bufferedResources()).isEqualTo(1);
+        assertThat(droppedResources).isEmpty();
+
+        assertThatThrownBy(() -> tested.flush()).isInstanceOf(RuntimeException.class);
+
+        WriteBehindStats stats = tested.stats();
+        assertThat(stats.failedFlushes()).isEqualTo(2);
+        assertThat(stats.flushedResources()).isEqualTo(2);
+        assertThat(stats.droppedResources()).isEqualTo(1);
+        assertThat(stats.bufferedResources()).isZero();
+        assertThat(droppedResources).containsOnlyKeys(invalidAdmin2);
+    }
+
+    @Test
+    void shouldNotFailTheSave_whoseFullBufferFailsToFlush() throws InterruptedException {
+        tested.close();
+        tested = writeBehind(WriteBehindOptions.defaults()
+                .withMaxBufferedResources(1)
+                .withMaxFlushAttempts(1)
+                .withFlushInterval(Duration.ofHours(1)));
+
+        tested.save(new BAccount(null, admin2().getId(), "admin2"));
+        await(() -> tested.stats().droppedResources() == 1);
+
+        WriteBehindStats stats = tested.stats();
+        assertThat(stats.failedFlushes()).isEqualTo(1);
+        assertThat(stats.droppedResources()).isEqualTo(1);
+        assertThat(stats.bufferedResources()).isZero();
+    }
+
+    @Test
+    void shouldStopTheFlushAndKeepTheResources_whenTheFailureIsNotCausedByTheData() {
+        tested.close();
+        tested = writeBehind(WriteBehindOptions.defaults().withMaxFlushAttempts(1).withFlushInterval(Duration.ofHours(1)));
+
+        tested.save(List.of(admin2(), admin3(), renamedAdmin(1)));
+        statementFailure = new QueryException(new SQLTransientConnectionException("Connection lost"));
+        startedStatements.set(0);
+
+        assertThatThrownBy(() -> tested.flush()).isSameAs(statementFailure);
+        assertThat(startedStatements).hasValue(1);
+
+        WriteBehindStats stats = tested.stats();
+        assertThat(stats.failedFlushes()).isEqualTo(1);
+        assertThat(stats.droppedResources()).isZero();
+        assertThat(stats.bufferedResources()).isEqualTo(3);
+
+        statementFailure = null;
+        tested.flush();
+
+        assertThat(repository.existsAll(List.of(admin2().getId(), admin3().getId()))).hasSize(2);
+        assertThat(tested.stats().bufferedResources()).isZero();
+    }
+}
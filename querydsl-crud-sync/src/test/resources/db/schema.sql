@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS account_role;
 DROP TABLE IF EXISTS account;
 
 CREATE TABLE account(
@@ -6,4 +7,23 @@ CREATE TABLE account(
     email VARCHAR(255) NOT NULL
 );
 
-ALTER TABLE account ADD PRIMARY KEY (id);
\ No newline at end of file
+ALTER TABLE account ADD PRIMARY KEY (id);
+
+CREATE TABLE account_role(
+    id VARCHAR(4) NOT NULL,
+    account_id VARCHAR(4) NOT NULL,
+    role VARCHAR(255) NOT NULL
+);
+
+ALTER TABLE account_role ADD PRIMARY KEY (id);
+ALTER TABLE account_role ADD CONSTRAINT account_role_account_fk FOREIGN KEY (account_id) REFERENCES account(id);
+
+DROP TABLE IF EXISTS event;
+
+CREATE TABLE event(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE ALIAS IF NOT EXISTS SLEEP_MILLIS FOR "java.lang.Thread.sleep(long)";